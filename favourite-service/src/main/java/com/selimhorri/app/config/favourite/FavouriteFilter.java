@@ -0,0 +1,227 @@
+package com.selimhorri.app.config.favourite;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.jdbc.TableScanner;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filter over (user, product) favourite pairs, so that "does this user
+ * like these products" only goes to the database for the few pairs that may be
+ * liked. A miss is definite; a hit still has to be confirmed.
+ * <p>
+ * Unlikes cannot be taken out of a Bloom filter, so the filter is rebuilt
+ * from the favourites table every {@code app.favourite.filter.rebuild-interval},
+ * sized for twice the favourites found or {@code expected-favourites},
+ * whichever is larger. Until the first build completes every pair may be liked.
+ * <p>
+ * Likes saved through this instance are added as they happen. Likes written
+ * by other instances are picked up every {@code catch-up-interval} from the
+ * rows created after the latest {@code created_at} read so far, less
+ * {@code catch-up-overlap} for rows committed late or stamped by a clock that
+ * lags behind. The overlap is sized to commit latency plus clock skew, a few
+ * seconds, so each row is read again only a handful of times, and another
+ * instance's like can be missed for about one interval after it reaches the
+ * table.
+ */
+@Component
+@Slf4j
+public class FavouriteFilter {
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TableScanner tableScanner;
+	private final ScheduledExecutorService scheduler;
+	private final long expectedFavourites;
+	private final double falsePositiveRate;
+	private final Duration rebuildInterval;
+	private final Duration catchUpInterval;
+	private final Duration catchUpOverlap;
+	private volatile BloomFilter filter;
+	private BloomFilter rebuilding;
+	// latest created_at read from the table; only touched on the scheduler thread
+	private Timestamp createdUntil;
+	
+	public FavouriteFilter(
+			final JdbcTemplate jdbcTemplate, 
+			final TableScanner tableScanner, 
+			@Value("${app.favourite.filter.expected-favourites:1000000}") final long expectedFavourites, 
+			@Value("${app.favourite.filter.false-positive-rate:0.01}") final double falsePositiveRate, 
+			@Value("${app.favourite.filter.rebuild-interval:6h}") final Duration rebuildInterval, 
+			@Value("${app.favourite.filter.catch-up-interval:1s}") final Duration catchUpInterval, 
+			@Value("${app.favourite.filter.catch-up-overlap:5s}") final Duration catchUpOverlap) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.tableScanner = tableScanner;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "favourite-filter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.expectedFavourites = expectedFavourites;
+		this.falsePositiveRate = falsePositiveRate;
+		this.rebuildInterval = rebuildInterval;
+		this.catchUpInterval = catchUpInterval;
+		this.catchUpOverlap = catchUpOverlap;
+	}
+	
+	public boolean mightContain(final int userId, final int productId) {
+		final BloomFilter current = this.filter;
+		return current == null || current.mightContain(key(userId, productId));
+	}
+	
+	public void add(final int userId, final int productId) {
+		this.add(key(userId, productId));
+	}
+	
+	private synchronized void add(final long key) {
+		if (this.filter != null)
+			this.filter.add(key);
+		if (this.rebuilding != null)
+			this.rebuilding.add(key);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		this.scheduler.scheduleWithFixedDelay(this::rebuild, 0L, 
+				this.rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+		this.scheduler.scheduleWithFixedDelay(this::catchUp, this.catchUpInterval.toMillis(), 
+				this.catchUpInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+	}
+	
+	/**
+	 * Builds a new filter from the favourites table and swaps it in. Pairs
+	 * added meanwhile go to both filters.
+	 */
+	public void rebuild() {
+		try {
+			final Instant startedAt = Instant.now();
+			final Long count = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM favourites", Long.class);
+			final Timestamp createdUntil = this.jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM favourites", 
+					Timestamp.class);
+			final BloomFilter rebuilt = new BloomFilter(Math.max(this.expectedFavourites, 2 * count), 
+					this.falsePositiveRate);
+			synchronized (this) {
+				this.rebuilding = rebuilt;
+			}
+			this.tableScanner.scan("SELECT user_id, product_id FROM favourites", 
+					resultSet -> {
+						rebuilt.add(key(resultSet.getInt(1), resultSet.getInt(2)));
+					});
+			synchronized (this) {
+				this.filter = rebuilt;
+				this.rebuilding = null;
+			}
+			this.createdUntil = (createdUntil != null) ? createdUntil : Timestamp.from(startedAt);
+			log.info("*** rebuilt favourite filter from {} favourites, {} bits *", count, rebuilt.bits);
+		}
+		catch (RuntimeException e) {
+			synchronized (this) {
+				this.rebuilding = null;
+			}
+			log.warn("*** could not rebuild favourite filter: {} *", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Adds the favourites created since the latest one read, whichever instance
+	 * saved them. Does nothing until the first build completes.
+	 */
+	public void catchUp() {
+		if (this.filter == null || this.createdUntil == null)
+			return;
+		try {
+			final Timestamp[] latest = { this.createdUntil };
+			this.tableScanner.scan("SELECT user_id, product_id, created_at FROM favourites WHERE created_at >= ?", 
+					resultSet -> {
+						this.add(key(resultSet.getInt(1), resultSet.getInt(2)));
+						final Timestamp createdAt = resultSet.getTimestamp(3);
+						if (createdAt != null && createdAt.after(latest[0]))
+							latest[0] = createdAt;
+					}, 
+					Timestamp.from(this.createdUntil.toInstant().minus(this.catchUpOverlap)));
+			this.createdUntil = latest[0];
+		}
+		catch (RuntimeException e) {
+			log.warn("*** could not catch up favourite filter: {} *", e.getMessage());
+		}
+	}
+	
+	private static long key(final int userId, final int productId) {
+		return ((long) userId << 32) | (productId & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Fixed-size Bloom filter over longs with lock-free inserts. Probe
+	 * positions come from two halves of one 64-bit hash.
+	 */
+	private static final class BloomFilter {
+		
+		private final long bits;
+		private final int hashes;
+		private final AtomicLongArray words;
+		
+		private BloomFilter(final long expected, final double falsePositiveRate) {
+			final double ln2 = Math.log(2);
+			this.bits = Math.max(64L, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+			this.hashes = Math.max(1, (int) Math.round((double) this.bits / expected * ln2));
+			this.words = new AtomicLongArray((int) ((this.bits + 63) >>> 6));
+		}
+		
+		private void add(final long key) {
+			final long hash = mix(key);
+			final long h1 = hash;
+			final long h2 = mix(hash) | 1L;
+			for (int i = 0; i < this.hashes; i++) {
+				final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % this.bits;
+				final int word = (int) (bit >>> 6);
+				final long mask = 1L << bit;
+				long current;
+				do {
+					current = this.words.get(word);
+				} while ((current & mask) == 0 && !this.words.compareAndSet(word, current, current | mask));
+			}
+		}
+		
+		private boolean mightContain(final long key) {
+			final long hash = mix(key);
+			final long h1 = hash;
+			final long h2 = mix(hash) | 1L;
+			for (int i = 0; i < this.hashes; i++) {
+				final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % this.bits;
+				if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+					return false;
+			}
+			return true;
+		}
+		
+		private static long mix(long value) {
+			value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+			value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+			return value ^ (value >>> 31);
+		}
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,413 @@
+package com.selimhorri.app.config.favourite;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.exception.wrapper.FavouriteWriteRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers likes and unlikes in memory and writes them to the favourites table
+ * in JDBC batches, every {@code app.favourite.write-behind.flush-interval} or
+ * as soon as {@code batch-size} of them are pending.
+ * <p>
+ * Only the latest command per favourite is kept, so a like followed by an
+ * unlike before the next flush costs one delete. The buffer holds at most
+ * {@code capacity} favourites; a caller that finds it full waits up to
+ * {@code offer-timeout} for a flush to make room and is then turned away with
+ * {@link FavouriteWriteRejectedException}, so writers slow down to the pace of
+ * the database and the buffer stays bounded while it is down.
+ * <p>
+ * A batch that cannot be written stays pending, and flushes back off from
+ * {@code retry-backoff}, doubling up to {@code max-retry-backoff}, for as long
+ * as the database is unreachable. A batch the database rejects as invalid is
+ * split until the offending rows are isolated, and only those are dropped.
+ * Pending commands stay visible to reads until they are written, and are lost
+ * if the process dies before that.
+ */
+@Component
+@Slf4j
+public class FavouriteWriteBehind {
+	
+	private static final String DELETE_SQL = "DELETE FROM favourites WHERE user_id = ? AND product_id = ? AND like_date = ?";
+	private static final String INSERT_SQL = "INSERT INTO favourites (user_id, product_id, like_date, created_at) VALUES (?, ?, ?, ?)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService scheduler;
+	private final Map<FavouriteId, Command> pending = new ConcurrentHashMap<>();
+	private final Map<Integer, Map<FavouriteId, Command>> pendingByUserId = new ConcurrentHashMap<>();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final ReentrantLock bufferLock = new ReentrantLock();
+	private final Condition notFull = this.bufferLock.newCondition();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final boolean enabled;
+	private final int capacity;
+	private final int batchSize;
+	private final Duration flushInterval;
+	private final Duration retryBackoff;
+	private final Duration maxRetryBackoff;
+	private final Duration offerTimeout;
+	private final Counter coalesced;
+	private final Counter failures;
+	private final Counter rejected;
+	private final Counter dropped;
+	private final Timer flushTimer;
+	// only touched by the thread holding the flush lock
+	private Duration nextRetryBackoff = Duration.ZERO;
+	private long retryAtMillis;
+	// guarded by the buffer lock
+	private long removals;
+	
+	public FavouriteWriteBehind(
+			final JdbcTemplate jdbcTemplate, 
+			final PlatformTransactionManager transactionManager, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.favourite.write-behind.enabled:true}") final boolean enabled, 
+			@Value("${app.favourite.write-behind.capacity:10000}") final int capacity, 
+			@Value("${app.favourite.write-behind.batch-size:500}") final int batchSize, 
+			@Value("${app.favourite.write-behind.flush-interval:200ms}") final Duration flushInterval, 
+			@Value("${app.favourite.write-behind.retry-backoff:200ms}") final Duration retryBackoff, 
+			@Value("${app.favourite.write-behind.max-retry-backoff:30s}") final Duration maxRetryBackoff, 
+			@Value("${app.favourite.write-behind.offer-timeout:1s}") final Duration offerTimeout) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "favourite-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.enabled = enabled;
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.retryBackoff = retryBackoff;
+		this.maxRetryBackoff = maxRetryBackoff;
+		this.offerTimeout = offerTimeout;
+		this.coalesced = Counter.builder("favourite.write.coalesced")
+				.description("Likes and unlikes replaced by a later command before being written")
+				.register(meterRegistry);
+		this.failures = Counter.builder("favourite.write.flush.failures")
+				.description("Favourite batches that could not be written")
+				.register(meterRegistry);
+		this.rejected = Counter.builder("favourite.write.rejected")
+				.description("Likes and unlikes turned away because the buffer stayed full")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("favourite.write.dropped")
+				.description("Likes and unlikes dropped because the database rejected their rows")
+				.register(meterRegistry);
+		this.flushTimer = Timer.builder("favourite.write.flush")
+				.description("Time taken to write pending likes and unlikes")
+				.register(meterRegistry);
+		Gauge.builder("favourite.write.pending", this.pending, Map::size)
+				.description("Likes and unlikes not yet written to the database")
+				.register(meterRegistry);
+	}
+	
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	/**
+	 * Buffers a like.
+	 * 
+	 * @param stored whether the favourite is liked in the database, asked only
+	 *        when nothing is pending for it
+	 * @return whether the favourite was not liked before, decided atomically
+	 *         with buffering the like
+	 */
+	public boolean like(final FavouriteId favouriteId, final BooleanSupplier stored) {
+		return this.submit(new Command(favouriteId, true), stored);
+	}
+	
+	/**
+	 * Buffers an unlike.
+	 * 
+	 * @param stored whether the favourite is liked in the database, asked only
+	 *        when nothing is pending for it
+	 * @return whether the favourite was liked before, decided atomically with
+	 *         buffering the unlike
+	 */
+	public boolean unlike(final FavouriteId favouriteId, final BooleanSupplier stored) {
+		return this.submit(new Command(favouriteId, false), stored);
+	}
+	
+	/**
+	 * Whether a favourite is pending as liked or unliked, or empty when nothing
+	 * is pending for it.
+	 */
+	public Optional<Boolean> findPending(final FavouriteId favouriteId) {
+		return Optional.ofNullable(this.pending.get(favouriteId))
+				.map(Command::isLiked);
+	}
+	
+	/**
+	 * The user's pending favourites, mapped to whether they are pending as
+	 * liked.
+	 */
+	public Map<FavouriteId, Boolean> findPendingByUserId(final Integer userId) {
+		final Map<FavouriteId, Command> commands = this.pendingByUserId.get(userId);
+		if (commands == null)
+			return Map.of();
+		return commands.values()
+				.stream()
+					.collect(Collectors.toUnmodifiableMap(Command::getFavouriteId, Command::isLiked, (a, b) -> b));
+	}
+	
+	/**
+	 * Every pending favourite, mapped to whether it is pending as liked.
+	 */
+	public Map<FavouriteId, Boolean> findAllPending() {
+		return this.pending.values()
+				.stream()
+					.collect(Collectors.toUnmodifiableMap(Command::getFavouriteId, Command::isLiked, (a, b) -> b));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (this.enabled)
+			this.scheduler.scheduleWithFixedDelay(this::flush, this.flushInterval.toMillis(), 
+					this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+		this.flush(true);
+	}
+	
+	/**
+	 * Writes everything pending, one batch per transaction, unless a failed
+	 * write is still backing off. A batch that fails stays pending for the next
+	 * flush after the backoff.
+	 */
+	public void flush() {
+		this.flush(false);
+	}
+	
+	private void flush(final boolean ignoreBackoff) {
+		this.flushLock.lock();
+		this.flushRequested.set(false);
+		final Timer.Sample sample = Timer.start();
+		try {
+			if (!ignoreBackoff && System.currentTimeMillis() < this.retryAtMillis)
+				return;
+			List<Command> batch;
+			do {
+				batch = this.pending.values()
+						.stream()
+							.limit(this.batchSize)
+							.collect(Collectors.toUnmodifiableList());
+				if (batch.isEmpty())
+					break;
+				try {
+					this.writeIsolatingRejected(batch);
+				}
+				catch (RuntimeException e) {
+					this.failures.increment();
+					this.backOff();
+					log.warn("*** could not write pending favourites, retrying in {} ms: {} *", 
+							this.nextRetryBackoff.toMillis(), e.getMessage());
+					break;
+				}
+				this.nextRetryBackoff = Duration.ZERO;
+			} while (batch.size() == this.batchSize);
+		}
+		finally {
+			sample.stop(this.flushTimer);
+			this.flushLock.unlock();
+		}
+	}
+	
+	private void backOff() {
+		this.nextRetryBackoff = this.nextRetryBackoff.isZero() 
+				? this.retryBackoff 
+				: this.nextRetryBackoff.multipliedBy(2);
+		if (this.nextRetryBackoff.compareTo(this.maxRetryBackoff) > 0)
+			this.nextRetryBackoff = this.maxRetryBackoff;
+		this.retryAtMillis = System.currentTimeMillis() + this.nextRetryBackoff.toMillis();
+	}
+	
+	/**
+	 * Writes the commands in one transaction; when the database rejects their
+	 * rows, writes each half on its own until the rejected commands are found
+	 * and dropped. Any other failure is thrown with the unwritten commands still
+	 * pending.
+	 */
+	private void writeIsolatingRejected(final List<Command> commands) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> this.write(commands));
+		}
+		catch (DataIntegrityViolationException e) {
+			if (commands.size() > 1) {
+				final int half = commands.size() / 2;
+				this.writeIsolatingRejected(commands.subList(0, half));
+				this.writeIsolatingRejected(commands.subList(half, commands.size()));
+				return;
+			}
+			this.dropped.increment();
+			log.error("*** dropped favourite {} rejected by the database: {} *", 
+					commands.get(0).getFavouriteId(), e.getMessage());
+		}
+		// a command replaced while its batch was written stays for the next one
+		commands.forEach(this::remove);
+	}
+	
+	/**
+	 * Buffers the command and tells whether it changes the favourite. The
+	 * previous state is the pending command, or else what {@code stored} reads
+	 * from the database outside the lock; that read is repeated when a flush
+	 * removed commands meanwhile, since the command it missed may have been
+	 * this favourite's.
+	 */
+	private boolean submit(final Command command, final BooleanSupplier stored) {
+		final FavouriteId favouriteId = command.getFavouriteId();
+		boolean storedLiked = false;
+		long removalsSeen = -1L;
+		boolean changed;
+		int size;
+		while (true) {
+			this.bufferLock.lock();
+			try {
+				long nanos = this.offerTimeout.toNanos();
+				while (this.pending.size() >= this.capacity && !this.pending.containsKey(favouriteId)) {
+					if (nanos <= 0L) {
+						this.rejected.increment();
+						throw new FavouriteWriteRejectedException("Too many favourites waiting to be saved, try again later");
+					}
+					this.requestFlush();
+					nanos = this.notFull.awaitNanos(nanos);
+				}
+				final Command previous = this.pending.get(favouriteId);
+				if (previous != null || removalsSeen == this.removals) {
+					changed = ((previous != null) ? previous.isLiked() : storedLiked) != command.isLiked();
+					if (previous != null)
+						this.coalesced.increment();
+					this.pending.put(favouriteId, command);
+					this.pendingByUserId.computeIfAbsent(favouriteId.getUserId(), userId -> new ConcurrentHashMap<>())
+							.put(favouriteId, command);
+					size = this.pending.size();
+					break;
+				}
+				removalsSeen = this.removals;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new FavouriteWriteRejectedException("Interrupted while waiting to save favourite", e);
+			}
+			finally {
+				this.bufferLock.unlock();
+			}
+			storedLiked = stored.getAsBoolean();
+		}
+		if (size >= this.batchSize)
+			this.requestFlush();
+		return changed;
+	}
+	
+	private void requestFlush() {
+		if (this.scheduler.isShutdown())
+			return;
+		if (this.flushRequested.compareAndSet(false, true))
+			this.scheduler.execute(this::flush);
+	}
+	
+	/**
+	 * Drops a written or rejected command, unless a later one replaced it
+	 * meanwhile, and wakes writers waiting for room.
+	 */
+	private void remove(final Command command) {
+		final FavouriteId favouriteId = command.getFavouriteId();
+		this.bufferLock.lock();
+		try {
+			if (!this.pending.remove(favouriteId, command))
+				return;
+			this.removals++;
+			this.pendingByUserId.computeIfPresent(favouriteId.getUserId(), (userId, commands) -> {
+				commands.remove(favouriteId, command);
+				return commands.isEmpty() ? null : commands;
+			});
+			this.notFull.signalAll();
+		}
+		finally {
+			this.bufferLock.unlock();
+		}
+	}
+	
+	private void write(final List<Command> commands) {
+		this.jdbcTemplate.batchUpdate(DELETE_SQL, commands.stream()
+				.map(command -> {
+					final FavouriteId id = command.getFavouriteId();
+					return new Object[] { id.getUserId(), id.getProductId(), Timestamp.valueOf(id.getLikeDate()) };
+				})
+				.collect(Collectors.toUnmodifiableList()));
+		final Timestamp now = Timestamp.from(Instant.now());
+		final List<Object[]> likes = commands.stream()
+				.filter(Command::isLiked)
+				.map(command -> {
+					final FavouriteId id = command.getFavouriteId();
+					return new Object[] { id.getUserId(), id.getProductId(), Timestamp.valueOf(id.getLikeDate()), now };
+				})
+				.collect(Collectors.toUnmodifiableList());
+		if (!likes.isEmpty())
+			this.jdbcTemplate.batchUpdate(INSERT_SQL, likes);
+	}
+	
+	/**
+	 * One like or unlike. Compared by identity, so that a flush only removes the
+	 * command it actually wrote.
+	 */
+	private static final class Command {
+		
+		private final FavouriteId favouriteId;
+		private final boolean liked;
+		
+		private Command(final FavouriteId favouriteId, final boolean liked) {
+			this.favouriteId = favouriteId;
+			this.liked = liked;
+		}
+		
+		private FavouriteId getFavouriteId() {
+			return this.favouriteId;
+		}
+		
+		private boolean isLiked() {
+			return this.liked;
+		}
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,46 @@
+package com.selimhorri.app.config.jdbc;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the full-table reads that rebuild in-memory indexes from the
+ * favourites table, fetching {@code app.favourite.scan.fetch-size} rows at a
+ * time instead of buffering the whole result. With MySQL the fetch size is
+ * {@link Integer#MIN_VALUE}, which makes the driver stream rows one by one;
+ * the connection cannot run other statements until the scan completes, so
+ * handlers must not query the database.
+ */
+@Component
+public class TableScanner {
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public TableScanner(
+			final DataSource dataSource, 
+			@Value("${app.favourite.scan.fetch-size:1000}") final int fetchSize) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(fetchSize);
+	}
+	
+	public void scan(final String sql, final RowCallbackHandler handler, final Object... args) {
+		this.jdbcTemplate.query(sql, handler, args);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,296 @@
+package com.selimhorri.app.config.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Item-item co-occurrence counts: for every product, how many users favourited
+ * it together with each other product. Kept up to date one like at a time from
+ * each user's recent likes, and not thread-safe.
+ * <p>
+ * Memory is bounded per entry: a user's history keeps only the latest
+ * {@code maxUserLikes} products, and a product's row is cut back to its
+ * {@code maxNeighbours} heaviest neighbours whenever it grows to twice that.
+ * It is also bounded overall: at most {@code maxUsers} histories and
+ * {@code maxProducts} rows are kept, and the least recently used one goes
+ * when a new one would exceed that. Counts a dropped history contributed
+ * stay, but later likes and unlikes of that user no longer pair with it.
+ * Pairs dropped in any of these ways are no longer counted, which mostly
+ * affects the long tail that would never be recommended anyway.
+ * <p>
+ * {@link #userBytes} and {@link #rowBytes} bound the heap one history and one
+ * row can take, so that the caps can be derived from a byte budget.
+ */
+final class CooccurrenceMatrix {
+	
+	// object, array header and hash slot of a history, with compressed oops
+	private static final long USER_BYTES = 72;
+	// row, its map and arrays, the cached top-N array and their hash slots
+	private static final long ROW_BYTES = 160;
+	
+	private final int maxNeighbours;
+	private final int maxUserLikes;
+	private final int topN;
+	private final int maxUsers;
+	private final int maxProducts;
+	private final IntObjectHashMap<Row> rows = new IntObjectHashMap<>(1024);
+	private final IntObjectHashMap<UserLikes> likes = new IntObjectHashMap<>(1024);
+	private final IntObjectHashMap<long[]> top = new IntObjectHashMap<>(1024);
+	private final Lru<Row> rowOrder = new Lru<>();
+	private final Lru<UserLikes> userOrder = new Lru<>();
+	
+	CooccurrenceMatrix(final int maxNeighbours, final int maxUserLikes, final int topN, 
+			final int maxUsers, final int maxProducts) {
+		this.maxNeighbours = maxNeighbours;
+		this.maxUserLikes = maxUserLikes;
+		this.topN = topN;
+		this.maxUsers = maxUsers;
+		this.maxProducts = maxProducts;
+	}
+	
+	/**
+	 * Pairs the product with each of the user's other likes. Liking a product
+	 * twice counts once.
+	 */
+	void like(final int userId, final int productId) {
+		UserLikes history = this.likes.get(userId);
+		if (history == null) {
+			history = new UserLikes(userId);
+			this.likes.put(userId, history);
+			this.userOrder.touch(history);
+			if (this.likes.size() > this.maxUsers) {
+				final UserLikes eldest = this.userOrder.eldest();
+				this.userOrder.remove(eldest);
+				this.likes.remove(eldest.userId);
+			}
+		}
+		else {
+			this.userOrder.touch(history);
+			if (history.contains(productId))
+				return;
+		}
+		for (int i = 0; i < history.size; i++) {
+			this.increment(productId, history.products[i], 1);
+			this.increment(history.products[i], productId, 1);
+		}
+		history.add(productId, this.maxUserLikes);
+	}
+	
+	void unlike(final int userId, final int productId) {
+		final UserLikes history = this.likes.get(userId);
+		if (history == null || !history.remove(productId))
+			return;
+		for (int i = 0; i < history.size; i++) {
+			this.increment(productId, history.products[i], -1);
+			this.increment(history.products[i], productId, -1);
+		}
+		if (history.size == 0) {
+			this.userOrder.remove(history);
+			this.likes.remove(userId);
+		}
+	}
+	
+	/**
+	 * The product's heaviest neighbours, heaviest first, each packed as
+	 * {@code count << 32 | productId}. Cached until the product's row changes.
+	 */
+	long[] neighbours(final int productId) {
+		final long[] cached = this.top.get(productId);
+		if (cached != null)
+			return cached;
+		final Row row = this.rows.get(productId);
+		if (row == null)
+			return new long[0];
+		this.rowOrder.touch(row);
+		final long[] packed = pack(row.counts);
+		Arrays.sort(packed);
+		final long[] neighbours = new long[Math.min(this.topN, packed.length)];
+		for (int i = 0; i < neighbours.length; i++)
+			neighbours[i] = packed[packed.length - 1 - i];
+		this.top.put(productId, neighbours);
+		return neighbours;
+	}
+	
+	/**
+	 * Heap taken by a user's history with all {@code maxUserLikes} slots used.
+	 */
+	static long userBytes(final int maxUserLikes) {
+		return USER_BYTES + 4L * maxUserLikes;
+	}
+	
+	/**
+	 * Heap taken by a product's row just before it is pruned, when its map
+	 * holds twice {@code maxNeighbours} entries, plus its cached top-N.
+	 */
+	static long rowBytes(final int maxNeighbours, final int topN) {
+		return ROW_BYTES + 8L * IntIntHashMap.capacityFor(maxNeighbours << 1) + 8L * topN;
+	}
+	
+	int productCount() {
+		return this.rows.size();
+	}
+	
+	int userCount() {
+		return this.likes.size();
+	}
+	
+	private void increment(final int productId, final int neighbourId, final int delta) {
+		Row row = this.rows.get(productId);
+		if (row == null) {
+			// counts of pruned pairs are gone, so there is nothing to take back
+			if (delta < 0)
+				return;
+			row = new Row(productId);
+			this.rows.put(productId, row);
+			this.rowOrder.touch(row);
+			if (this.rows.size() > this.maxProducts)
+				this.drop(this.rowOrder.eldest());
+		}
+		else {
+			this.rowOrder.touch(row);
+		}
+		if (delta < 0 && row.counts.get(neighbourId) <= 0)
+			return;
+		row.counts.addTo(neighbourId, delta);
+		this.top.remove(productId);
+		if (row.counts.size() == 0)
+			this.drop(row);
+		else if (row.counts.size() >= this.maxNeighbours << 1)
+			this.prune(row.counts);
+	}
+	
+	private void drop(final Row row) {
+		this.rowOrder.remove(row);
+		this.rows.remove(row.productId);
+		this.top.remove(row.productId);
+	}
+	
+	/**
+	 * Drops all but the {@code maxNeighbours} heaviest neighbours.
+	 */
+	private void prune(final IntIntHashMap row) {
+		final long[] packed = pack(row);
+		Arrays.sort(packed);
+		for (int i = 0; i < packed.length - this.maxNeighbours; i++)
+			row.remove((int) packed[i]);
+	}
+	
+	private static long[] pack(final IntIntHashMap row) {
+		final long[] packed = new long[row.size()];
+		final int[] index = new int[1];
+		row.forEach((neighbourId, count) -> packed[index[0]++] = ((long) count << 32) | (neighbourId & 0xFFFFFFFFL));
+		return packed;
+	}
+	
+	/**
+	 * Entry of an {@link Lru}, linked to its neighbours in use order.
+	 */
+	private abstract static class Node {
+		
+		private Node prev;
+		private Node next;
+		
+	}
+	
+	/**
+	 * Doubly linked list of nodes, least recently used first. Touching a node
+	 * moves it to the end in constant time.
+	 */
+	private static final class Lru<T extends Node> {
+		
+		private final Node head = new Node() {};
+		
+		private Lru() {
+			this.head.prev = this.head;
+			this.head.next = this.head;
+		}
+		
+		private void touch(final Node node) {
+			if (node.next != null)
+				this.unlink(node);
+			node.prev = this.head.prev;
+			node.next = this.head;
+			this.head.prev.next = node;
+			this.head.prev = node;
+		}
+		
+		private void remove(final Node node) {
+			if (node.next != null)
+				this.unlink(node);
+		}
+		
+		@SuppressWarnings("unchecked")
+		private T eldest() {
+			return (this.head.next == this.head) ? null : (T) this.head.next;
+		}
+		
+		private void unlink(final Node node) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = null;
+			node.next = null;
+		}
+		
+	}
+	
+	/**
+	 * A product's co-occurrence counts, keyed by neighbour.
+	 */
+	private static final class Row extends Node {
+		
+		private final int productId;
+		private final IntIntHashMap counts = new IntIntHashMap(16);
+		
+		private Row(final int productId) {
+			this.productId = productId;
+		}
+		
+	}
+	
+	/**
+	 * A user's latest likes, oldest first.
+	 */
+	private static final class UserLikes extends Node {
+		
+		private final int userId;
+		private int[] products = new int[4];
+		private int size;
+		
+		private UserLikes(final int userId) {
+			this.userId = userId;
+		}
+		
+		private boolean contains(final int productId) {
+			for (int i = 0; i < this.size; i++)
+				if (this.products[i] == productId)
+					return true;
+			return false;
+		}
+		
+		private void add(final int productId, final int max) {
+			if (this.size == max) {
+				System.arraycopy(this.products, 1, this.products, 0, this.size - 1);
+				this.size--;
+			}
+			else if (this.size == this.products.length) {
+				this.products = Arrays.copyOf(this.products, Math.min(max, this.size << 1));
+			}
+			this.products[this.size++] = productId;
+		}
+		
+		private boolean remove(final int productId) {
+			for (int i = 0; i < this.size; i++) {
+				if (this.products[i] == productId) {
+					System.arraycopy(this.products, i + 1, this.products, i, this.size - i - 1);
+					this.size--;
+					return true;
+				}
+			}
+			return false;
+		}
+		
+	}
+	
+	
+	
+}
+
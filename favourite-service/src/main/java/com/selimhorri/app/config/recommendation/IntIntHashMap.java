@@ -0,0 +1,147 @@
+package com.selimhorri.app.config.recommendation;
+
+/**
+ * Open-addressing map from int to int, with linear probing and no boxing. Key
+ * {@code 0} marks an empty slot and cannot be stored; absent keys read as
+ * {@code 0}, and an entry whose value drops to zero is removed.
+ */
+final class IntIntHashMap {
+	
+	private static final int EMPTY = 0;
+	
+	@FunctionalInterface
+	interface EntryConsumer {
+		
+		void accept(final int key, final int value);
+		
+	}
+	
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	
+	IntIntHashMap(final int expectedSize) {
+		this.allocate(capacityFor(expectedSize));
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	int get(final int key) {
+		final int slot = this.find(key);
+		return (slot < 0) ? 0 : this.values[slot];
+	}
+	
+	/**
+	 * Adds {@code delta} to the value of {@code key} and returns the new value.
+	 */
+	int addTo(final int key, final int delta) {
+		checkKey(key);
+		int slot = this.find(key);
+		if (slot >= 0) {
+			final int value = this.values[slot] + delta;
+			if (value == 0)
+				this.removeAt(slot);
+			else
+				this.values[slot] = value;
+			return value;
+		}
+		if (delta == 0)
+			return 0;
+		if (this.size + 1 > (this.mask + 1) * 3 / 4)
+			this.rehash((this.mask + 1) << 1);
+		slot = mix(key) & this.mask;
+		while (this.keys[slot] != EMPTY)
+			slot = (slot + 1) & this.mask;
+		this.keys[slot] = key;
+		this.values[slot] = delta;
+		this.size++;
+		return delta;
+	}
+	
+	void remove(final int key) {
+		final int slot = this.find(key);
+		if (slot >= 0)
+			this.removeAt(slot);
+	}
+	
+	void forEach(final EntryConsumer consumer) {
+		for (int slot = 0; slot <= this.mask; slot++)
+			if (this.keys[slot] != EMPTY)
+				consumer.accept(this.keys[slot], this.values[slot]);
+	}
+	
+	private int find(final int key) {
+		if (key == EMPTY)
+			return -1;
+		int slot = mix(key) & this.mask;
+		while (this.keys[slot] != EMPTY) {
+			if (this.keys[slot] == key)
+				return slot;
+			slot = (slot + 1) & this.mask;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Backward-shift deletion: entries after the gap that would no longer be
+	 * reachable from their home slot are moved into it.
+	 */
+	private void removeAt(int gap) {
+		int slot = (gap + 1) & this.mask;
+		while (this.keys[slot] != EMPTY) {
+			final int home = mix(this.keys[slot]) & this.mask;
+			if (((slot - home) & this.mask) >= ((slot - gap) & this.mask)) {
+				this.keys[gap] = this.keys[slot];
+				this.values[gap] = this.values[slot];
+				gap = slot;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[gap] = EMPTY;
+		this.values[gap] = 0;
+		this.size--;
+	}
+	
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] == EMPTY)
+				continue;
+			int slot = mix(oldKeys[i]) & this.mask;
+			while (this.keys[slot] != EMPTY)
+				slot = (slot + 1) & this.mask;
+			this.keys[slot] = oldKeys[i];
+			this.values[slot] = oldValues[i];
+		}
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		this.mask = capacity - 1;
+	}
+	
+	static int capacityFor(final int expectedSize) {
+		final int minimum = Math.max(4, (int) Math.ceil(expectedSize / 0.75));
+		return Integer.highestOneBit(minimum - 1) << 1;
+	}
+	
+	static int mix(final int key) {
+		final int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	static void checkKey(final int key) {
+		if (key == EMPTY)
+			throw new IllegalArgumentException("Key 0 cannot be stored");
+	}
+	
+	
+	
+}
+
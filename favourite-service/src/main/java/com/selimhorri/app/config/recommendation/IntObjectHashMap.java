@@ -0,0 +1,120 @@
+package com.selimhorri.app.config.recommendation;
+
+/**
+ * Open-addressing map from int to object, with the same layout and probing as
+ * {@link IntIntHashMap}. Key {@code 0} cannot be stored and values cannot be
+ * null.
+ */
+final class IntObjectHashMap<V> {
+	
+	private static final int EMPTY = 0;
+	
+	@FunctionalInterface
+	interface EntryConsumer<V> {
+		
+		void accept(final int key, final V value);
+		
+	}
+	
+	private int[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+	
+	IntObjectHashMap(final int expectedSize) {
+		this.allocate(IntIntHashMap.capacityFor(expectedSize));
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	@SuppressWarnings("unchecked")
+	V get(final int key) {
+		final int slot = this.find(key);
+		return (slot < 0) ? null : (V) this.values[slot];
+	}
+	
+	void put(final int key, final V value) {
+		IntIntHashMap.checkKey(key);
+		int slot = this.find(key);
+		if (slot >= 0) {
+			this.values[slot] = value;
+			return;
+		}
+		if (this.size + 1 > (this.mask + 1) * 3 / 4)
+			this.rehash((this.mask + 1) << 1);
+		slot = IntIntHashMap.mix(key) & this.mask;
+		while (this.keys[slot] != EMPTY)
+			slot = (slot + 1) & this.mask;
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+	}
+	
+	void remove(final int key) {
+		final int slot = this.find(key);
+		if (slot >= 0)
+			this.removeAt(slot);
+	}
+	
+	@SuppressWarnings("unchecked")
+	void forEach(final EntryConsumer<V> consumer) {
+		for (int slot = 0; slot <= this.mask; slot++)
+			if (this.keys[slot] != EMPTY)
+				consumer.accept(this.keys[slot], (V) this.values[slot]);
+	}
+	
+	private int find(final int key) {
+		if (key == EMPTY)
+			return -1;
+		int slot = IntIntHashMap.mix(key) & this.mask;
+		while (this.keys[slot] != EMPTY) {
+			if (this.keys[slot] == key)
+				return slot;
+			slot = (slot + 1) & this.mask;
+		}
+		return -1;
+	}
+	
+	private void removeAt(int gap) {
+		int slot = (gap + 1) & this.mask;
+		while (this.keys[slot] != EMPTY) {
+			final int home = IntIntHashMap.mix(this.keys[slot]) & this.mask;
+			if (((slot - home) & this.mask) >= ((slot - gap) & this.mask)) {
+				this.keys[gap] = this.keys[slot];
+				this.values[gap] = this.values[slot];
+				gap = slot;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[gap] = EMPTY;
+		this.values[gap] = null;
+		this.size--;
+	}
+	
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final Object[] oldValues = this.values;
+		this.allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] == EMPTY)
+				continue;
+			int slot = IntIntHashMap.mix(oldKeys[i]) & this.mask;
+			while (this.keys[slot] != EMPTY)
+				slot = (slot + 1) & this.mask;
+			this.keys[slot] = oldKeys[i];
+			this.values[slot] = oldValues[i];
+		}
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,136 @@
+package com.selimhorri.app.config.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.config.jdbc.TableScanner;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Customers who liked X also liked Y": products ranked by how many users
+ * favourited them together with a given product. The {@link CooccurrenceMatrix}
+ * is loaded from the favourites table on startup and follows every like and
+ * unlike after that.
+ * <p>
+ * {@code app.favourite.recommendation.memory-budget} is split evenly between
+ * user histories and product rows, and the number of each kept is derived from
+ * their worst-case size, so the matrix stays within the budget however the
+ * likes are spread. The rebuild on startup fills a second matrix while the
+ * first is still empty.
+ */
+@Component
+@Slf4j
+public class ProductRecommender {
+	
+	private final TableScanner tableScanner;
+	private final int maxNeighbours;
+	private final int maxUserLikes;
+	private final int topN;
+	private final int maxUsers;
+	private final int maxProducts;
+	private CooccurrenceMatrix matrix;
+	private CooccurrenceMatrix rebuilding;
+	
+	public ProductRecommender(
+			final TableScanner tableScanner, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.favourite.recommendation.max-neighbours:100}") final int maxNeighbours, 
+			@Value("${app.favourite.recommendation.max-user-likes:100}") final int maxUserLikes, 
+			@Value("${app.favourite.recommendation.top-n:20}") final int topN, 
+			@Value("${app.favourite.recommendation.memory-budget:64MB}") final DataSize memoryBudget) {
+		this.tableScanner = tableScanner;
+		this.maxNeighbours = maxNeighbours;
+		this.maxUserLikes = maxUserLikes;
+		this.topN = topN;
+		final long share = memoryBudget.toBytes() / 2;
+		this.maxUsers = (int) Math.max(1, Math.min(Integer.MAX_VALUE, share / CooccurrenceMatrix.userBytes(maxUserLikes)));
+		this.maxProducts = (int) Math.max(1, Math.min(Integer.MAX_VALUE, 
+				share / CooccurrenceMatrix.rowBytes(maxNeighbours, topN)));
+		log.info("*** product co-occurrence keeps up to {} users and {} products within {} *", 
+				this.maxUsers, this.maxProducts, memoryBudget);
+		this.matrix = this.newMatrix();
+		Gauge.builder("recommendation.products", this, ProductRecommender::productCount)
+				.description("Products with co-occurrence counts")
+				.register(meterRegistry);
+	}
+	
+	public synchronized void recordLike(final Integer userId, final Integer productId) {
+		if (userId == null || productId == null)
+			return;
+		this.matrix.like(userId, productId);
+		if (this.rebuilding != null)
+			this.rebuilding.like(userId, productId);
+	}
+	
+	public synchronized void recordUnlike(final Integer userId, final Integer productId) {
+		if (userId == null || productId == null)
+			return;
+		this.matrix.unlike(userId, productId);
+		if (this.rebuilding != null)
+			this.rebuilding.unlike(userId, productId);
+	}
+	
+	/**
+	 * Up to {@code limit} products favourited together with {@code productId},
+	 * mapped to the number of users who favourited both, heaviest first. At most
+	 * {@code app.favourite.recommendation.top-n} are kept per product.
+	 */
+	public synchronized List<Map.Entry<Integer, Integer>> recommend(final int productId, final int limit) {
+		final long[] neighbours = this.matrix.neighbours(productId);
+		final List<Map.Entry<Integer, Integer>> recommendations = new ArrayList<>(Math.min(limit, neighbours.length));
+		for (int i = 0; i < neighbours.length && i < limit; i++)
+			recommendations.add(Map.entry((int) neighbours[i], (int) (neighbours[i] >>> 32)));
+		return recommendations;
+	}
+	
+	/**
+	 * Recounts the matrix from the favourites table, oldest likes first so
+	 * that each user's history ends with their latest likes. Likes and unlikes
+	 * recorded meanwhile go to both the old and the new matrix.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		final CooccurrenceMatrix rebuilt = this.newMatrix();
+		synchronized (this) {
+			this.rebuilding = rebuilt;
+		}
+		final long[] counted = new long[1];
+		this.tableScanner.scan("SELECT user_id, product_id FROM favourites ORDER BY like_date", 
+				resultSet -> {
+					final int userId = resultSet.getInt(1);
+					final int productId = resultSet.getInt(2);
+					synchronized (this) {
+						rebuilt.like(userId, productId);
+					}
+					counted[0]++;
+				});
+		synchronized (this) {
+			this.matrix = rebuilt;
+			this.rebuilding = null;
+		}
+		log.info("*** rebuilt product co-occurrence from {} favourites *", counted[0]);
+	}
+	
+	private synchronized int productCount() {
+		return this.matrix.productCount();
+	}
+	
+	private CooccurrenceMatrix newMatrix() {
+		return new CooccurrenceMatrix(this.maxNeighbours, this.maxUserLikes, this.topN, 
+				this.maxUsers, this.maxProducts);
+	}
+	
+	
+	
+}
+
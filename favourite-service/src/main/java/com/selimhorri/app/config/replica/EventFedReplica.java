@@ -0,0 +1,176 @@
+package com.selimhorri.app.config.replica;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of another service's entities, cut down to the fields this
+ * service displays, so reads never call the owning service.
+ * <p>
+ * The copy is bootstrapped by paging through the owner's listing, then kept
+ * current from the owner's events feed starting at the feed head read before
+ * the first page. Events that the snapshot already reflects are applied again
+ * harmlessly, since every event carries the whole entity. A gap in the feed
+ * sequence means events were purged before they were read; the copy is then
+ * reloaded while the old one keeps serving reads.
+ *
+ * @param <E> compact entry kept per entity
+ * @param <D> DTO handed to callers
+ */
+@Slf4j
+public abstract class EventFedReplica<E, D> {
+	
+	private final String name;
+	private final RestTemplate restTemplate;
+	private final ObjectReader entryReader;
+	private final String listingUrl;
+	private final String eventsUrl;
+	private final String deletedEventType;
+	private final Function<E, Integer> idOf;
+	private final Function<E, D> toDto;
+	private final int pageSize;
+	private volatile Map<Integer, E> entries = new ConcurrentHashMap<>();
+	private volatile long cursor = -1L;
+	
+	protected EventFedReplica(
+			final String name, 
+			final RestTemplate restTemplate, 
+			final ObjectMapper objectMapper, 
+			final String serviceHost, 
+			final String listingUrl, 
+			final String deletedEventType, 
+			final Class<E> entryType, 
+			final Function<E, Integer> idOf, 
+			final Function<E, D> toDto, 
+			final int pageSize) {
+		this.name = name;
+		this.restTemplate = restTemplate;
+		this.entryReader = objectMapper.readerFor(entryType)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		this.listingUrl = listingUrl;
+		this.eventsUrl = serviceHost + "/api/events";
+		this.deletedEventType = deletedEventType;
+		this.idOf = idOf;
+		this.toDto = toDto;
+		this.pageSize = pageSize;
+	}
+	
+	public String getName() {
+		return this.name;
+	}
+	
+	public boolean isReady() {
+		return this.cursor >= 0;
+	}
+	
+	public int size() {
+		return this.entries.size();
+	}
+	
+	public Optional<D> findById(final Integer id) {
+		return Optional.ofNullable(id)
+				.map(this.entries::get)
+				.map(this.toDto);
+	}
+	
+	public Map<Integer, D> findAllByIds(final Collection<Integer> ids) {
+		final Map<Integer, E> current = this.entries;
+		return ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.map(current::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toMap(this.idOf, this.toDto));
+	}
+	
+	/**
+	 * Loads the snapshot if there is none yet, otherwise applies the events
+	 * published since the last call.
+	 */
+	public synchronized void synchronize() {
+		if (this.cursor < 0)
+			this.bootstrap();
+		else
+			this.catchUp();
+	}
+	
+	private void bootstrap() {
+		final Long head = this.restTemplate.getForObject(this.eventsUrl + "/head", Long.class);
+		final Map<Integer, E> loaded = new ConcurrentHashMap<>();
+		String after = null;
+		do {
+			final JsonNode page = this.fetch(this.listingUrl + "?limit=" + this.pageSize 
+					+ ((after != null) ? "&after=" + after : ""));
+			for (final JsonNode node : page.path("collection")) {
+				final E entry = this.read(node);
+				loaded.put(this.idOf.apply(entry), entry);
+			}
+			after = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+		} while (after != null);
+		this.entries = loaded;
+		this.cursor = (head != null) ? head : 0L;
+		log.info("*** {} replica loaded {} entries at event sequence {} *", this.name, loaded.size(), this.cursor);
+	}
+	
+	private void catchUp() {
+		JsonNode page;
+		do {
+			page = this.fetch(this.eventsUrl + "?after=" + this.cursor + "&limit=" + this.pageSize);
+			for (final JsonNode event : page.path("collection")) {
+				final long sequence = event.path("sequence").asLong();
+				if (sequence != this.cursor + 1) {
+					log.warn("*** {} replica missed events {} to {}, reloading *", this.name, this.cursor + 1, sequence - 1);
+					this.bootstrap();
+					return;
+				}
+				this.apply(event);
+				this.cursor = sequence;
+			}
+		} while (page.hasNonNull("nextCursor"));
+	}
+	
+	private void apply(final JsonNode event) {
+		if (this.deletedEventType.equals(event.path("eventType").asText())) {
+			this.entries.remove(event.path("aggregateId").asInt());
+			return;
+		}
+		final E entry = this.read(event.path("payload"));
+		this.entries.put(this.idOf.apply(entry), entry);
+	}
+	
+	private JsonNode fetch(final String url) {
+		final JsonNode page = this.restTemplate.getForObject(url, JsonNode.class);
+		if (page == null)
+			throw new IllegalStateException("Empty response from " + url);
+		return page;
+	}
+	
+	private E read(final JsonNode node) {
+		try {
+			return this.entryReader.readValue(node);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,58 @@
+package com.selimhorri.app.config.replica;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product titles, images and prices replicated from product-service. Stock
+ * levels are not replicated; they change on every reservation.
+ */
+@Component
+public class ProductReplica extends EventFedReplica<ProductReplica.Entry, ProductDto> {
+	
+	public ProductReplica(
+			final RestTemplate restTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.replica.page-size:500}") final int pageSize) {
+		super("product", restTemplate, objectMapper, 
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST, 
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+				AppConstant.Events.PRODUCT_DELETED, Entry.class, Entry::getProductId, ProductReplica::map, pageSize);
+	}
+	
+	private static ProductDto map(final Entry entry) {
+		return ProductDto.builder()
+				.productId(entry.getProductId())
+				.productTitle(entry.getProductTitle())
+				.imageUrl(entry.getImageUrl())
+				.sku(entry.getSku())
+				.priceUnit(entry.getPriceUnit())
+				.build();
+	}
+	
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Data
+	static final class Entry {
+		
+		private Integer productId;
+		private String productTitle;
+		private String imageUrl;
+		private String sku;
+		private Double priceUnit;
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,75 @@
+package com.selimhorri.app.config.replica;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps every {@link EventFedReplica} in step with its owning service, once
+ * every {@code app.replica.poll-interval}. A replica whose owner is down is
+ * left as it was and tried again on the next poll.
+ */
+@Component
+@Slf4j
+public class ReplicaSynchronizer {
+	
+	private final List<EventFedReplica<?, ?>> replicas;
+	private final ScheduledExecutorService scheduler;
+	private final Duration pollInterval;
+	
+	public ReplicaSynchronizer(
+			final List<EventFedReplica<?, ?>> replicas, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.replica.poll-interval:1s}") final Duration pollInterval) {
+		this.replicas = replicas;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "replica-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.pollInterval = pollInterval;
+		replicas.forEach(replica -> Gauge.builder("replica.entries", replica, EventFedReplica::size)
+				.description("Entities held by a local read replica")
+				.tag("replica", replica.getName())
+				.register(meterRegistry));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		this.scheduler.scheduleWithFixedDelay(this::synchronize, 0L, 
+				this.pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+	}
+	
+	private void synchronize() {
+		for (final EventFedReplica<?, ?> replica : this.replicas) {
+			try {
+				replica.synchronize();
+			}
+			catch (RuntimeException e) {
+				log.warn("*** could not synchronize {} replica: {} *", replica.getName(), e.getMessage());
+			}
+		}
+	}
+	
+	
+	
+}
+
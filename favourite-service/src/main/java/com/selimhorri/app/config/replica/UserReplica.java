@@ -0,0 +1,60 @@
+package com.selimhorri.app.config.replica;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User profile fields replicated from user-service. Credentials are never
+ * kept, even where the snapshot listing includes them.
+ */
+@Component
+public class UserReplica extends EventFedReplica<UserReplica.Entry, UserDto> {
+	
+	public UserReplica(
+			final RestTemplate restTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.replica.page-size:500}") final int pageSize) {
+		super("user", restTemplate, objectMapper, 
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST, 
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, 
+				AppConstant.Events.USER_DELETED, Entry.class, Entry::getUserId, UserReplica::map, pageSize);
+	}
+	
+	private static UserDto map(final Entry entry) {
+		return UserDto.builder()
+				.userId(entry.getUserId())
+				.firstName(entry.getFirstName())
+				.lastName(entry.getLastName())
+				.imageUrl(entry.getImageUrl())
+				.email(entry.getEmail())
+				.phone(entry.getPhone())
+				.build();
+	}
+	
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Data
+	static final class Entry {
+		
+		private Integer userId;
+		private String firstName;
+		private String lastName;
+		private String imageUrl;
+		private String email;
+		private String phone;
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,59 @@
+package com.selimhorri.app.config.trending;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch over int keys with signed updates. An estimate never falls
+ * below the true count as long as every key's true count stays non-negative,
+ * and exceeds it by at most about {@code 2 * total / width} with probability
+ * {@code 1 - 2^-depth}.
+ * <p>
+ * Sketches of equal dimensions add and subtract cell by cell, which is what
+ * lets a window keep a running total of its buckets.
+ */
+final class CountMinSketch {
+	
+	private final int depth;
+	private final int mask;
+	private final long[] cells;
+	
+	CountMinSketch(final int depth, final int width) {
+		if (Integer.bitCount(width) != 1)
+			throw new IllegalArgumentException("Sketch width must be a power of two");
+		this.depth = depth;
+		this.mask = width - 1;
+		this.cells = new long[depth * width];
+	}
+	
+	void add(final int key, final long delta) {
+		for (int row = 0; row < this.depth; row++)
+			this.cells[this.cell(row, key)] += delta;
+	}
+	
+	long estimate(final int key) {
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < this.depth; row++)
+			estimate = Math.min(estimate, this.cells[this.cell(row, key)]);
+		return estimate;
+	}
+	
+	void add(final CountMinSketch other, final int sign) {
+		for (int i = 0; i < this.cells.length; i++)
+			this.cells[i] += sign * other.cells[i];
+	}
+	
+	void clear() {
+		Arrays.fill(this.cells, 0L);
+	}
+	
+	private int cell(final int row, final int key) {
+		// one multiplicative hash per row, seeded with the row number
+		long hash = (key + 0x9E3779B97F4A7C15L * (row + 1)) * 0xBF58476D1CE4E5B9L;
+		hash ^= hash >>> 31;
+		return (row * (this.mask + 1)) + (int) (hash & this.mask);
+	}
+	
+	
+	
+}
+
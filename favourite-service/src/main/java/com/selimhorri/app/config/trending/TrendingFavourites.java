@@ -0,0 +1,141 @@
+package com.selimhorri.app.config.trending;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.jdbc.TableScanner;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Most-favourited products over the last hour, day and week, fed by every
+ * like and unlike as it happens. Each window sketches its counts, so memory
+ * depends on the sketch dimensions and the candidate count, not on the size of
+ * the catalog.
+ * <p>
+ * A favourite counts in the bucket of its like date, and an unlike takes it
+ * back out of that bucket, so the windows count the favourites still standing
+ * that were made within them. They are rebuilt from the favourites table on
+ * startup.
+ */
+@Component
+@Slf4j
+public class TrendingFavourites {
+	
+	private final TableScanner tableScanner;
+	private final int depth;
+	private final int width;
+	private final int candidates;
+	private Map<String, TrendingWindow> windows;
+	private Map<String, TrendingWindow> rebuilding;
+	
+	public TrendingFavourites(
+			final TableScanner tableScanner, 
+			@Value("${app.favourite.trending.sketch-depth:4}") final int depth, 
+			@Value("${app.favourite.trending.sketch-width:1024}") final int width, 
+			@Value("${app.favourite.trending.candidates:1000}") final int candidates) {
+		this.tableScanner = tableScanner;
+		this.depth = depth;
+		this.width = width;
+		this.candidates = candidates;
+		this.windows = this.newWindows(System.currentTimeMillis());
+	}
+	
+	public synchronized void recordLike(final Integer productId, final LocalDateTime likeDate) {
+		this.record(productId, likeDate, 1L);
+	}
+	
+	public synchronized void recordUnlike(final Integer productId, final LocalDateTime likeDate) {
+		this.record(productId, likeDate, -1L);
+	}
+	
+	/**
+	 * The {@code k} products favourited most within {@code window}, one of
+	 * {@code 1h}, {@code 24h} or {@code 7d}, mapped to their estimated counts
+	 * and heaviest first.
+	 */
+	public synchronized List<Map.Entry<Integer, Long>> findTop(final int k, final String window) {
+		final TrendingWindow trendingWindow = this.windows.get(window);
+		if (trendingWindow == null)
+			throw new IllegalArgumentException(String.format("Unknown window: %s, expected one of %s", 
+					window, this.windows.keySet()));
+		return trendingWindow.top(k, System.currentTimeMillis());
+	}
+	
+	/**
+	 * Recounts the windows from the favourites made within the longest of them.
+	 * Likes and unlikes recorded meanwhile go to both the old and the new
+	 * windows; one that reaches the table during the scan may count twice.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		final long now = System.currentTimeMillis();
+		final Map<String, TrendingWindow> rebuilt = this.newWindows(now);
+		synchronized (this) {
+			this.rebuilding = rebuilt;
+		}
+		final long since = rebuilt.values().stream()
+				.mapToLong(window -> window.getStartMillis(now))
+				.min()
+				.orElse(now);
+		final long[] counted = new long[1];
+		this.tableScanner.scan("SELECT product_id, like_date FROM favourites WHERE like_date >= ?", 
+				resultSet -> {
+					final int productId = resultSet.getInt(1);
+					final LocalDateTime likeDate = resultSet.getTimestamp(2).toLocalDateTime();
+					synchronized (this) {
+						this.record(rebuilt, productId, likeDate, 1L, now);
+					}
+					counted[0]++;
+				}, 
+				new Timestamp(since));
+		synchronized (this) {
+			this.windows = rebuilt;
+			this.rebuilding = null;
+		}
+		log.info("*** rebuilt trending favourites from {} recent favourites *", counted[0]);
+	}
+	
+	private void record(final Integer productId, final LocalDateTime likeDate, final long delta) {
+		final long now = System.currentTimeMillis();
+		this.record(this.windows, productId, likeDate, delta, now);
+		if (this.rebuilding != null)
+			this.record(this.rebuilding, productId, likeDate, delta, now);
+	}
+	
+	private void record(final Map<String, TrendingWindow> target, final Integer productId, final LocalDateTime likeDate, 
+			final long delta, final long now) {
+		if (productId == null)
+			return;
+		final long at = (likeDate != null) 
+				? likeDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() 
+				: now;
+		target.values().forEach(window -> window.add(productId, at, delta, now));
+	}
+	
+	private Map<String, TrendingWindow> newWindows(final long now) {
+		final Map<String, TrendingWindow> created = new LinkedHashMap<>();
+		created.put("1h", new TrendingWindow(Duration.ofHours(1), Duration.ofMinutes(5), 
+				this.depth, this.width, this.candidates, now));
+		created.put("24h", new TrendingWindow(Duration.ofHours(24), Duration.ofHours(1), 
+				this.depth, this.width, this.candidates, now));
+		created.put("7d", new TrendingWindow(Duration.ofDays(7), Duration.ofHours(1), 
+				this.depth, this.width, this.candidates, now));
+		return Collections.unmodifiableMap(created);
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,166 @@
+package com.selimhorri.app.config.trending;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Favourite counts per product over a sliding window, kept as a ring of
+ * per-bucket sketches plus their running total. When the window slides, the
+ * oldest bucket is subtracted from the total and reused.
+ * <p>
+ * The heaviest products are tracked as bounded candidate sets, one for the
+ * window and one per bucket: a product enters a set when its estimate beats
+ * the smallest one in it. When the window slides, its candidates are chosen
+ * again from the candidates of the buckets still inside it, so a product that
+ * was crowded out by likes that have since expired comes back.
+ */
+final class TrendingWindow {
+	
+	private final long bucketMillis;
+	private final CountMinSketch[] buckets;
+	private final Candidates[] bucketCandidates;
+	private final CountMinSketch total;
+	private final Candidates candidates;
+	private long head;
+	
+	TrendingWindow(final Duration span, final Duration bucket, final int depth, final int width, 
+			final int capacity, final long nowMillis) {
+		this.bucketMillis = bucket.toMillis();
+		this.buckets = new CountMinSketch[(int) (span.toMillis() / this.bucketMillis)];
+		this.bucketCandidates = new Candidates[this.buckets.length];
+		for (int i = 0; i < this.buckets.length; i++) {
+			this.buckets[i] = new CountMinSketch(depth, width);
+			this.bucketCandidates[i] = new Candidates(capacity);
+		}
+		this.total = new CountMinSketch(depth, width);
+		this.candidates = new Candidates(capacity);
+		this.head = nowMillis / this.bucketMillis;
+	}
+	
+	long getStartMillis(final long nowMillis) {
+		return (nowMillis / this.bucketMillis - this.buckets.length + 1) * this.bucketMillis;
+	}
+	
+	/**
+	 * Counts {@code delta} favourites of a product made at {@code atMillis}.
+	 * Times before the window are ignored, times after now count as now.
+	 */
+	void add(final int productId, final long atMillis, final long delta, final long nowMillis) {
+		this.advance(nowMillis);
+		final long bucket = Math.min(atMillis / this.bucketMillis, this.head);
+		if (bucket <= this.head - this.buckets.length)
+			return;
+		final int slot = this.slot(bucket);
+		this.buckets[slot].add(productId, delta);
+		this.bucketCandidates[slot].offer(productId, this.buckets[slot].estimate(productId));
+		this.total.add(productId, delta);
+		this.candidates.offer(productId, this.total.estimate(productId));
+	}
+	
+	/**
+	 * The {@code k} products with the highest estimated counts, heaviest first.
+	 */
+	List<Map.Entry<Integer, Long>> top(final int k, final long nowMillis) {
+		this.advance(nowMillis);
+		return this.candidates.top(k);
+	}
+	
+	private void advance(final long nowMillis) {
+		final long current = nowMillis / this.bucketMillis;
+		if (current <= this.head)
+			return;
+		if (current - this.head >= this.buckets.length) {
+			for (int i = 0; i < this.buckets.length; i++) {
+				this.buckets[i].clear();
+				this.bucketCandidates[i].clear();
+			}
+			this.total.clear();
+		}
+		else {
+			for (long bucket = this.head + 1; bucket <= current; bucket++) {
+				final int slot = this.slot(bucket);
+				this.total.add(this.buckets[slot], -1);
+				this.buckets[slot].clear();
+				this.bucketCandidates[slot].clear();
+			}
+		}
+		this.head = current;
+		
+		final Set<Integer> productIds = new HashSet<>(this.candidates.productIds());
+		for (final Candidates bucket : this.bucketCandidates)
+			productIds.addAll(bucket.productIds());
+		this.candidates.clear();
+		for (final Integer productId : productIds)
+			this.candidates.offer(productId, this.total.estimate(productId));
+	}
+	
+	private int slot(final long bucket) {
+		return (int) Math.floorMod(bucket, (long) this.buckets.length);
+	}
+	
+	/**
+	 * At most {@code capacity} products with positive counts, ordered by count
+	 * so the lightest can be replaced cheaply.
+	 */
+	private static final class Candidates {
+		
+		private final int capacity;
+		private final Map<Integer, Long> counts = new HashMap<>();
+		private final TreeSet<Integer> byCount;
+		
+		private Candidates(final int capacity) {
+			this.capacity = capacity;
+			this.byCount = new TreeSet<>(Comparator.<Integer>comparingLong(this.counts::get)
+					.thenComparing(Comparator.naturalOrder()));
+		}
+		
+		private void offer(final Integer productId, final long count) {
+			if (this.counts.containsKey(productId)) {
+				this.byCount.remove(productId);
+				this.counts.remove(productId);
+			}
+			if (count <= 0)
+				return;
+			if (this.counts.size() >= this.capacity) {
+				final Integer lightest = this.byCount.first();
+				if (this.counts.get(lightest) >= count)
+					return;
+				this.byCount.pollFirst();
+				this.counts.remove(lightest);
+			}
+			this.counts.put(productId, count);
+			this.byCount.add(productId);
+		}
+		
+		private List<Map.Entry<Integer, Long>> top(final int k) {
+			final List<Map.Entry<Integer, Long>> top = new ArrayList<>(Math.min(k, this.counts.size()));
+			for (final Integer productId : this.byCount.descendingSet()) {
+				if (top.size() >= k)
+					break;
+				top.add(Map.entry(productId, this.counts.get(productId)));
+			}
+			return top;
+		}
+		
+		private Set<Integer> productIds() {
+			return this.counts.keySet();
+		}
+		
+		private void clear() {
+			this.byCount.clear();
+			this.counts.clear();
+		}
+		
+	}
+	
+	
+	
+}
+
@@ -11,6 +11,17 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 1000;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Events {
+		
+		public static final String PRODUCT_DELETED = "ProductDeleted";
+		public static final String USER_DELETED = "UserDeleted";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
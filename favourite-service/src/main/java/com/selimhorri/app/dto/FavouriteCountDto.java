@@ -0,0 +1,34 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class FavouriteCountDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer productId;
+	
+	/**
+	 * Estimated; may slightly exceed the true count.
+	 */
+	private Long favourites;
+	
+	@JsonProperty("product")
+	@JsonInclude(Include.NON_NULL)
+	private ProductDto productDto;
+	
+}
+
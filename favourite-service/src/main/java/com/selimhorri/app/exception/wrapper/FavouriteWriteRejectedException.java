@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class FavouriteWriteRejectedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public FavouriteWriteRejectedException() {
+		super();
+	}
+	
+	public FavouriteWriteRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public FavouriteWriteRejectedException(String message) {
+		super(message);
+	}
+	
+	public FavouriteWriteRejectedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
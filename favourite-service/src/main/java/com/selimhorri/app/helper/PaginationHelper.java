@@ -0,0 +1,51 @@
+package com.selimhorri.app.helper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+
+public interface PaginationHelper {
+	
+	public static int limit(final Integer limit) {
+		if (limit == null || limit <= 0)
+			return AppConstant.DEFAULT_PAGE_LIMIT;
+		return Math.min(limit, AppConstant.MAX_PAGE_LIMIT);
+	}
+	
+	public static String toCursor(final FavouriteDto favouriteDto) {
+		return favouriteDto.getUserId() + ":" + favouriteDto.getProductId() + ":" 
+				+ favouriteDto.getLikeDate().format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT));
+	}
+	
+	public static FavouriteId toFavouriteId(final String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return null;
+		final String[] parts = cursor.strip().split(":", 3);
+		if (parts.length != 3)
+			throw new IllegalArgumentException(String.format("Invalid cursor: %s", cursor));
+		try {
+			return new FavouriteId(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 
+					LocalDateTime.parse(parts[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)));
+		}
+		catch (DateTimeParseException e) {
+			throw new IllegalArgumentException(String.format("Invalid cursor: %s", cursor), e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
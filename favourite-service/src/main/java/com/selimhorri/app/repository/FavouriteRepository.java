@@ -1,12 +1,50 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
+	List<Favourite> findAllByOrderByUserIdAscProductIdAscLikeDateAsc(final Pageable pageable);
+	
+	@Query("SELECT f FROM Favourite f "
+			+ "WHERE f.userId > :userId "
+			+ "OR (f.userId = :userId AND f.productId > :productId) "
+			+ "OR (f.userId = :userId AND f.productId = :productId AND f.likeDate > :likeDate) "
+			+ "ORDER BY f.userId ASC, f.productId ASC, f.likeDate ASC")
+	List<Favourite> findPageAfter(
+			@Param("userId") final Integer userId, 
+			@Param("productId") final Integer productId, 
+			@Param("likeDate") final LocalDateTime likeDate, 
+			final Pageable pageable);
+	List<Favourite> findAllByUserIdAndProductIdOrderByLikeDateDesc(final Integer userId, final Integer productId);
+	
+	List<Favourite> findAllByUserIdOrderByLikeDateDescProductIdDesc(final Integer userId, final Pageable pageable);
+	
+	@Query("SELECT f FROM Favourite f "
+			+ "WHERE f.userId = :userId "
+			+ "AND (f.likeDate < :likeDate OR (f.likeDate = :likeDate AND f.productId < :productId)) "
+			+ "ORDER BY f.likeDate DESC, f.productId DESC")
+	List<Favourite> findUserPageAfter(
+			@Param("userId") final Integer userId, 
+			@Param("likeDate") final LocalDateTime likeDate, 
+			@Param("productId") final Integer productId, 
+			final Pageable pageable);
+	
+	@Query("SELECT DISTINCT f.productId FROM Favourite f WHERE f.userId = :userId AND f.productId IN :productIds")
+	List<Integer> findLikedProductIds(
+			@Param("userId") final Integer userId, 
+			@Param("productIds") final Collection<Integer> productIds);
+	
 	
 	
 }
@@ -2,6 +2,7 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -14,12 +15,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteCheckDto;
+import com.selimhorri.app.dto.FavouriteCountDto;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.RecommendationDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PaginationHelper;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,9 +40,61 @@ public class FavouriteResource {
 	private final FavouriteService favouriteService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** FavouriteDto List, controller; fetch all favourites *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(
+				this.favouriteService.findAll(PaginationHelper.toFavouriteId(after), pageLimit), 
+				pageLimit, PaginationHelper::toCursor));
+	}
+	
+	@GetMapping("/top")
+	public ResponseEntity<DtoCollectionResponse<FavouriteCountDto>> findTop(
+			@RequestParam(value = "k", required = false) final Integer k, 
+			@RequestParam(value = "window", defaultValue = "24h") final String window) {
+		log.info("*** FavouriteCountDto List, controller; fetch most favourited products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findTop(PaginationHelper.limit(k), window)));
+	}
+	
+	@GetMapping("/recommendations/{productId}")
+	public ResponseEntity<DtoCollectionResponse<RecommendationDto>> findRecommendations(
+			@PathVariable("productId") final String productId, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** RecommendationDto List, controller; fetch products favourited together *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findRecommendations(
+				Integer.parseInt(productId), PaginationHelper.limit(limit))));
+	}
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAllByUserId(
+			@PathVariable("userId") final String userId, 
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** FavouriteDto List, controller; fetch favourites of user *");
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(
+				this.favouriteService.findAllByUserId(Integer.parseInt(userId), PaginationHelper.toFavouriteId(after), pageLimit), 
+				pageLimit, PaginationHelper::toCursor));
+	}
+	
+	@PostMapping("/check")
+	public ResponseEntity<Map<Integer, Boolean>> check(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final FavouriteCheckDto favouriteCheckDto) {
+		log.info("*** Boolean Map, resource; check favourites of user *");
+		return ResponseEntity.ok(this.favouriteService.check(favouriteCheckDto.getUserId(), 
+				favouriteCheckDto.getProductIds()));
+	}
+	
+	@GetMapping("/{userId}/{productId}")
+	public ResponseEntity<FavouriteDto> findById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId) {
+		log.info("*** FavouriteDto, resource; fetch latest favourite of user for product *");
+		return ResponseEntity.ok(this.favouriteService.findById(Integer.parseInt(userId), Integer.parseInt(productId)));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -77,6 +135,15 @@ public class FavouriteResource {
 		return ResponseEntity.ok(this.favouriteService.update(favouriteDto));
 	}
 	
+	@DeleteMapping("/{userId}/{productId}")
+	public ResponseEntity<Boolean> deleteById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId) {
+		log.info("*** Boolean, resource; delete favourites of user for product *");
+		this.favouriteService.deleteById(Integer.parseInt(userId), Integer.parseInt(productId));
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("userId") final String userId, 
@@ -1,16 +1,27 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteCountDto;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.RecommendationDto;
 
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
+	List<FavouriteDto> findAll(final FavouriteId after, final int limit);
+	List<FavouriteDto> findAllByUserId(final Integer userId, final FavouriteId after, final int limit);
 	FavouriteDto findById(final FavouriteId favouriteId);
+	FavouriteDto findById(final Integer userId, final Integer productId);
+	Map<Integer, Boolean> check(final Integer userId, final Collection<Integer> productIds);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
+	void deleteById(final Integer userId, final Integer productId);
+	List<FavouriteCountDto> findTop(final int k, final String window);
+	List<RecommendationDto> findRecommendations(final Integer productId, final int limit);
 	
 }
@@ -1,18 +1,30 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.config.favourite.FavouriteFilter;
+import com.selimhorri.app.config.favourite.FavouriteWriteBehind;
+import com.selimhorri.app.config.recommendation.ProductRecommender;
+import com.selimhorri.app.config.replica.ProductReplica;
+import com.selimhorri.app.config.replica.UserReplica;
+import com.selimhorri.app.config.trending.TrendingFavourites;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteCountDto;
 import com.selimhorri.app.dto.FavouriteDto;
-import com.selimhorri.app.dto.ProductDto;
-import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.RecommendationDto;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
@@ -27,22 +39,128 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class FavouriteServiceImpl implements FavouriteService {
 	
+	private static final Comparator<FavouriteId> KEY_ORDER = Comparator.comparing(FavouriteId::getUserId)
+			.thenComparing(FavouriteId::getProductId)
+			.thenComparing(FavouriteId::getLikeDate);
+	private static final Comparator<FavouriteId> USER_ORDER = Comparator.comparing(FavouriteId::getLikeDate)
+			.thenComparing(FavouriteId::getProductId)
+			.reversed();
+	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final UserReplica userReplica;
+	private final ProductReplica productReplica;
+	private final FavouriteWriteBehind favouriteWriteBehind;
+	private final FavouriteFilter favouriteFilter;
+	private final TrendingFavourites trendingFavourites;
+	private final ProductRecommender productRecommender;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
-				.stream()
+		final Map<FavouriteId, Boolean> pending = this.favouriteWriteBehind.findAllPending();
+		final List<Favourite> favourites = new ArrayList<>();
+		this.favouriteRepository.findAll().stream()
+				.filter(f -> !pending.containsKey(idOf(f)))
+				.forEach(favourites::add);
+		pending.forEach((id, liked) -> {
+			if (liked)
+				favourites.add(this.favouriteOf(id));
+		});
+		return this.enrich(favourites);
+	}
+	
+	@Override
+	public List<FavouriteDto> findAll(final FavouriteId after, final int limit) {
+		log.info("*** FavouriteDto List, service; fetch page of favourites *");
+		return this.enrich(this.overlayPage(after, limit, this.favouriteWriteBehind.findAllPending(), 
+				this::fetchPage, KEY_ORDER));
+	}
+	
+	@Override
+	public List<FavouriteDto> findAllByUserId(final Integer userId, final FavouriteId after, final int limit) {
+		log.info("*** FavouriteDto List, service; fetch page of favourites of user *");
+		return this.enrich(this.overlayPage(after, limit, this.favouriteWriteBehind.findPendingByUserId(userId), 
+				(cursor, size) -> (cursor == null) 
+						? this.favouriteRepository.findAllByUserIdOrderByLikeDateDescProductIdDesc(userId, 
+								PageRequest.of(0, size)) 
+						: this.favouriteRepository.findUserPageAfter(userId, cursor.getLikeDate(), 
+								cursor.getProductId(), PageRequest.of(0, size)), 
+				USER_ORDER));
+	}
+	
+	/**
+	 * One page of {@code fetch}, with the pending likes and unlikes laid over
+	 * it so that callers see their own writes before they are flushed.
+	 */
+	private List<Favourite> overlayPage(final FavouriteId after, final int limit, 
+			final Map<FavouriteId, Boolean> pending, final BiFunction<FavouriteId, Integer, List<Favourite>> fetch, 
+			final Comparator<FavouriteId> order) {
+		if (pending.isEmpty())
+			return fetch.apply(after, limit);
+		
+		// rows pending as unliked are skipped, so keep fetching until the page is full
+		final List<Favourite> favourites = new ArrayList<>(limit);
+		FavouriteId cursor = after;
+		boolean exhausted = false;
+		while (favourites.size() < limit && !exhausted) {
+			final List<Favourite> rows = fetch.apply(cursor, limit);
+			exhausted = rows.size() < limit;
+			if (!rows.isEmpty())
+				cursor = idOf(rows.get(rows.size() - 1));
+			rows.stream()
+					.filter(f -> !pending.containsKey(idOf(f)))
+					.forEach(favourites::add);
+		}
+		
+		// pending likes belong to the page if they fall within the key range fetched
+		final FavouriteId last = cursor;
+		final boolean open = exhausted;
+		pending.forEach((id, liked) -> {
+			if (liked && (after == null || order.compare(id, after) > 0) 
+					&& (open || order.compare(id, last) <= 0))
+				favourites.add(this.favouriteOf(id));
+		});
+		favourites.sort(Comparator.comparing(FavouriteServiceImpl::idOf, order));
+		return (favourites.size() > limit) ? favourites.subList(0, limit) : favourites;
+	}
+	
+	private List<Favourite> fetchPage(final FavouriteId after, final int limit) {
+		return (after == null) 
+				? this.favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(PageRequest.of(0, limit)) 
+				: this.favouriteRepository.findPageAfter(after.getUserId(), after.getProductId(), after.getLikeDate(), 
+						PageRequest.of(0, limit));
+	}
+	
+	private Favourite favouriteOf(final FavouriteId favouriteId) {
+		return Favourite.builder()
+				.userId(favouriteId.getUserId())
+				.productId(favouriteId.getProductId())
+				.likeDate(favouriteId.getLikeDate())
+				.build();
+	}
+	
+	private static FavouriteId idOf(final Favourite favourite) {
+		return new FavouriteId(favourite.getUserId(), favourite.getProductId(), favourite.getLikeDate());
+	}
+	
+	private List<FavouriteDto> enrich(final List<Favourite> favourites) {
+		final var favouriteDtos = favourites.stream()
 					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toList());
+		
+		final var userIds = favouriteDtos.stream()
+				.map(FavouriteDto::getUserId)
+				.collect(Collectors.toSet());
+		final var productIds = favouriteDtos.stream()
+				.map(FavouriteDto::getProductId)
+				.collect(Collectors.toSet());
+		final var userDtos = this.userReplica.findAllByIds(userIds);
+		final var productDtos = this.productReplica.findAllByIds(productIds);
+		
+		return favouriteDtos.stream()
 					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+						f.setUserDto(userDtos.getOrDefault(f.getUserId(), f.getUserDto()));
+						f.setProductDto(productDtos.getOrDefault(f.getProductId(), f.getProductDto()));
 						return f;
 					})
 					.distinct()
@@ -52,36 +170,172 @@ public class FavouriteServiceImpl implements FavouriteService {
 	@Override
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
-		return this.favouriteRepository.findById(favouriteId)
+		final var pending = this.favouriteWriteBehind.findPending(favouriteId);
+		final var favourite = pending.isPresent() 
+				? pending.filter(Boolean::booleanValue).map(liked -> this.favouriteOf(favouriteId)) 
+				: this.favouriteRepository.findById(favouriteId);
+		return favourite
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					f.setUserDto(this.userReplica.findById(f.getUserId()).orElse(f.getUserDto()));
+					f.setProductDto(this.productReplica.findById(f.getProductId()).orElse(f.getProductDto()));
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
 	
+	@Override
+	public FavouriteDto findById(final Integer userId, final Integer productId) {
+		log.info("*** FavouriteDto, service; fetch latest favourite of user for product *");
+		final Map<FavouriteId, Boolean> pending = this.favouriteWriteBehind.findPendingByUserId(userId);
+		final List<FavouriteId> favouriteIds = new ArrayList<>();
+		pending.forEach((id, liked) -> {
+			if (liked && id.getProductId().equals(productId))
+				favouriteIds.add(id);
+		});
+		if (this.favouriteFilter.mightContain(userId, productId))
+			this.favouriteRepository.findAllByUserIdAndProductIdOrderByLikeDateDesc(userId, productId).stream()
+					.map(FavouriteServiceImpl::idOf)
+					.filter(id -> !pending.containsKey(id))
+					.forEach(favouriteIds::add);
+		return favouriteIds.stream()
+				.max(Comparator.comparing(FavouriteId::getLikeDate))
+				.map(id -> this.enrich(List.of(this.favouriteOf(id))).get(0))
+				.orElseThrow(() -> new FavouriteNotFoundException(
+						String.format("Favourite of user: %d for product: %d not found!", userId, productId)));
+	}
+	
+	@Override
+	public Map<Integer, Boolean> check(final Integer userId, final Collection<Integer> productIds) {
+		log.info("*** Boolean Map, service; check favourites of user *");
+		final Map<Integer, Boolean> liked = new LinkedHashMap<>();
+		final List<Integer> candidates = new ArrayList<>();
+		for (final Integer productId : productIds) {
+			liked.put(productId, false);
+			if (this.favouriteFilter.mightContain(userId, productId))
+				candidates.add(productId);
+		}
+		if (!candidates.isEmpty())
+			this.favouriteRepository.findLikedProductIds(userId, candidates)
+					.forEach(productId -> liked.put(productId, true));
+		this.favouriteWriteBehind.findPendingByUserId(userId).forEach((id, pendingLike) -> {
+			if (liked.containsKey(id.getProductId()))
+				liked.put(id.getProductId(), pendingLike);
+		});
+		return liked;
+	}
+	
 	@Override
 	public FavouriteDto save(final FavouriteDto favouriteDto) {
-		return FavouriteMappingHelper.map(this.favouriteRepository
-				.save(FavouriteMappingHelper.map(favouriteDto)));
+		return this.like(favouriteDto);
 	}
 	
 	@Override
 	public FavouriteDto update(final FavouriteDto favouriteDto) {
-		return FavouriteMappingHelper.map(this.favouriteRepository
-				.save(FavouriteMappingHelper.map(favouriteDto)));
+		return this.like(favouriteDto);
 	}
 	
 	@Override
 	public void deleteById(final FavouriteId favouriteId) {
-		this.favouriteRepository.deleteById(favouriteId);
+		final var id = new FavouriteId(favouriteId.getUserId(), favouriteId.getProductId(), favouriteId.getLikeDate());
+		final boolean removed;
+		if (this.favouriteWriteBehind.isEnabled()) {
+			removed = this.favouriteWriteBehind.unlike(id, () -> this.isStored(id));
+		}
+		else {
+			removed = this.isStored(id);
+			this.favouriteRepository.deleteById(id);
+		}
+		if (removed) {
+			this.trendingFavourites.recordUnlike(id.getProductId(), id.getLikeDate());
+			this.productRecommender.recordUnlike(id.getUserId(), id.getProductId());
+		}
+	}
+	
+	@Override
+	public void deleteById(final Integer userId, final Integer productId) {
+		log.info("*** Void, service; delete favourites of user for product *");
+		final Map<FavouriteId, Boolean> pending = this.favouriteWriteBehind.findPendingByUserId(userId);
+		final List<FavouriteId> favouriteIds = new ArrayList<>();
+		pending.forEach((id, liked) -> {
+			if (liked && id.getProductId().equals(productId))
+				favouriteIds.add(id);
+		});
+		this.favouriteRepository.findAllByUserIdAndProductIdOrderByLikeDateDesc(userId, productId).stream()
+				.map(FavouriteServiceImpl::idOf)
+				.filter(id -> !pending.containsKey(id))
+				.forEach(favouriteIds::add);
+		favouriteIds.forEach(this::deleteById);
+	}
+	
+	@Override
+	public List<FavouriteCountDto> findTop(final int k, final String window) {
+		log.info("*** FavouriteCountDto List, service; fetch most favourited products *");
+		final var top = this.trendingFavourites.findTop(k, window);
+		final var productDtos = this.productReplica.findAllByIds(top.stream()
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet()));
+		return top.stream()
+				.map(entry -> FavouriteCountDto.builder()
+						.productId(entry.getKey())
+						.favourites(entry.getValue())
+						.productDto(productDtos.get(entry.getKey()))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public List<RecommendationDto> findRecommendations(final Integer productId, final int limit) {
+		log.info("*** RecommendationDto List, service; fetch products favourited together *");
+		final var recommendations = this.productRecommender.recommend(productId, limit);
+		final var productDtos = this.productReplica.findAllByIds(recommendations.stream()
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet()));
+		return recommendations.stream()
+				.map(entry -> RecommendationDto.builder()
+						.productId(entry.getKey())
+						.likedTogether(entry.getValue())
+						.productDto(productDtos.get(entry.getKey()))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Saves a like, through the write-behind buffer when it is enabled. Only a
+	 * favourite that was not liked yet is counted by the trending windows and
+	 * the recommender, so saving the same favourite again changes nothing; the
+	 * buffer decides that atomically, so concurrent saves count once.
+	 */
+	private FavouriteDto like(final FavouriteDto favouriteDto) {
+		final var favouriteId = new FavouriteId(favouriteDto.getUserId(), favouriteDto.getProductId(), 
+				favouriteDto.getLikeDate());
+		final boolean added;
+		final FavouriteDto saved;
+		if (this.favouriteWriteBehind.isEnabled()) {
+			added = this.favouriteWriteBehind.like(favouriteId, () -> this.isStored(favouriteId));
+			saved = FavouriteMappingHelper.map(this.favouriteOf(favouriteId));
+		}
+		else {
+			added = !this.isStored(favouriteId);
+			saved = FavouriteMappingHelper.map(this.favouriteRepository
+					.save(FavouriteMappingHelper.map(favouriteDto)));
+		}
+		this.favouriteFilter.add(favouriteId.getUserId(), favouriteId.getProductId());
+		if (added) {
+			this.trendingFavourites.recordLike(favouriteId.getProductId(), favouriteId.getLikeDate());
+			this.productRecommender.recordLike(favouriteId.getUserId(), favouriteId.getProductId());
+		}
+		return saved;
+	}
+	
+	/**
+	 * Whether the favourite is liked in the database. A filter miss is
+	 * definite, so a first like, the common case, costs no query.
+	 */
+	private boolean isStored(final FavouriteId favouriteId) {
+		return this.favouriteFilter.mightContain(favouriteId.getUserId(), favouriteId.getProductId()) 
+				&& this.favouriteRepository.existsById(favouriteId);
 	}
 	
 	
@@ -0,0 +1,3 @@
+
+CREATE INDEX idx_favourites_user_like_date ON favourites (user_id, like_date);
+
@@ -0,0 +1 @@
+CREATE INDEX idx_favourites_created_at ON favourites (created_at);
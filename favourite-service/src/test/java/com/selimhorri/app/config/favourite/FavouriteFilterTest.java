@@ -0,0 +1,153 @@
+package com.selimhorri.app.config.favourite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.selimhorri.app.config.jdbc.TableScanner;
+
+@ExtendWith(MockitoExtension.class)
+class FavouriteFilterTest {
+
+    private static final String FULL_SCAN = "SELECT user_id, product_id FROM favourites";
+    private static final String CATCH_UP_SCAN = "SELECT user_id, product_id, created_at FROM favourites WHERE created_at >= ?";
+    private static final String LATEST_CREATED = "SELECT MAX(created_at) FROM favourites";
+    private static final Instant CREATED_AT = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TableScanner tableScanner;
+
+    private FavouriteFilter favouriteFilter;
+
+    @BeforeEach
+    void setUp() {
+        this.favouriteFilter = new FavouriteFilter(this.jdbcTemplate, this.tableScanner, 1_000, 0.01,
+                Duration.ofHours(6), Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void mightContain_beforeFirstBuild_shouldAssumeEveryPairLiked() {
+        assertThat(this.favouriteFilter.mightContain(1, 10)).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldContainScannedFavouritesAndRuleOutOthers() {
+        // given
+        when(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM favourites", Long.class)).thenReturn(2L);
+        doAnswer(rows(new int[] { 1, 10 }, new int[] { 2, 20 }))
+                .when(this.tableScanner).scan(eq(FULL_SCAN), any(RowCallbackHandler.class));
+
+        // when
+        this.favouriteFilter.rebuild();
+
+        // then
+        assertThat(this.favouriteFilter.mightContain(1, 10)).isTrue();
+        assertThat(this.favouriteFilter.mightContain(2, 20)).isTrue();
+        int falsePositives = 0;
+        for (int productId = 1_000; productId < 2_000; productId++)
+            if (this.favouriteFilter.mightContain(1, productId))
+                falsePositives++;
+        assertThat(falsePositives).isLessThan(50);
+    }
+
+    @Test
+    void add_shouldBeVisibleRightAway() {
+        // given
+        when(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM favourites", Long.class)).thenReturn(0L);
+        this.favouriteFilter.rebuild();
+
+        // when
+        this.favouriteFilter.add(3, 30);
+
+        // then
+        assertThat(this.favouriteFilter.mightContain(3, 30)).isTrue();
+    }
+
+    @Test
+    void catchUp_shouldAddFavouritesSavedByOtherInstances() {
+        // given
+        when(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM favourites", Long.class)).thenReturn(0L);
+        this.favouriteFilter.rebuild();
+        doAnswer(rows(new int[] { 5, 50 }))
+                .when(this.tableScanner).scan(eq(CATCH_UP_SCAN), any(RowCallbackHandler.class), any());
+
+        // when
+        this.favouriteFilter.catchUp();
+
+        // then
+        assertThat(this.favouriteFilter.mightContain(5, 50)).isTrue();
+    }
+
+    @Test
+    void catchUp_shouldRescanOnlyOverlapBeforeLatestCreatedAt() {
+        // given
+        when(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM favourites", Long.class)).thenReturn(1L);
+        when(this.jdbcTemplate.queryForObject(LATEST_CREATED, Timestamp.class)).thenReturn(Timestamp.from(CREATED_AT));
+        this.favouriteFilter.rebuild();
+        final Instant latest = CREATED_AT.plusSeconds(30);
+        doAnswer(invocation -> {
+            final ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getInt(1)).thenReturn(5);
+            when(resultSet.getInt(2)).thenReturn(50);
+            when(resultSet.getTimestamp(3)).thenReturn(Timestamp.from(latest));
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(resultSet);
+            return null;
+        }).when(this.tableScanner).scan(eq(CATCH_UP_SCAN), any(RowCallbackHandler.class), any());
+
+        // when
+        this.favouriteFilter.catchUp();
+        this.favouriteFilter.catchUp();
+
+        // then
+        assertThat(this.favouriteFilter.mightContain(5, 50)).isTrue();
+        verify(this.tableScanner).scan(eq(CATCH_UP_SCAN), any(RowCallbackHandler.class),
+                eq(Timestamp.from(CREATED_AT.minusSeconds(5))));
+        verify(this.tableScanner).scan(eq(CATCH_UP_SCAN), any(RowCallbackHandler.class),
+                eq(Timestamp.from(latest.minusSeconds(5))));
+    }
+
+    @Test
+    void catchUp_beforeFirstBuild_shouldNotScan() {
+        // when
+        this.favouriteFilter.catchUp();
+
+        // then
+        verifyNoInteractions(this.tableScanner);
+    }
+
+    private static Answer<Void> rows(final int[]... pairs) {
+        return invocation -> {
+            final RowCallbackHandler handler = invocation.getArgument(1);
+            for (final int[] pair : pairs) {
+                final ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getInt(1)).thenReturn(pair[0]);
+                when(resultSet.getInt(2)).thenReturn(pair[1]);
+                handler.processRow(resultSet);
+            }
+            return null;
+        };
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.selimhorri.app.config.favourite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.exception.wrapper.FavouriteWriteRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class FavouriteWriteBehindTest {
+
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final BooleanSupplier NOT_STORED = () -> false;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FavouriteWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        this.writeBehind.stop();
+    }
+
+    @Test
+    void flush_shouldWriteOnlyLatestCommandPerFavourite() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        final FavouriteId favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        this.writeBehind.like(favouriteId, NOT_STORED);
+        this.writeBehind.unlike(favouriteId, NOT_STORED);
+
+        // when
+        this.writeBehind.flush();
+
+        // then
+        verify(this.jdbcTemplate).batchUpdate(startsWith("DELETE"), argThat((List<Object[]> args) -> args.size() == 1));
+        verify(this.jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), anyList());
+        assertThat(this.meterRegistry.counter("favourite.write.coalesced").count()).isEqualTo(1.0);
+        assertThat(this.writeBehind.findPending(favouriteId)).isEmpty();
+    }
+
+    @Test
+    void like_shouldFlushOnceBatchSizeIsPending() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 2, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+
+        // when
+        this.writeBehind.like(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+        this.writeBehind.like(new FavouriteId(1, 11, LIKE_DATE), NOT_STORED);
+
+        // then
+        verify(this.jdbcTemplate, timeout(1_000)).batchUpdate(startsWith("INSERT"), argThat((List<Object[]> args) -> args.size() == 2));
+    }
+
+    @Test
+    void start_shouldFlushEveryInterval() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofMillis(20), Duration.ZERO, Duration.ofSeconds(1));
+        this.writeBehind.start();
+
+        // when
+        this.writeBehind.like(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+
+        // then
+        verify(this.jdbcTemplate, timeout(1_000)).batchUpdate(startsWith("INSERT"), anyList());
+    }
+
+    @Test
+    void flush_shouldKeepFailedBatchPendingForRetry() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        final FavouriteId favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        when(this.jdbcTemplate.batchUpdate(startsWith("DELETE"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"))
+                .thenReturn(new int[] { 0 });
+        this.writeBehind.like(favouriteId, NOT_STORED);
+
+        // when
+        this.writeBehind.flush();
+        final var pendingAfterFailure = this.writeBehind.findPending(favouriteId);
+        this.writeBehind.flush();
+
+        // then
+        assertThat(pendingAfterFailure).contains(true);
+        assertThat(this.writeBehind.findPending(favouriteId)).isEmpty();
+        verify(this.jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT"), anyList());
+        assertThat(this.meterRegistry.counter("favourite.write.flush.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_whileDatabaseStaysDown_shouldKeepRetryingWithoutDropping() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        final FavouriteId favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        when(this.jdbcTemplate.batchUpdate(startsWith("DELETE"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+        this.writeBehind.like(favouriteId, NOT_STORED);
+
+        // when
+        for (int i = 0; i < 10; i++)
+            this.writeBehind.flush();
+
+        // then
+        assertThat(this.writeBehind.findPending(favouriteId)).contains(true);
+        assertThat(this.meterRegistry.counter("favourite.write.flush.failures").count()).isEqualTo(10.0);
+        assertThat(this.meterRegistry.counter("favourite.write.dropped").count()).isZero();
+    }
+
+    @Test
+    void flush_afterFailure_shouldBackOff() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ofHours(1), Duration.ofSeconds(1));
+        final FavouriteId favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        when(this.jdbcTemplate.batchUpdate(startsWith("DELETE"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+        this.writeBehind.like(favouriteId, NOT_STORED);
+
+        // when
+        this.writeBehind.flush();
+        this.writeBehind.flush();
+
+        // then
+        verify(this.jdbcTemplate, times(1)).batchUpdate(startsWith("DELETE"), anyList());
+        assertThat(this.writeBehind.findPending(favouriteId)).contains(true);
+    }
+
+    @Test
+    void flush_whenDatabaseRejectsRows_shouldDropOnlyThoseRows() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        final List<Object> inserted = new ArrayList<>();
+        when(this.jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList())).thenAnswer(invocation -> {
+            final List<Object[]> args = invocation.getArgument(1);
+            if (args.stream().anyMatch(row -> row[1].equals(11)))
+                throw new DataIntegrityViolationException("product_id 11 is invalid");
+            args.forEach(row -> inserted.add(row[1]));
+            return new int[args.size()];
+        });
+        this.writeBehind.like(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+        this.writeBehind.like(new FavouriteId(1, 11, LIKE_DATE), NOT_STORED);
+        this.writeBehind.like(new FavouriteId(1, 12, LIKE_DATE), NOT_STORED);
+
+        // when
+        this.writeBehind.flush();
+
+        // then
+        assertThat(this.writeBehind.findAllPending()).isEmpty();
+        assertThat(inserted).containsExactlyInAnyOrder(10, 12);
+        assertThat(this.meterRegistry.counter("favourite.write.dropped").count()).isEqualTo(1.0);
+        assertThat(this.meterRegistry.counter("favourite.write.flush.failures").count()).isZero();
+    }
+
+    @Test
+    void like_whenBufferStaysFull_shouldReject() {
+        // given
+        this.writeBehind = this.newWriteBehind(1, 100, Duration.ofHours(1), Duration.ofHours(1), Duration.ofMillis(50));
+        when(this.jdbcTemplate.batchUpdate(startsWith("DELETE"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+        this.writeBehind.like(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+
+        // when, then
+        assertThatThrownBy(() -> this.writeBehind.like(new FavouriteId(1, 11, LIKE_DATE), NOT_STORED))
+                .isInstanceOf(FavouriteWriteRejectedException.class);
+        this.writeBehind.unlike(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+        assertThat(this.writeBehind.findAllPending()).containsOnlyKeys(new FavouriteId(1, 10, LIKE_DATE));
+        assertThat(this.meterRegistry.counter("favourite.write.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void like_shouldTellWhetherFavouriteChanged() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        final FavouriteId favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        final FavouriteId storedId = new FavouriteId(1, 11, LIKE_DATE);
+        final AtomicInteger storedReads = new AtomicInteger();
+        final BooleanSupplier stored = () -> storedReads.incrementAndGet() > 0;
+
+        // when, then
+        assertThat(this.writeBehind.like(favouriteId, NOT_STORED)).isTrue();
+        assertThat(this.writeBehind.like(favouriteId, stored)).isFalse();
+        assertThat(this.writeBehind.unlike(favouriteId, stored)).isTrue();
+        assertThat(this.writeBehind.unlike(favouriteId, stored)).isFalse();
+        assertThat(storedReads).hasValue(0);
+        assertThat(this.writeBehind.like(storedId, stored)).isFalse();
+        assertThat(storedReads).hasValue(1);
+    }
+
+    @Test
+    void findPendingByUserId_shouldReturnOnlyThatUsersCommands() {
+        // given
+        this.writeBehind = this.newWriteBehind(100, 100, Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(1));
+        this.writeBehind.like(new FavouriteId(1, 10, LIKE_DATE), NOT_STORED);
+        this.writeBehind.unlike(new FavouriteId(1, 11, LIKE_DATE), NOT_STORED);
+        this.writeBehind.like(new FavouriteId(2, 10, LIKE_DATE), NOT_STORED);
+
+        // when
+        final Map<FavouriteId, Boolean> pending = this.writeBehind.findPendingByUserId(1);
+
+        // then
+        assertThat(pending).containsExactlyInAnyOrderEntriesOf(Map.of(
+                new FavouriteId(1, 10, LIKE_DATE), true,
+                new FavouriteId(1, 11, LIKE_DATE), false));
+        assertThat(this.writeBehind.findPendingByUserId(3)).isEmpty();
+    }
+
+    private FavouriteWriteBehind newWriteBehind(final int capacity, final int batchSize, final Duration flushInterval,
+            final Duration retryBackoff, final Duration offerTimeout) {
+        return new FavouriteWriteBehind(this.jdbcTemplate, this.transactionManager, this.meterRegistry, true,
+                capacity, batchSize, flushInterval, retryBackoff, Duration.ofMinutes(1), offerTimeout);
+    }
+
+}
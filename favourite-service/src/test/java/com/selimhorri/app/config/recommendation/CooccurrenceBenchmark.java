@@ -0,0 +1,133 @@
+package com.selimhorri.app.config.recommendation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of one like and one recommendation lookup against a
+ * {@link CooccurrenceMatrix} preloaded with {@code likes} favourites. Products
+ * are drawn with a skew towards low ids, so popular rows grow to the pruning
+ * limit the way they do in production.
+ * <p>
+ * {@code query} hits the top-N cache; {@code queryAfterLike} likes first, so
+ * the row it reads has just been invalidated. Run with {@code main} from the
+ * test classpath; it first fills a matrix to the caps derived from the default
+ * memory budget, which takes about two minutes, and reports the heap it
+ * retains against that budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CooccurrenceBenchmark {
+	
+	private static final int USERS = 200_000;
+	private static final int PRODUCTS = 50_000;
+	// the application.yml defaults
+	private static final int MAX_NEIGHBOURS = 100;
+	private static final int MAX_USER_LIKES = 100;
+	private static final int TOP_N = 20;
+	private static final long MEMORY_BUDGET = 64L << 20;
+	private static final int MAX_USERS = (int) (MEMORY_BUDGET / 2 / CooccurrenceMatrix.userBytes(MAX_USER_LIKES));
+	private static final int MAX_PRODUCTS = (int) (MEMORY_BUDGET / 2 / CooccurrenceMatrix.rowBytes(MAX_NEIGHBOURS, TOP_N));
+	
+	@Param({ "100000", "1000000" })
+	private int likes;
+	
+	private CooccurrenceMatrix matrix;
+	private SplittableRandom random;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.matrix = new CooccurrenceMatrix(MAX_NEIGHBOURS, MAX_USER_LIKES, TOP_N, MAX_USERS, MAX_PRODUCTS);
+		this.random = new SplittableRandom(42);
+		for (int i = 0; i < this.likes; i++)
+			this.matrix.like(this.user(), this.product());
+	}
+	
+	@Benchmark
+	public void like() {
+		this.matrix.like(this.user(), this.product());
+	}
+	
+	@Benchmark
+	public long[] query() {
+		return this.matrix.neighbours(this.product());
+	}
+	
+	@Benchmark
+	public long[] queryAfterLike() {
+		final int product = this.product();
+		this.matrix.like(this.user(), product);
+		return this.matrix.neighbours(product);
+	}
+	
+	private int user() {
+		return 1 + this.random.nextInt(USERS);
+	}
+	
+	private int product() {
+		// squaring a uniform draw puts about a third of the likes on the first tenth of the catalog
+		final double draw = this.random.nextDouble();
+		return 1 + (int) (draw * draw * PRODUCTS);
+	}
+	
+	/**
+	 * Every user the caps allow likes {@code MAX_USER_LIKES} products out of as
+	 * many products as the caps allow, which fills each history and keeps each
+	 * row between pruning limits.
+	 */
+	private static void reportRetainedSizeAtCaps() {
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		final long before = usedAfterGc(memory);
+		final CooccurrenceMatrix matrix = new CooccurrenceMatrix(MAX_NEIGHBOURS, MAX_USER_LIKES, TOP_N, 
+				MAX_USERS, MAX_PRODUCTS);
+		final SplittableRandom random = new SplittableRandom(42);
+		for (int user = 1; user <= MAX_USERS; user++)
+			for (int i = 0; i < MAX_USER_LIKES; i++)
+				matrix.like(user, 1 + random.nextInt(MAX_PRODUCTS));
+		for (int product = 1; product <= MAX_PRODUCTS; product++)
+			matrix.neighbours(product);
+		final long retained = usedAfterGc(memory) - before;
+		System.out.printf("retained %.1f MB for %d users and %d products, budget %d MB%n", 
+				retained / 1048576.0, matrix.userCount(), matrix.productCount(), MEMORY_BUDGET >> 20);
+	}
+	
+	private static long usedAfterGc(final MemoryMXBean memory) {
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		reportRetainedSizeAtCaps();
+		new Runner(new OptionsBuilder()
+				.include(CooccurrenceBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+	
+	
+	
+}
+
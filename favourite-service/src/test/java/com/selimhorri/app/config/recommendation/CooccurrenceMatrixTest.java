@@ -0,0 +1,134 @@
+package com.selimhorri.app.config.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CooccurrenceMatrixTest {
+
+    @Test
+    void like_shouldCountUsersWhoLikedBothProducts() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 10, 10, 100, 100);
+
+        // when
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+        matrix.like(2, 10);
+        matrix.like(2, 20);
+        matrix.like(2, 30);
+
+        // then
+        assertThat(matrix.neighbours(10)).containsExactly(pack(20, 2), pack(30, 1));
+        assertThat(matrix.neighbours(30)).containsExactlyInAnyOrder(pack(10, 1), pack(20, 1));
+    }
+
+    @Test
+    void like_ofProductAlreadyLiked_shouldCountOnce() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 10, 10, 100, 100);
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+
+        // when
+        matrix.like(1, 20);
+
+        // then
+        assertThat(matrix.neighbours(10)).containsExactly(pack(20, 1));
+    }
+
+    @Test
+    void unlike_shouldTakePairsBack() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 10, 10, 100, 100);
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+
+        // when
+        matrix.unlike(1, 20);
+
+        // then
+        assertThat(matrix.neighbours(10)).isEmpty();
+        assertThat(matrix.productCount()).isZero();
+        assertThat(matrix.userCount()).isEqualTo(1);
+    }
+
+    @Test
+    void like_shouldPairOnlyWithLatestUserLikes() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 2, 10, 100, 100);
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+        matrix.like(1, 30);
+
+        // when
+        matrix.like(1, 40);
+
+        // then
+        assertThat(matrix.neighbours(40)).containsExactlyInAnyOrder(pack(20, 1), pack(30, 1));
+    }
+
+    @Test
+    void like_shouldPruneRowToHeaviestNeighbours() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(2, 10, 10, 100, 100);
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+        matrix.like(2, 10);
+        matrix.like(2, 20);
+        matrix.like(3, 10);
+        matrix.like(3, 30);
+
+        matrix.like(4, 10);
+        matrix.like(4, 40);
+
+        // when
+        matrix.like(5, 10);
+        matrix.like(5, 50);
+
+        // then
+        assertThat(matrix.neighbours(10)).containsExactly(pack(20, 2), pack(50, 1));
+    }
+
+    @Test
+    void like_shouldDropLeastRecentlyUsedUserBeyondMaxUsers() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 10, 10, 2, 100);
+        matrix.like(1, 10);
+        matrix.like(2, 10);
+        matrix.like(1, 20);
+
+        // when
+        matrix.like(3, 10);
+        matrix.like(2, 30);
+
+        // then
+        assertThat(matrix.userCount()).isEqualTo(2);
+        assertThat(matrix.neighbours(30)).isEmpty();
+        assertThat(matrix.neighbours(20)).containsExactly(pack(10, 1));
+    }
+
+    @Test
+    void like_shouldDropLeastRecentlyUsedRowBeyondMaxProducts() {
+        // given
+        final CooccurrenceMatrix matrix = new CooccurrenceMatrix(10, 10, 10, 100, 2);
+        matrix.like(1, 10);
+        matrix.like(1, 20);
+        matrix.neighbours(10);
+
+        // when
+        matrix.like(2, 30);
+        matrix.like(2, 10);
+
+        // then
+        assertThat(matrix.productCount()).isEqualTo(2);
+        assertThat(matrix.neighbours(20)).isEmpty();
+        assertThat(matrix.neighbours(10)).containsExactlyInAnyOrder(pack(20, 1), pack(30, 1));
+        assertThat(matrix.neighbours(30)).containsExactly(pack(10, 1));
+    }
+
+    private static long pack(final int productId, final int count) {
+        return ((long) count << 32) | productId;
+    }
+
+}
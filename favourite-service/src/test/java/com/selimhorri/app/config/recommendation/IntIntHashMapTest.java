@@ -0,0 +1,89 @@
+package com.selimhorri.app.config.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class IntIntHashMapTest {
+
+    @Test
+    void addTo_shouldAccumulateValues() {
+        // given
+        final IntIntHashMap map = new IntIntHashMap(4);
+
+        // when
+        map.addTo(7, 2);
+        final int value = map.addTo(7, 3);
+
+        // then
+        assertThat(value).isEqualTo(5);
+        assertThat(map.get(7)).isEqualTo(5);
+        assertThat(map.get(8)).isZero();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addTo_shouldRemoveEntryWhoseValueDropsToZero() {
+        // given
+        final IntIntHashMap map = new IntIntHashMap(4);
+        map.addTo(7, 2);
+
+        // when
+        map.addTo(7, -2);
+
+        // then
+        assertThat(map.size()).isZero();
+        assertThat(map.get(7)).isZero();
+    }
+
+    @Test
+    void addTo_shouldRejectKeyZero() {
+        assertThatThrownBy(() -> new IntIntHashMap(4).addTo(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void remove_shouldKeepCollidingKeysReachable() {
+        // given
+        final IntIntHashMap map = new IntIntHashMap(4);
+        for (int key = 1; key <= 10_000; key++)
+            map.addTo(key, key);
+
+        // when
+        for (int key = 1; key <= 10_000; key += 2)
+            map.remove(key);
+
+        // then
+        assertThat(map.size()).isEqualTo(5_000);
+        for (int key = 1; key <= 10_000; key++)
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key : 0);
+    }
+
+    @Test
+    void forEach_shouldVisitEveryEntry() {
+        // given
+        final IntIntHashMap map = new IntIntHashMap(4);
+        map.addTo(1, 10);
+        map.addTo(-5, 20);
+        map.addTo(Integer.MAX_VALUE, 30);
+        final Map<Integer, Integer> visited = new HashMap<>();
+
+        // when
+        map.forEach(visited::put);
+
+        // then
+        assertThat(visited).containsOnly(Map.entry(1, 10), Map.entry(-5, 20), Map.entry(Integer.MAX_VALUE, 30));
+    }
+
+    @Test
+    void capacityFor_shouldBePowerOfTwoWithRoomForExpectedSize() {
+        assertThat(IntIntHashMap.capacityFor(1)).isEqualTo(4);
+        assertThat(IntIntHashMap.capacityFor(12)).isEqualTo(16);
+        assertThat(IntIntHashMap.capacityFor(13)).isEqualTo(32);
+    }
+
+}
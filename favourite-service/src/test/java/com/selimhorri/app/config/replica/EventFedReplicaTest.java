@@ -0,0 +1,135 @@
+package com.selimhorri.app.config.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class EventFedReplicaTest {
+
+    private static final String HOST = "http://OWNER-SERVICE/owner-service";
+    private static final String LISTING = HOST + "/api/entries";
+    private static final String HEAD = HOST + "/api/events/head";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private TestReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        this.replica = new TestReplica(this.restTemplate);
+    }
+
+    @Test
+    void synchronize_shouldBootstrapFromEveryListingPage() {
+        // given
+        this.givenSnapshotAtHead(5L);
+
+        // when
+        this.replica.synchronize();
+
+        // then
+        assertThat(this.replica.isReady()).isTrue();
+        assertThat(this.replica.size()).isEqualTo(3);
+        assertThat(this.replica.findById(3)).contains("gamma");
+        assertThat(this.replica.findAllByIds(List.of(1, 2, 42))).containsOnlyKeys(1, 2);
+    }
+
+    @Test
+    void synchronize_shouldApplyEventsAfterTheHeadAndTolerateRepeats() {
+        // given
+        this.givenSnapshotAtHead(5L);
+        when(this.restTemplate.getForObject(HOST + "/api/events?after=5&limit=2", JsonNode.class))
+                .thenReturn(json("{'collection': ["
+                        + "{'sequence': 6, 'eventType': 'EntryUpdated', 'aggregateId': 3, 'payload': {'id': 3, 'title': 'gamma'}}, "
+                        + "{'sequence': 7, 'eventType': 'EntryUpdated', 'aggregateId': 1, 'payload': {'id': 1, 'title': 'alpha2'}}], "
+                        + "'nextCursor': '7'}"));
+        when(this.restTemplate.getForObject(HOST + "/api/events?after=7&limit=2", JsonNode.class))
+                .thenReturn(json("{'collection': ["
+                        + "{'sequence': 8, 'eventType': 'EntryDeleted', 'aggregateId': 2}, "
+                        + "{'sequence': 9, 'eventType': 'EntryDeleted', 'aggregateId': 2}]}"));
+        this.replica.synchronize();
+
+        // when
+        this.replica.synchronize();
+
+        // then
+        assertThat(this.replica.size()).isEqualTo(2);
+        assertThat(this.replica.findById(1)).contains("alpha2");
+        assertThat(this.replica.findById(2)).isEmpty();
+        assertThat(this.replica.findById(3)).contains("gamma");
+    }
+
+    @Test
+    void synchronize_shouldReloadWhenTheEventSequenceHasAGap() {
+        // given
+        when(this.restTemplate.getForObject(HEAD, Long.class)).thenReturn(5L, 12L);
+        when(this.restTemplate.getForObject(LISTING + "?limit=2", JsonNode.class))
+                .thenReturn(json("{'collection': [{'id': 1, 'title': 'alpha'}]}"),
+                        json("{'collection': [{'id': 4, 'title': 'delta'}]}"));
+        when(this.restTemplate.getForObject(HOST + "/api/events?after=5&limit=2", JsonNode.class))
+                .thenReturn(json("{'collection': ["
+                        + "{'sequence': 9, 'eventType': 'EntryUpdated', 'aggregateId': 1, 'payload': {'id': 1, 'title': 'late'}}]}"));
+        this.replica.synchronize();
+
+        // when
+        this.replica.synchronize();
+
+        // then
+        verify(this.restTemplate, times(2)).getForObject(HEAD, Long.class);
+        assertThat(this.replica.size()).isEqualTo(1);
+        assertThat(this.replica.findById(1)).isEmpty();
+        assertThat(this.replica.findById(4)).contains("delta");
+    }
+
+    private void givenSnapshotAtHead(final long head) {
+        when(this.restTemplate.getForObject(HEAD, Long.class)).thenReturn(head);
+        when(this.restTemplate.getForObject(LISTING + "?limit=2", JsonNode.class))
+                .thenReturn(json("{'collection': [{'id': 1, 'title': 'alpha'}, {'id': 2, 'title': 'beta'}], "
+                        + "'nextCursor': '2'}"));
+        when(this.restTemplate.getForObject(LISTING + "?limit=2&after=2", JsonNode.class))
+                .thenReturn(json("{'collection': [{'id': 3, 'title': 'gamma'}]}"));
+    }
+
+    private static JsonNode json(final String body) {
+        try {
+            return MAPPER.readTree(body.replace('\'', '"'));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static class Entry {
+
+        public Integer id;
+        public String title;
+
+    }
+
+    private static final class TestReplica extends EventFedReplica<Entry, String> {
+
+        TestReplica(final RestTemplate restTemplate) {
+            super("test", restTemplate, MAPPER, HOST, LISTING, "EntryDeleted",
+                    Entry.class, entry -> entry.id, entry -> entry.title, 2);
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.selimhorri.app.config.replica;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaSynchronizerTest {
+
+    @Mock
+    private EventFedReplica<?, ?> userReplica;
+
+    @Mock
+    private EventFedReplica<?, ?> productReplica;
+
+    private ReplicaSynchronizer synchronizer;
+
+    @AfterEach
+    void tearDown() {
+        if (this.synchronizer != null)
+            this.synchronizer.stop();
+    }
+
+    @Test
+    void start_shouldKeepSynchronizingOtherReplicasWhenOneOwnerIsDown() {
+        // given
+        when(this.userReplica.getName()).thenReturn("user");
+        when(this.productReplica.getName()).thenReturn("product");
+        doThrow(new ResourceAccessException("user-service is down")).when(this.userReplica).synchronize();
+        this.synchronizer = new ReplicaSynchronizer(List.of(this.userReplica, this.productReplica),
+                new SimpleMeterRegistry(), Duration.ofHours(1));
+
+        // when
+        this.synchronizer.start();
+
+        // then
+        verify(this.userReplica, timeout(1_000)).synchronize();
+        verify(this.productReplica, timeout(1_000)).synchronize();
+    }
+
+}
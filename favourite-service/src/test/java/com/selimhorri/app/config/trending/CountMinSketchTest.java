@@ -0,0 +1,82 @@
+package com.selimhorri.app.config.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 256;
+
+    @Test
+    void estimate_shouldStayWithinErrorBound() {
+        // given
+        final CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        final long[] counts = new long[2_000];
+        final Random random = new Random(42);
+        long total = 0;
+        for (int i = 0; i < 50_000; i++) {
+            // skewed towards low keys, like favourites of a few popular products
+            final int key = (int) (counts.length * Math.pow(random.nextDouble(), 3));
+            sketch.add(key, 1L);
+            counts[key]++;
+            total++;
+        }
+
+        // when
+        final long bound = 2 * total / WIDTH;
+        int withinBound = 0;
+        for (int key = 0; key < counts.length; key++) {
+            final long estimate = sketch.estimate(key);
+            assertThat(estimate).isGreaterThanOrEqualTo(counts[key]);
+            if (estimate - counts[key] <= bound)
+                withinBound++;
+        }
+
+        // then
+        assertThat((double) withinBound / counts.length).isGreaterThanOrEqualTo(1.0 - Math.pow(2, -DEPTH));
+    }
+
+    @Test
+    void add_withNegativeDelta_shouldTakeCountsBack() {
+        // given
+        final CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        sketch.add(7, 3L);
+
+        // when
+        sketch.add(7, -3L);
+
+        // then
+        assertThat(sketch.estimate(7)).isZero();
+    }
+
+    @Test
+    void add_ofSketch_shouldAddAndSubtractCellByCell() {
+        // given
+        final CountMinSketch total = new CountMinSketch(DEPTH, WIDTH);
+        final CountMinSketch bucket = new CountMinSketch(DEPTH, WIDTH);
+        bucket.add(1, 4L);
+        bucket.add(2, 1L);
+
+        // when
+        total.add(bucket, 1);
+        final long added = total.estimate(1);
+        total.add(bucket, -1);
+
+        // then
+        assertThat(added).isEqualTo(4L);
+        assertThat(total.estimate(1)).isZero();
+        assertThat(total.estimate(2)).isZero();
+    }
+
+    @Test
+    void constructor_shouldRejectWidthThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new CountMinSketch(DEPTH, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
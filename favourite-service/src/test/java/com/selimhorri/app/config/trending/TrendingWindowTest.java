@@ -0,0 +1,109 @@
+package com.selimhorri.app.config.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class TrendingWindowTest {
+
+    private static final Duration SPAN = Duration.ofSeconds(3);
+    private static final Duration BUCKET = Duration.ofSeconds(1);
+
+    @Test
+    void top_shouldReturnHeaviestProductsFirst() {
+        // given
+        final TrendingWindow window = this.newWindow(10, 0L);
+        window.add(1, 0L, 2L, 0L);
+        window.add(2, 0L, 5L, 0L);
+        window.add(3, 0L, 1L, 0L);
+
+        // when
+        final List<Map.Entry<Integer, Long>> top = window.top(2, 0L);
+
+        // then
+        assertThat(top).containsExactly(Map.entry(2, 5L), Map.entry(1, 2L));
+    }
+
+    @Test
+    void top_shouldDropBucketsThatLeftTheWindow() {
+        // given
+        final TrendingWindow window = this.newWindow(10, 0L);
+        window.add(1, 0L, 5L, 0L);
+        window.add(2, 2_000L, 1L, 2_000L);
+
+        // when
+        final List<Map.Entry<Integer, Long>> beforeSlide = window.top(10, 2_500L);
+        final List<Map.Entry<Integer, Long>> afterSlide = window.top(10, 3_500L);
+        final List<Map.Entry<Integer, Long>> afterSpan = window.top(10, 60_000L);
+
+        // then
+        assertThat(beforeSlide).containsExactly(Map.entry(1, 5L), Map.entry(2, 1L));
+        assertThat(afterSlide).containsExactly(Map.entry(2, 1L));
+        assertThat(afterSpan).isEmpty();
+    }
+
+    @Test
+    void add_shouldIgnoreFavouritesOlderThanWindow() {
+        // given
+        final TrendingWindow window = this.newWindow(10, 10_000L);
+
+        // when
+        window.add(1, 5_000L, 1L, 10_000L);
+
+        // then
+        assertThat(window.top(10, 10_000L)).isEmpty();
+    }
+
+    @Test
+    void add_withUnlike_shouldRemoveProductFromCandidates() {
+        // given
+        final TrendingWindow window = this.newWindow(10, 0L);
+        window.add(1, 0L, 1L, 0L);
+
+        // when
+        window.add(1, 0L, -1L, 0L);
+
+        // then
+        assertThat(window.top(10, 0L)).isEmpty();
+    }
+
+    @Test
+    void top_shouldKeepAtMostCapacityCandidates() {
+        // given
+        final TrendingWindow window = this.newWindow(2, 0L);
+        window.add(1, 0L, 3L, 0L);
+        window.add(2, 0L, 2L, 0L);
+
+        // when
+        window.add(3, 0L, 1L, 0L);
+        window.add(4, 0L, 4L, 0L);
+
+        // then
+        assertThat(window.top(10, 0L)).containsExactly(Map.entry(4, 4L), Map.entry(1, 3L));
+    }
+
+    @Test
+    void top_shouldBringBackProductCrowdedOutByExpiredLikes() {
+        // given
+        final TrendingWindow window = this.newWindow(1, 0L);
+        window.add(1, 0L, 3L, 0L);
+        window.add(2, 1_000L, 1L, 1_000L);
+        final List<Map.Entry<Integer, Long>> crowded = window.top(1, 1_000L);
+
+        // when
+        final List<Map.Entry<Integer, Long>> top = window.top(1, 3_000L);
+
+        // then
+        assertThat(crowded).containsExactly(Map.entry(1, 3L));
+        assertThat(top).containsExactly(Map.entry(2, 1L));
+    }
+
+    private TrendingWindow newWindow(final int capacity, final long nowMillis) {
+        return new TrendingWindow(SPAN, BUCKET, 4, 256, capacity, nowMillis);
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.selimhorri.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import com.selimhorri.app.config.favourite.FavouriteFilter;
+import com.selimhorri.app.config.favourite.FavouriteWriteBehind;
+import com.selimhorri.app.config.recommendation.ProductRecommender;
+import com.selimhorri.app.config.replica.ProductReplica;
+import com.selimhorri.app.config.replica.UserReplica;
+import com.selimhorri.app.config.trending.TrendingFavourites;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.impl.FavouriteServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class FavouriteServiceTest {
+
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private FavouriteRepository favouriteRepository;
+
+    @Mock
+    private UserReplica userReplica;
+
+    @Mock
+    private ProductReplica productReplica;
+
+    @Mock
+    private FavouriteWriteBehind favouriteWriteBehind;
+
+    @Mock
+    private FavouriteFilter favouriteFilter;
+
+    @Mock
+    private TrendingFavourites trendingFavourites;
+
+    @Mock
+    private ProductRecommender productRecommender;
+
+    @InjectMocks
+    private FavouriteServiceImpl favouriteService;
+
+    private FavouriteId favouriteId;
+    private FavouriteDto favouriteDto;
+
+    @BeforeEach
+    void setUp() {
+        this.favouriteId = new FavouriteId(1, 10, LIKE_DATE);
+        this.favouriteDto = FavouriteDto.builder()
+                .userId(1)
+                .productId(10)
+                .likeDate(LIKE_DATE)
+                .build();
+    }
+
+    @Test
+    void save_ofNewFavourite_shouldCountLikeWithoutQuery() {
+        // given
+        when(this.favouriteWriteBehind.isEnabled()).thenReturn(true);
+        when(this.favouriteWriteBehind.like(eq(this.favouriteId), any())).thenAnswer(askStored(true));
+        when(this.favouriteFilter.mightContain(1, 10)).thenReturn(false);
+
+        // when
+        FavouriteDto saved = this.favouriteService.save(this.favouriteDto);
+
+        // then
+        assertThat(saved.getProductId()).isEqualTo(10);
+        verify(this.favouriteRepository, never()).existsById(any());
+        verify(this.favouriteFilter).add(1, 10);
+        verify(this.trendingFavourites).recordLike(10, LIKE_DATE);
+        verify(this.productRecommender).recordLike(1, 10);
+    }
+
+    @Test
+    void save_ofFavouriteAlreadyLiked_shouldNotCountLikeAgain() {
+        // given
+        when(this.favouriteWriteBehind.isEnabled()).thenReturn(true);
+        when(this.favouriteWriteBehind.like(eq(this.favouriteId), any())).thenAnswer(askStored(true));
+        when(this.favouriteFilter.mightContain(1, 10)).thenReturn(true);
+        when(this.favouriteRepository.existsById(this.favouriteId)).thenReturn(true);
+
+        // when
+        this.favouriteService.save(this.favouriteDto);
+
+        // then
+        verify(this.trendingFavourites, never()).recordLike(anyInt(), any());
+        verify(this.productRecommender, never()).recordLike(anyInt(), anyInt());
+    }
+
+    @Test
+    void update_whenBufferReportsNewLike_shouldCountLike() {
+        // given
+        when(this.favouriteWriteBehind.isEnabled()).thenReturn(true);
+        when(this.favouriteWriteBehind.like(eq(this.favouriteId), any())).thenReturn(true);
+
+        // when
+        this.favouriteService.update(this.favouriteDto);
+
+        // then
+        verify(this.favouriteFilter).add(1, 10);
+        verify(this.trendingFavourites).recordLike(10, LIKE_DATE);
+        verify(this.productRecommender).recordLike(1, 10);
+    }
+
+    @Test
+    void deleteById_ofFavouriteNotLiked_shouldNotCountUnlike() {
+        // given
+        when(this.favouriteWriteBehind.isEnabled()).thenReturn(true);
+        when(this.favouriteWriteBehind.unlike(eq(this.favouriteId), any())).thenAnswer(askStored(false));
+        when(this.favouriteFilter.mightContain(1, 10)).thenReturn(false);
+
+        // when
+        this.favouriteService.deleteById(this.favouriteId);
+
+        // then
+        verify(this.favouriteRepository, never()).existsById(any());
+        verify(this.trendingFavourites, never()).recordUnlike(anyInt(), any());
+        verify(this.productRecommender, never()).recordUnlike(anyInt(), anyInt());
+    }
+
+    @Test
+    void check_shouldQueryOnlyProductsTheFilterMightContain() {
+        // given
+        when(this.favouriteFilter.mightContain(1, 10)).thenReturn(true);
+        when(this.favouriteFilter.mightContain(1, 20)).thenReturn(false);
+        when(this.favouriteFilter.mightContain(1, 30)).thenReturn(true);
+        when(this.favouriteRepository.findLikedProductIds(1, List.of(10, 30))).thenReturn(List.of(10));
+        when(this.favouriteWriteBehind.findPendingByUserId(1)).thenReturn(Map.of(
+                new FavouriteId(1, 20, LIKE_DATE), true,
+                new FavouriteId(1, 40, LIKE_DATE), true));
+
+        // when
+        Map<Integer, Boolean> liked = this.favouriteService.check(1, List.of(10, 20, 30));
+
+        // then
+        assertThat(liked).containsExactly(Map.entry(10, true), Map.entry(20, true), Map.entry(30, false));
+    }
+
+    @Test
+    void check_whenFilterRulesOutEveryProduct_shouldNotQueryDatabase() {
+        // given
+        when(this.favouriteFilter.mightContain(eq(1), anyInt())).thenReturn(false);
+        when(this.favouriteWriteBehind.findPendingByUserId(1)).thenReturn(Map.of());
+
+        // when
+        Map<Integer, Boolean> liked = this.favouriteService.check(1, List.of(10, 20));
+
+        // then
+        assertThat(liked).containsExactly(Map.entry(10, false), Map.entry(20, false));
+        verify(this.favouriteRepository, never()).findLikedProductIds(any(), any());
+    }
+
+    /**
+     * Answers a like ({@code liked}) or unlike as the buffer does with nothing
+     * pending: the favourite changed when its stored state differs.
+     */
+    private static Answer<Boolean> askStored(final boolean liked) {
+        return invocation -> ((BooleanSupplier) invocation.getArgument(1)).getAsBoolean() != liked;
+    }
+
+}
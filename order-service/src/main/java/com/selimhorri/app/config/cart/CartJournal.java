@@ -0,0 +1,229 @@
+package com.selimhorri.app.config.cart;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of cart changes that have not reached the database yet,
+ * split into numbered segment files under {@code app.cart.journal.directory}.
+ * The directory has no default: it must survive restarts of the service,
+ * which a temporary directory inside a container does not.
+ * <p>
+ * Records are fixed-size and checksummed. Each one carries an absolute
+ * quantity rather than a delta, so replaying a change that was already
+ * flushed is harmless. A record cut short by a crash fails its checksum and
+ * ends the replay of its segment. Appends reach the operating system before
+ * the change is acknowledged; {@link #sync()} forces them to disk.
+ */
+@Component
+@Slf4j
+public class CartJournal {
+	
+	public static final byte SET = 1;
+	public static final byte CLEAR = 2;
+	
+	private static final int PAYLOAD_SIZE = 1 + 3 * Integer.BYTES;
+	private static final int RECORD_SIZE = PAYLOAD_SIZE + Integer.BYTES;
+	private static final Pattern SEGMENT_NAME = Pattern.compile("cart-journal-(\\d+)\\.log");
+	
+	private final Path directory;
+	private final long segmentSize;
+	private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+	private final CRC32 checksum = new CRC32();
+	private FileChannel channel;
+	private long segment = -1L;
+	private long written;
+	
+	public CartJournal(
+			@Value("${app.cart.journal.directory:}") final String directory, 
+			@Value("${app.cart.journal.segment-size:16MB}") final DataSize segmentSize) {
+		if (directory.isBlank())
+			throw new IllegalStateException("app.cart.journal.directory must name a persistent directory");
+		this.directory = Paths.get(directory);
+		this.segmentSize = segmentSize.toBytes();
+	}
+	
+	@FunctionalInterface
+	public interface RecordHandler {
+		
+		void apply(final long segment, final byte type, final int cartId, final int productId, final int quantity);
+		
+	}
+	
+	/**
+	 * Feeds every intact record of the existing segments to the handler, oldest
+	 * first. Must run before {@link #open()}.
+	 */
+	public synchronized long replay(final RecordHandler handler) {
+		if (this.channel != null)
+			throw new IllegalStateException("Cart journal is already open");
+		long replayed = 0;
+		for (final long number : this.segments()) {
+			final ByteBuffer records;
+			try {
+				records = ByteBuffer.wrap(Files.readAllBytes(this.segmentPath(number)));
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			while (records.hasRemaining()) {
+				if (records.remaining() < RECORD_SIZE || !this.intact(records.array(), records.position())) {
+					log.warn("*** cart journal segment {} ends in a torn record, ignoring the rest *", number);
+					break;
+				}
+				handler.apply(number, records.get(), records.getInt(), records.getInt(), records.getInt());
+				records.getInt(); // checksum, verified above
+				replayed++;
+			}
+		}
+		return replayed;
+	}
+	
+	/**
+	 * Starts a new segment after the existing ones; appends go there from now
+	 * on.
+	 */
+	public synchronized void open() {
+		final List<Long> existing = this.segments();
+		this.roll(existing.isEmpty() ? 0L : existing.get(existing.size() - 1) + 1);
+	}
+	
+	/**
+	 * Appends one record and returns the segment it went to.
+	 */
+	public synchronized long append(final byte type, final int cartId, final int productId, final int quantity) {
+		if (this.channel == null)
+			throw new IllegalStateException("Cart journal is not open");
+		if (this.written >= this.segmentSize)
+			this.roll(this.segment + 1);
+		this.buffer.clear();
+		this.buffer.put(type).putInt(cartId).putInt(productId).putInt(quantity);
+		this.checksum.reset();
+		this.checksum.update(this.buffer.array(), 0, PAYLOAD_SIZE);
+		this.buffer.putInt((int) this.checksum.getValue());
+		this.buffer.flip();
+		try {
+			while (this.buffer.hasRemaining())
+				this.channel.write(this.buffer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.written += RECORD_SIZE;
+		return this.segment;
+	}
+	
+	public synchronized long currentSegment() {
+		return this.segment;
+	}
+	
+	public synchronized void sync() {
+		if (this.channel == null)
+			return;
+		try {
+			this.channel.force(false);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Deletes the segments numbered below {@code segment}, never the one being
+	 * appended to.
+	 */
+	public synchronized int deleteBefore(final long segment) {
+		int deleted = 0;
+		for (final long number : this.segments()) {
+			if (number >= segment || number >= this.segment)
+				break;
+			try {
+				if (Files.deleteIfExists(this.segmentPath(number)))
+					deleted++;
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return deleted;
+	}
+	
+	public synchronized void close() {
+		if (this.channel == null)
+			return;
+		try {
+			this.channel.force(false);
+			this.channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			this.channel = null;
+		}
+	}
+	
+	private void roll(final long next) {
+		try {
+			if (this.channel != null) {
+				this.channel.force(false);
+				this.channel.close();
+			}
+			Files.createDirectories(this.directory);
+			this.channel = FileChannel.open(this.segmentPath(next), 
+					StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			this.segment = next;
+			this.written = 0;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private boolean intact(final byte[] records, final int offset) {
+		this.checksum.reset();
+		this.checksum.update(records, offset, PAYLOAD_SIZE);
+		return ByteBuffer.wrap(records, offset + PAYLOAD_SIZE, Integer.BYTES).getInt() == (int) this.checksum.getValue();
+	}
+	
+	private List<Long> segments() {
+		if (!Files.isDirectory(this.directory))
+			return List.of();
+		try (final Stream<Path> files = Files.list(this.directory)) {
+			return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+					.filter(Matcher::matches)
+					.map(matcher -> Long.parseLong(matcher.group(1)))
+					.sorted()
+					.collect(Collectors.toUnmodifiableList());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private Path segmentPath(final long number) {
+		return this.directory.resolve(String.format("cart-journal-%012d.log", number));
+	}
+	
+	
+	
+}
+
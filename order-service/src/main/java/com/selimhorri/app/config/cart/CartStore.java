@@ -0,0 +1,430 @@
+package com.selimhorri.app.config.cart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.repository.CartItemRepository;
+import com.selimhorri.app.repository.CartRepository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds cart line items in memory and lets the database catch up behind them.
+ * <p>
+ * Carts are spread over {@code app.cart.shards} shards, each with its own
+ * lock, so changes to different carts rarely wait on each other. A cart is
+ * loaded from the database on first use, with its shard's lock released for
+ * the duration of the read. Every change is journaled before it
+ * is applied and marks the cart dirty; {@link CartWriteBehind} writes dirty
+ * carts out in batches and reports back through {@link #markFlushed}.
+ * <p>
+ * Each cart counts its changes. A flush only marks the cart clean if no
+ * change landed after its snapshot was taken.
+ */
+@Component
+@Slf4j
+public class CartStore {
+	
+	private final CartRepository cartRepository;
+	private final CartItemRepository cartItemRepository;
+	private final CartJournal journal;
+	private final Shard[] shards;
+	private final int backlogThreshold;
+	private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+	private volatile Runnable backlogListener = () -> {};
+	
+	public CartStore(
+			final CartRepository cartRepository, 
+			final CartItemRepository cartItemRepository, 
+			final CartJournal journal, 
+			@Value("${app.cart.shards:64}") final int shards, 
+			@Value("${app.cart.flush-batch-size:200}") final int backlogThreshold) {
+		this.cartRepository = cartRepository;
+		this.cartItemRepository = cartItemRepository;
+		this.journal = journal;
+		this.shards = new Shard[Integer.highestOneBit(Math.max(1, shards - 1)) << 1];
+		for (int i = 0; i < this.shards.length; i++)
+			this.shards[i] = new Shard();
+		this.backlogThreshold = backlogThreshold;
+	}
+	
+	/**
+	 * Called whenever a change leaves at least {@code app.cart.flush-batch-size}
+	 * carts dirty.
+	 */
+	public void onBacklog(final Runnable listener) {
+		this.backlogListener = listener;
+	}
+	
+	public List<CartItemDto> findItems(final Integer cartId) {
+		final Shard shard = this.shardOf(cartId);
+		shard.lock.lock();
+		try {
+			return this.items(this.load(shard, cartId));
+		}
+		finally {
+			shard.lock.unlock();
+		}
+	}
+	
+	public List<CartItemDto> add(final Integer cartId, final Integer productId, final int quantity) {
+		return this.change(cartId, cart -> this.set(cart, productId, 
+				Math.addExact(cart.items.getOrDefault(productId, 0), quantity)));
+	}
+	
+	public List<CartItemDto> set(final Integer cartId, final Integer productId, final int quantity) {
+		return this.change(cartId, cart -> this.set(cart, productId, quantity));
+	}
+	
+	public List<CartItemDto> remove(final Integer cartId, final Integer productId) {
+		return this.change(cartId, cart -> this.set(cart, productId, 0));
+	}
+	
+	public List<CartItemDto> clear(final Integer cartId) {
+		return this.change(cartId, cart -> {
+			final long segment = this.journal.append(CartJournal.CLEAR, cart.cartId, 0, 0);
+			cart.items.clear();
+			this.markDirty(cart, segment);
+		});
+	}
+	
+	/**
+	 * Forgets a cart without flushing it, for carts deleted from the database.
+	 */
+	public void evict(final Integer cartId) {
+		final Shard shard = this.shardOf(cartId);
+		shard.lock.lock();
+		try {
+			if (shard.carts.remove(cartId) != null)
+				shard.removals++;
+			this.dirty.remove(cartId);
+		}
+		finally {
+			shard.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Drops clean carts nobody touched for {@code idleTimeout}; they are loaded
+	 * again on next use.
+	 */
+	public int evictIdle(final Duration idleTimeout) {
+		final long cutoff = System.nanoTime() - idleTimeout.toNanos();
+		int evicted = 0;
+		for (final Shard shard : this.shards) {
+			shard.lock.lock();
+			try {
+				final Iterator<CartState> carts = shard.carts.values().iterator();
+				while (carts.hasNext()) {
+					final CartState cart = carts.next();
+					if (cart.dirtySince < 0 && cart.lastAccess - cutoff < 0) {
+						carts.remove();
+						shard.removals++;
+						evicted++;
+					}
+				}
+			}
+			finally {
+				shard.lock.unlock();
+			}
+		}
+		return evicted;
+	}
+	
+	/**
+	 * Copies up to {@code max} dirty carts for flushing.
+	 */
+	public List<Snapshot> snapshotDirty(final int max) {
+		final List<Snapshot> snapshots = new ArrayList<>(Math.min(max, this.dirty.size()));
+		for (final Integer cartId : this.dirty) {
+			if (snapshots.size() >= max)
+				break;
+			this.snapshot(cartId).ifPresent(snapshots::add);
+		}
+		return snapshots;
+	}
+	
+	/**
+	 * Copies one cart for flushing, if it is loaded and dirty.
+	 */
+	public Optional<Snapshot> snapshot(final Integer cartId) {
+		final Shard shard = this.shardOf(cartId);
+		shard.lock.lock();
+		try {
+			final CartState cart = shard.carts.get(cartId);
+			if (cart == null || cart.dirtySince < 0)
+				return Optional.empty();
+			return Optional.of(new Snapshot(cartId, cart.version, this.journal.currentSegment(), 
+					Map.copyOf(cart.items)));
+		}
+		finally {
+			shard.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Records that a snapshot reached the database. The cart stays dirty if it
+	 * changed after the snapshot was taken; its later changes all went to the
+	 * snapshot's journal segment or a newer one.
+	 */
+	public void markFlushed(final Snapshot snapshot) {
+		final Shard shard = this.shardOf(snapshot.getCartId());
+		shard.lock.lock();
+		try {
+			final CartState cart = shard.carts.get(snapshot.getCartId());
+			if (cart == null || snapshot.getVersion() <= cart.flushedVersion)
+				return;
+			cart.flushedVersion = snapshot.getVersion();
+			if (cart.version == snapshot.getVersion()) {
+				cart.dirtySince = -1L;
+				this.dirty.remove(snapshot.getCartId());
+			}
+			else {
+				cart.dirtySince = snapshot.getSegment();
+			}
+		}
+		finally {
+			shard.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Oldest journal segment still holding changes that are not in the
+	 * database, or {@link Long#MAX_VALUE} when every cart is clean.
+	 */
+	public long oldestDirtySegment() {
+		long oldest = Long.MAX_VALUE;
+		for (final Integer cartId : this.dirty) {
+			final Shard shard = this.shardOf(cartId);
+			shard.lock.lock();
+			try {
+				final CartState cart = shard.carts.get(cartId);
+				if (cart != null && cart.dirtySince >= 0)
+					oldest = Math.min(oldest, cart.dirtySince);
+			}
+			finally {
+				shard.lock.unlock();
+			}
+		}
+		return oldest;
+	}
+	
+	public int dirtyCount() {
+		return this.dirty.size();
+	}
+	
+	public int size() {
+		int size = 0;
+		for (final Shard shard : this.shards) {
+			shard.lock.lock();
+			try {
+				size += shard.carts.size();
+			}
+			finally {
+				shard.lock.unlock();
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * Re-applies the journal on top of the database state and opens a new
+	 * segment for further changes. Every replayed cart comes back dirty, since
+	 * there is no telling which of its changes were flushed before the crash.
+	 * Changes to carts that no longer exist are dropped.
+	 */
+	public long recover() {
+		final Set<Integer> missing = new HashSet<>();
+		final long replayed = this.journal.replay((segment, type, cartId, productId, quantity) -> {
+			if (missing.contains(cartId))
+				return;
+			final Shard shard = this.shardOf(cartId);
+			shard.lock.lock();
+			try {
+				final CartState cart = this.loadIfExists(shard, cartId);
+				if (cart == null) {
+					missing.add(cartId);
+					return;
+				}
+				if (type == CartJournal.CLEAR)
+					cart.items.clear();
+				else
+					this.put(cart, productId, quantity);
+				this.markDirty(cart, segment);
+			}
+			finally {
+				shard.lock.unlock();
+			}
+		});
+		this.journal.open();
+		if (replayed > 0)
+			log.info("*** replayed {} cart journal records into {} carts *", replayed, this.dirty.size());
+		return replayed;
+	}
+	
+	private List<CartItemDto> change(final Integer cartId, final Consumer<CartState> change) {
+		final Shard shard = this.shardOf(cartId);
+		final List<CartItemDto> items;
+		shard.lock.lock();
+		try {
+			final CartState cart = this.load(shard, cartId);
+			change.accept(cart);
+			items = this.items(cart);
+		}
+		finally {
+			shard.lock.unlock();
+		}
+		if (this.dirty.size() >= this.backlogThreshold)
+			this.backlogListener.run();
+		return items;
+	}
+	
+	private void set(final CartState cart, final Integer productId, final int quantity) {
+		if (quantity < 0)
+			throw new IllegalStateException("Quantity must not be negative");
+		final long segment = this.journal.append(CartJournal.SET, cart.cartId, productId, quantity);
+		this.put(cart, productId, quantity);
+		this.markDirty(cart, segment);
+	}
+	
+	private void put(final CartState cart, final Integer productId, final int quantity) {
+		if (quantity > 0)
+			cart.items.put(productId, quantity);
+		else
+			cart.items.remove(productId);
+	}
+	
+	private void markDirty(final CartState cart, final long segment) {
+		cart.version++;
+		if (cart.dirtySince < 0)
+			cart.dirtySince = segment;
+		this.dirty.add(cart.cartId);
+	}
+	
+	private CartState load(final Shard shard, final Integer cartId) {
+		final CartState cart = this.loadIfExists(shard, cartId);
+		if (cart == null)
+			throw new CartNotFoundException(String.format("Cart with id: %d not found", cartId));
+		return cart;
+	}
+	
+	/**
+	 * Must be called with the shard's lock held. A cart that is not loaded yet
+	 * is read with the lock released, so other carts of the shard are not
+	 * held up by the query. If a cart of the shard was dropped meanwhile, the
+	 * read may predate that cart's last flush and is repeated.
+	 */
+	private CartState loadIfExists(final Shard shard, final Integer cartId) {
+		CartState cart = shard.carts.get(cartId);
+		while (cart == null) {
+			final long removals = shard.removals;
+			final Map<Integer, Integer> stored;
+			shard.lock.unlock();
+			try {
+				stored = this.readStored(cartId);
+			}
+			finally {
+				shard.lock.lock();
+			}
+			cart = shard.carts.get(cartId);
+			if (cart == null && shard.removals == removals) {
+				if (stored == null)
+					return null;
+				cart = new CartState(cartId);
+				cart.items.putAll(stored);
+				shard.carts.put(cartId, cart);
+			}
+		}
+		cart.lastAccess = System.nanoTime();
+		return cart;
+	}
+	
+	/**
+	 * @return the cart's stored line items, or {@code null} if the cart does not exist
+	 */
+	private Map<Integer, Integer> readStored(final Integer cartId) {
+		if (!this.cartRepository.existsById(cartId))
+			return null;
+		final Map<Integer, Integer> items = new LinkedHashMap<>();
+		for (final CartItem item : this.cartItemRepository.findAllByCartId(cartId))
+			items.put(item.getProductId(), item.getQuantity());
+		return items;
+	}
+	
+	private List<CartItemDto> items(final CartState cart) {
+		return cart.items.entrySet()
+				.stream()
+					.map(item -> CartItemDto.builder()
+							.cartId(cart.cartId)
+							.productId(item.getKey())
+							.quantity(item.getValue())
+							.build())
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Shard shardOf(final Integer cartId) {
+		final int hash = cartId.hashCode() * 0x9E3779B9;
+		return this.shards[(hash ^ (hash >>> 16)) & (this.shards.length - 1)];
+	}
+	
+	private static final class Shard {
+		
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Map<Integer, CartState> carts = new HashMap<>();
+		private long removals;
+		
+	}
+	
+	private static final class CartState {
+		
+		private final Integer cartId;
+		private final Map<Integer, Integer> items = new LinkedHashMap<>();
+		private long version;
+		private long flushedVersion;
+		private long dirtySince = -1L;
+		private long lastAccess;
+		
+		private CartState(final Integer cartId) {
+			this.cartId = cartId;
+		}
+		
+	}
+	
+	/**
+	 * A cart's line items as of one version, taken for flushing.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Snapshot {
+		
+		private final Integer cartId;
+		private final long version;
+		private final long segment;
+		private final Map<Integer, Integer> items;
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,201 @@
+package com.selimhorri.app.config.cart;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.repository.CartItemRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes dirty carts from the {@link CartStore} to the database, every
+ * {@code app.cart.flush-interval} or as soon as {@code app.cart.flush-batch-size}
+ * carts are dirty, whichever comes first. Each batch replaces the stored line
+ * items of its carts in one transaction.
+ * <p>
+ * After a flush the journal is synced and the segments no dirty cart depends
+ * on any more are deleted. On startup the journal left by the last run is
+ * replayed and flushed before any request is served.
+ */
+@Component
+@Slf4j
+public class CartWriteBehind {
+	
+	private final CartStore cartStore;
+	private final CartJournal journal;
+	private final CartItemRepository cartItemRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService scheduler;
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final Duration flushInterval;
+	private final int batchSize;
+	private final Duration idleTimeout;
+	private final Timer flushTimer;
+	private final Counter failures;
+	
+	public CartWriteBehind(
+			final CartStore cartStore, 
+			final CartJournal journal, 
+			final CartItemRepository cartItemRepository, 
+			final EntityManager entityManager, 
+			final PlatformTransactionManager transactionManager, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.cart.flush-interval:1s}") final Duration flushInterval, 
+			@Value("${app.cart.flush-batch-size:200}") final int batchSize, 
+			@Value("${app.cart.idle-timeout:30m}") final Duration idleTimeout) {
+		this.cartStore = cartStore;
+		this.journal = journal;
+		this.cartItemRepository = cartItemRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "cart-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.flushInterval = flushInterval;
+		this.batchSize = batchSize;
+		this.idleTimeout = idleTimeout;
+		this.flushTimer = Timer.builder("cart.store.flush")
+				.description("Time taken to write dirty carts to the database")
+				.register(meterRegistry);
+		this.failures = Counter.builder("cart.store.flush.failures")
+				.description("Cart flushes that could not be written")
+				.register(meterRegistry);
+		Gauge.builder("cart.store.dirty", cartStore, CartStore::dirtyCount)
+				.description("Carts with changes not yet written to the database")
+				.register(meterRegistry);
+		Gauge.builder("cart.store.carts", cartStore, CartStore::size)
+				.description("Carts held in memory")
+				.register(meterRegistry);
+		cartStore.onBacklog(this::requestFlush);
+	}
+	
+	@PostConstruct
+	public void recover() {
+		this.cartStore.recover();
+		this.flush();
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		this.scheduler.scheduleWithFixedDelay(this::flush, this.flushInterval.toMillis(), 
+				this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+		this.flush();
+		this.journal.close();
+	}
+	
+	/**
+	 * Writes every dirty cart, one batch per transaction. A failed batch stays
+	 * dirty and is retried on the next flush.
+	 */
+	public void flush() {
+		this.flushLock.lock();
+		this.flushRequested.set(false);
+		final Timer.Sample sample = Timer.start();
+		try {
+			List<CartStore.Snapshot> snapshots;
+			do {
+				snapshots = this.cartStore.snapshotDirty(this.batchSize);
+				if (snapshots.isEmpty())
+					break;
+				final List<CartStore.Snapshot> batch = snapshots;
+				this.transactionTemplate.executeWithoutResult(status -> this.write(batch));
+				batch.forEach(this.cartStore::markFlushed);
+			} while (snapshots.size() == this.batchSize);
+			this.journal.sync();
+			this.journal.deleteBefore(Math.min(this.cartStore.oldestDirtySegment(), this.journal.currentSegment()));
+			this.cartStore.evictIdle(this.idleTimeout);
+		}
+		catch (RuntimeException e) {
+			this.failures.increment();
+			log.warn("*** could not flush carts: {} *", e.getMessage());
+		}
+		finally {
+			sample.stop(this.flushTimer);
+			this.flushLock.unlock();
+		}
+	}
+	
+	/**
+	 * Writes one cart inside the caller's transaction, so that a checkout reads
+	 * and commits the line items it saw. The cart is only marked clean once
+	 * that transaction commits.
+	 */
+	public void flushCart(final Integer cartId) {
+		this.flushLock.lock();
+		try {
+			this.cartStore.snapshot(cartId).ifPresent(snapshot -> {
+				this.write(List.of(snapshot));
+				if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+					this.cartStore.markFlushed(snapshot);
+					return;
+				}
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						CartWriteBehind.this.cartStore.markFlushed(snapshot);
+					}
+				});
+			});
+		}
+		finally {
+			this.flushLock.unlock();
+		}
+	}
+	
+	private void requestFlush() {
+		if (this.flushRequested.compareAndSet(false, true))
+			this.scheduler.execute(this::flush);
+	}
+	
+	private void write(final List<CartStore.Snapshot> snapshots) {
+		this.cartItemRepository.deleteByCartIds(snapshots.stream()
+				.map(CartStore.Snapshot::getCartId)
+				.collect(Collectors.toUnmodifiableList()));
+		for (final CartStore.Snapshot snapshot : snapshots)
+			for (final Map.Entry<Integer, Integer> item : snapshot.getItems().entrySet())
+				this.entityManager.persist(CartItem.builder()
+						.cartId(snapshot.getCartId())
+						.productId(item.getKey())
+						.quantity(item.getValue())
+						.build());
+		this.entityManager.flush();
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+	
+	/**
+	 * Used unless another {@link EventBroker} bean is defined.
+	 */
+	@Bean
+	@ConditionalOnMissingBean(EventBroker.class)
+	public EventBroker inMemoryEventBroker() {
+		return new InMemoryEventBroker();
+	}
+	
+	
+	
+}
+
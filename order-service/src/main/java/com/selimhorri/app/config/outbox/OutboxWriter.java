@@ -0,0 +1,51 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+/**
+ * Records domain events in the outbox table inside the caller's transaction,
+ * so an event exists if and only if the change it describes was committed.
+ */
+@Component
+public class OutboxWriter {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectWriter payloadWriter;
+	
+	public OutboxWriter(final OutboxEventRepository outboxEventRepository, final ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+	}
+	
+	public void append(final String aggregateType, final Object aggregateId, final String eventType, 
+			final Object payload) {
+		if (!TransactionSynchronizationManager.isActualTransactionActive())
+			throw new IllegalStateException("Outbox events must be written inside the transaction of their change");
+		try {
+			this.outboxEventRepository.save(OutboxEvent.builder()
+					.aggregateType(aggregateType)
+					.aggregateId(String.valueOf(aggregateId))
+					.eventType(eventType)
+					.payload(this.payloadWriter.writeValueAsString(payload))
+					.occurredAt(Instant.now())
+					.build());
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Could not serialize " + eventType + " payload", e);
+		}
+	}
+	
+	
+	
+}
+
@@ -11,6 +11,27 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 1000;
+	public static final String EXPORT_FETCH_SIZE = "500";
+	public static final int EXPORT_FLUSH_INTERVAL = 500;
+	public static final String ID_GENERATOR_TABLE = "id_generators";
+	public static final int ID_ALLOCATION_SIZE = 50;
+	public static final int JDBC_BATCH_SIZE = 50;
+	public static final int MAX_BATCH_ROWS = 10_000;
+	public static final String OUTBOX_TABLE = "order_outbox";
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Events {
+		
+		public static final String ORDER = "Order";
+		public static final String ORDER_CREATED = "OrderCreated";
+		public static final String ORDER_UPDATED = "OrderUpdated";
+		
+		public static final String USER_DELETED = "UserDeleted";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
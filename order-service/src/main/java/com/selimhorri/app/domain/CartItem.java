@@ -0,0 +1,45 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import com.selimhorri.app.domain.id.CartItemId;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product line of a cart. Rows are written behind the in-memory cart store,
+ * so they may lag the live cart by up to one flush interval.
+ */
+@Entity
+@Table(name = "cart_items")
+@IdClass(CartItemId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class CartItem implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "cart_id", nullable = false, updatable = false)
+	private Integer cartId;
+	
+	@Id
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "quantity", nullable = false)
+	private Integer quantity;
+	
+}
+
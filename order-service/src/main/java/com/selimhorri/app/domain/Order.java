@@ -12,6 +12,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -41,7 +42,10 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id_generator")
+	@TableGenerator(name = "orders_id_generator", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "orders", 
+			allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
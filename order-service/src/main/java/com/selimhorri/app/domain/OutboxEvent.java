@@ -0,0 +1,65 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A domain event recorded in the same transaction as the state change it
+ * describes, waiting for the relay to hand it to the broker.
+ */
+@Entity
+@Table(name = AppConstant.OUTBOX_TABLE)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OutboxEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_id_generator")
+	@TableGenerator(name = "outbox_id_generator", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = AppConstant.OUTBOX_TABLE, 
+			allocationSize = AppConstant.ID_ALLOCATION_SIZE)
+	@Column(name = "event_id", unique = true, nullable = false, updatable = false)
+	private Long eventId;
+	
+	@Column(name = "aggregate_type", nullable = false, updatable = false)
+	private String aggregateType;
+	
+	@Column(name = "aggregate_id", nullable = false, updatable = false)
+	private String aggregateId;
+	
+	@Column(name = "event_type", nullable = false, updatable = false)
+	private String eventType;
+	
+	@Column(name = "payload", nullable = false, updatable = false, columnDefinition = "text")
+	private String payload;
+	
+	@Column(name = "occurred_at", nullable = false, updatable = false)
+	private Instant occurredAt;
+	
+	@Column(name = "published_at")
+	private Instant publishedAt;
+	
+	@Column(name = "publish_seq", unique = true)
+	private Long publishSequence;
+	
+}
+
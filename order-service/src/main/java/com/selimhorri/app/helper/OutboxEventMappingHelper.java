@@ -0,0 +1,23 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.dto.DomainEventDto;
+
+public interface OutboxEventMappingHelper {
+	
+	public static DomainEventDto map(final OutboxEvent outboxEvent) {
+		return DomainEventDto.builder()
+				.eventId(outboxEvent.getEventId())
+				.sequence(outboxEvent.getPublishSequence())
+				.aggregateType(outboxEvent.getAggregateType())
+				.aggregateId(outboxEvent.getAggregateId())
+				.eventType(outboxEvent.getEventType())
+				.payload(outboxEvent.getPayload())
+				.occurredAt(outboxEvent.getOccurredAt())
+				.build();
+	}
+	
+	
+	
+}
+
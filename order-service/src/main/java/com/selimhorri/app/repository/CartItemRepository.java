@@ -0,0 +1,25 @@
+package com.selimhorri.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.domain.id.CartItemId;
+
+public interface CartItemRepository extends JpaRepository<CartItem, CartItemId> {
+	
+	List<CartItem> findAllByCartId(final Integer cartId);
+	
+	@Modifying
+	@Query("DELETE FROM CartItem i WHERE i.cartId IN :cartIds")
+	int deleteByCartIds(@Param("cartIds") final Collection<Integer> cartIds);
+	
+	
+	
+}
+
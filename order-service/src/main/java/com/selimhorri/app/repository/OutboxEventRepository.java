@@ -0,0 +1,46 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	
+	/**
+	 * Oldest unpublished events, locked so that relays on other instances wait
+	 * instead of publishing the same batch.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.eventId ASC")
+	List<OutboxEvent> findPending(final Pageable pageable);
+	
+	/**
+	 * Published events in the order the relay published them. Event ids come
+	 * from per-instance id blocks and commit out of order, so the feed pages by
+	 * publish sequence instead.
+	 */
+	List<OutboxEvent> findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(final Long publishSequence, 
+			final Pageable pageable);
+	
+	@Query("SELECT COALESCE(MAX(e.publishSequence), 0) FROM OutboxEvent e")
+	long findLastPublishSequence();
+	
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff AND e.publishSequence < :lastPublishSequence")
+	int deletePublishedBefore(@Param("cutoff") final Instant cutoff, 
+			@Param("lastPublishSequence") final long lastPublishSequence);
+	
+	
+	
+}
+
@@ -0,0 +1,75 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.CartItemService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/carts/{cartId}/items")
+@Slf4j
+@RequiredArgsConstructor
+public class CartItemResource {
+	
+	private final CartItemService cartItemService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> findAll(@PathVariable("cartId") final String cartId) {
+		log.info("*** CartItemDto List, controller; fetch all items of cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.findAll(Integer.parseInt(cartId))));
+	}
+	
+	@PostMapping
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> add(
+			@PathVariable("cartId") final String cartId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CartItemDto cartItemDto) {
+		log.info("*** CartItemDto List, resource; add item to cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.add(Integer.parseInt(cartId), cartItemDto)));
+	}
+	
+	@PutMapping
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> update(
+			@PathVariable("cartId") final String cartId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CartItemDto cartItemDto) {
+		log.info("*** CartItemDto List, resource; update item of cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.update(Integer.parseInt(cartId), cartItemDto)));
+	}
+	
+	@DeleteMapping("/{productId}")
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> deleteById(
+			@PathVariable("cartId") final String cartId, 
+			@PathVariable("productId") final String productId) {
+		log.info("*** CartItemDto List, resource; delete item of cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.deleteById(Integer.parseInt(cartId), 
+				Integer.parseInt(productId))));
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<DtoCollectionResponse<CartItemDto>> deleteAll(@PathVariable("cartId") final String cartId) {
+		log.info("*** CartItemDto List, resource; delete all items of cart *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartItemService.deleteAll(Integer.parseInt(cartId))));
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,57 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OrderService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/owners")
+@Slf4j
+@RequiredArgsConstructor
+public class OwnerResource {
+	
+	private final CartService cartService;
+	private final OrderService orderService;
+	
+	@GetMapping("/carts/{cartId}")
+	public ResponseEntity<Integer> findCartOwner(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId) {
+		log.info("*** Integer, resource; fetch owner of cart *");
+		return ResponseEntity.ok(this.cartService.findOwnerId(Integer.parseInt(cartId)));
+	}
+	
+	@GetMapping("/orders/{orderId}")
+	public ResponseEntity<Integer> findOrderOwner(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String orderId) {
+		log.info("*** Integer, resource; fetch owner of order *");
+		return ResponseEntity.ok(this.orderService.findOwnerId(Integer.parseInt(orderId)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
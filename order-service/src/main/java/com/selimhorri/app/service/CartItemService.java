@@ -0,0 +1,16 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CartItemDto;
+
+public interface CartItemService {
+	
+	List<CartItemDto> findAll(final Integer cartId);
+	List<CartItemDto> add(final Integer cartId, final CartItemDto cartItemDto);
+	List<CartItemDto> update(final Integer cartId, final CartItemDto cartItemDto);
+	List<CartItemDto> deleteById(final Integer cartId, final Integer productId);
+	List<CartItemDto> deleteAll(final Integer cartId);
+	
+}
+
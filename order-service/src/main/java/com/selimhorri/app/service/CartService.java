@@ -7,7 +7,9 @@ import com.selimhorri.app.dto.CartDto;
 public interface CartService {
 	
 	List<CartDto> findAll();
+	List<CartDto> findAll(final Integer after, final int limit);
 	CartDto findById(final Integer cartId);
+	Integer findOwnerId(final Integer cartId);
 	CartDto save(final CartDto cartDto);
 	CartDto update(final CartDto cartDto);
 	CartDto update(final Integer cartId, final CartDto cartDto);
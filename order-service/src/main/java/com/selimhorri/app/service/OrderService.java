@@ -1,5 +1,7 @@
 package com.selimhorri.app.service;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.OrderDto;
@@ -7,10 +9,15 @@ import com.selimhorri.app.dto.OrderDto;
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	List<OrderDto> findAll(final Integer after, final int limit);
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
+	Integer findOwnerId(final Integer orderId);
 	OrderDto save(final OrderDto orderDto);
+	List<OrderDto> saveAll(final List<OrderDto> orderDtos);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
+	long exportAll(final OutputStream outputStream);
 	
 }
@@ -0,0 +1,58 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.cart.CartStore;
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.service.CartItemService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Line items live in the {@link CartStore}; the database copy is written
+ * behind by {@link com.selimhorri.app.config.cart.CartWriteBehind}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CartItemServiceImpl implements CartItemService {
+	
+	private final CartStore cartStore;
+	
+	@Override
+	public List<CartItemDto> findAll(final Integer cartId) {
+		log.info("*** CartItemDto List, service; fetch all items of cart *");
+		return this.cartStore.findItems(cartId);
+	}
+	
+	@Override
+	public List<CartItemDto> add(final Integer cartId, final CartItemDto cartItemDto) {
+		log.info("*** CartItemDto List, service; add item to cart *");
+		return this.cartStore.add(cartId, cartItemDto.getProductId(), cartItemDto.getQuantity());
+	}
+	
+	@Override
+	public List<CartItemDto> update(final Integer cartId, final CartItemDto cartItemDto) {
+		log.info("*** CartItemDto List, service; update item of cart *");
+		return this.cartStore.set(cartId, cartItemDto.getProductId(), cartItemDto.getQuantity());
+	}
+	
+	@Override
+	public List<CartItemDto> deleteById(final Integer cartId, final Integer productId) {
+		log.info("*** CartItemDto List, service; delete item of cart *");
+		return this.cartStore.remove(cartId, productId);
+	}
+	
+	@Override
+	public List<CartItemDto> deleteAll(final Integer cartId) {
+		log.info("*** CartItemDto List, service; delete all items of cart *");
+		return this.cartStore.clear(cartId);
+	}
+	
+	
+	
+}
+
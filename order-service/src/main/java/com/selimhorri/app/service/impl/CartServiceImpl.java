@@ -5,12 +5,13 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.config.cart.CartStore;
+import com.selimhorri.app.config.replica.UserReplica;
+import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
-import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
@@ -26,17 +27,34 @@ import lombok.extern.slf4j.Slf4j;
 public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
-	private final RestTemplate restTemplate;
+	private final UserReplica userReplica;
+	private final CartStore cartStore;
 	
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
-				.stream()
+		return this.enrich(this.cartRepository.findAll());
+	}
+	
+	@Override
+	public List<CartDto> findAll(final Integer after, final int limit) {
+		log.info("*** CartDto List, service; fetch page of carts *");
+		return this.enrich(this.cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit)));
+	}
+	
+	private List<CartDto> enrich(final List<Cart> carts) {
+		final var cartDtos = carts.stream()
 					.map(CartMappingHelper::map)
+					.collect(Collectors.toList());
+		
+		final var userDtos = this.userReplica.findAllByIds(cartDtos.stream()
+				.map(c -> c.getUserDto().getUserId())
+				.collect(Collectors.toSet()));
+		
+		return cartDtos.stream()
 					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+						c.setUserDto(userDtos.getOrDefault(c.getUserDto().getUserId(), c.getUserDto()));
 						return c;
 					})
 					.distinct()
@@ -49,14 +67,20 @@ public class CartServiceImpl implements CartService {
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.userReplica.findById(c.getUserDto().getUserId()).orElse(c.getUserDto()));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
 						.format("Cart with id: %d not found", cartId)));
 	}
 	
+	@Override
+	public Integer findOwnerId(final Integer cartId) {
+		log.info("*** Integer, service; fetch owner of cart by id *");
+		return this.cartRepository.findOwnerId(cartId)
+				.orElseThrow(() -> new CartNotFoundException(String.format("Cart with id: %d not found", cartId)));
+	}
+	
 	@Override
 	public CartDto save(final CartDto cartDto) {
 		log.info("*** CartDto, service; save cart *");
@@ -81,6 +105,7 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public void deleteById(final Integer cartId) {
 		log.info("*** Void, service; delete cart by id *");
+		this.cartStore.evict(cartId);
 		this.cartRepository.deleteById(cartId);
 	}
 	
@@ -1,12 +1,28 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.config.cart.CartWriteBehind;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
@@ -23,6 +39,10 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+	private final OutboxWriter outboxWriter;
+	private final CartWriteBehind cartWriteBehind;
 	
 	@Override
 	public List<OrderDto> findAll() {
@@ -34,6 +54,16 @@ public class OrderServiceImpl implements OrderService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<OrderDto> findAll(final Integer after, final int limit) {
+		log.info("*** OrderDto List, service; fetch page of orders *");
+		return this.orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -43,25 +73,101 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		return this.orderRepository.findAllById(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Integer findOwnerId(final Integer orderId) {
+		log.info("*** Integer, service; fetch owner of order by id *");
+		return this.orderRepository.findOwnerId(orderId)
+				.orElseThrow(() -> new OrderNotFoundException(String.format("Order with id: %d not found", orderId)));
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
+		if (orderDto.getCartDto() != null && orderDto.getCartDto().getCartId() != null)
+			this.cartWriteBehind.flushCart(orderDto.getCartDto().getCartId());
+		final OrderDto saved = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
+		this.outboxWriter.append(AppConstant.Events.ORDER, saved.getOrderId(), AppConstant.Events.ORDER_CREATED, saved);
+		return saved;
+	}
+	
+	@Override
+	public List<OrderDto> saveAll(final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, service; save orders in batch *");
+		final List<OrderDto> saved = new ArrayList<>(orderDtos.size());
+		for (final OrderDto orderDto : orderDtos) {
+			final Order order = OrderMappingHelper.map(orderDto);
+			order.setOrderId(null);
+			this.entityManager.persist(order);
+			final OrderDto savedDto = OrderMappingHelper.map(order);
+			this.outboxWriter.append(AppConstant.Events.ORDER, savedDto.getOrderId(), 
+					AppConstant.Events.ORDER_CREATED, savedDto);
+			saved.add(savedDto);
+			if (saved.size() % AppConstant.JDBC_BATCH_SIZE == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		return saved;
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
+		final OrderDto updated = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
+		this.outboxWriter.append(AppConstant.Events.ORDER, updated.getOrderId(), AppConstant.Events.ORDER_UPDATED, 
+				updated);
+		return updated;
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		return OrderMappingHelper.map(this.orderRepository
+		final OrderDto updated = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(this.findById(orderId))));
+		this.outboxWriter.append(AppConstant.Events.ORDER, updated.getOrderId(), AppConstant.Events.ORDER_UPDATED, 
+				updated);
+		return updated;
+	}
+	
+	@Override
+	public long exportAll(final OutputStream outputStream) {
+		log.info("*** OrderDto Stream, service; export all orders *");
+		final var writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (final Stream<Order> orders = this.orderRepository.streamAll();
+				final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// one record per line: no separator before a value, a newline after each
+			generator.setRootValueSeparator(null);
+			final Iterator<Order> iterator = orders.iterator();
+			while (iterator.hasNext()) {
+				writer.writeValue(generator, OrderMappingHelper.map(iterator.next()));
+				generator.writeRaw('\n');
+				if (++count % AppConstant.EXPORT_FLUSH_INTERVAL == 0) {
+					generator.flush();
+					this.entityManager.clear();
+				}
+			}
+			generator.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		log.info("*** OrderDto Stream, service; exported {} orders *", count);
+		return count;
 	}
 	
 	@Override
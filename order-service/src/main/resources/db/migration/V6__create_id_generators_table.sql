@@ -0,0 +1,12 @@
+
+CREATE TABLE IF NOT EXISTS id_generators (
+	gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	gen_value BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (gen_name, gen_value)
+	SELECT 'carts', COALESCE(MAX(cart_id), 0) + 1 FROM carts;
+
+INSERT INTO id_generators (gen_name, gen_value)
+	SELECT 'orders', COALESCE(MAX(order_id), 0) + 1 FROM orders;
+
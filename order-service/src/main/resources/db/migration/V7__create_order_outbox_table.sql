@@ -0,0 +1,16 @@
+
+CREATE TABLE order_outbox (
+	event_id BIGINT NOT NULL PRIMARY KEY,
+	aggregate_type VARCHAR(255) NOT NULL,
+	aggregate_id VARCHAR(255) NOT NULL,
+	event_type VARCHAR(255) NOT NULL,
+	payload TEXT NOT NULL,
+	occurred_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP NULL,
+	publish_seq BIGINT UNIQUE
+);
+
+CREATE INDEX idx_order_outbox_pending ON order_outbox (published_at, event_id);
+
+INSERT INTO id_generators (gen_name, gen_value) VALUES ('order_outbox', 1);
+
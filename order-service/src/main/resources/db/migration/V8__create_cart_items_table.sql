@@ -0,0 +1,11 @@
+
+CREATE TABLE cart_items (
+	cart_id INT(11) NOT NULL,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	PRIMARY KEY (cart_id, product_id)
+);
+
+ALTER TABLE cart_items
+  ADD CONSTRAINT fk12_assign FOREIGN KEY (cart_id) REFERENCES carts (cart_id) ON DELETE CASCADE;
+
@@ -0,0 +1,210 @@
+package com.selimhorri.app.config.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.domain.CartItem;
+import com.selimhorri.app.dto.CartItemDto;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.repository.CartItemRepository;
+import com.selimhorri.app.repository.CartRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartStoreTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @TempDir
+    Path journalDirectory;
+
+    private CartJournal journal;
+    private CartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        when(this.cartRepository.existsById(anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(0) < 100);
+        when(this.cartItemRepository.findAllByCartId(anyInt())).thenReturn(List.of());
+        this.journal = this.newJournal();
+        this.cartStore = this.newStore(this.journal);
+        this.cartStore.recover();
+    }
+
+    @Test
+    void add_shouldLoadCartAndMarkItDirty() {
+        // given
+        when(this.cartItemRepository.findAllByCartId(1)).thenReturn(List.of(new CartItem(1, 10, 2)));
+
+        // when
+        List<CartItemDto> items = this.cartStore.add(1, 10, 3);
+
+        // then
+        assertThat(items).extracting(CartItemDto::getQuantity).containsExactly(5);
+        assertThat(this.cartStore.dirtyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void add_shouldRejectUnknownCart() {
+        assertThatThrownBy(() -> this.cartStore.add(100, 10, 1))
+                .isInstanceOf(CartNotFoundException.class);
+        assertThat(this.cartStore.dirtyCount()).isZero();
+    }
+
+    @Test
+    void set_withZeroQuantity_shouldRemoveItem() {
+        // given
+        this.cartStore.add(1, 10, 1);
+        this.cartStore.add(1, 11, 1);
+
+        // when
+        List<CartItemDto> items = this.cartStore.set(1, 10, 0);
+
+        // then
+        assertThat(items).extracting(CartItemDto::getProductId).containsExactly(11);
+    }
+
+    @Test
+    void markFlushed_shouldMarkCartClean() {
+        // given
+        this.cartStore.add(1, 10, 1);
+        List<CartStore.Snapshot> snapshots = this.cartStore.snapshotDirty(10);
+
+        // when
+        snapshots.forEach(this.cartStore::markFlushed);
+
+        // then
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.get(0).getItems()).isEqualTo(Map.of(10, 1));
+        assertThat(this.cartStore.dirtyCount()).isZero();
+        assertThat(this.cartStore.oldestDirtySegment()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void markFlushed_afterConcurrentChange_shouldKeepCartDirty() {
+        // given
+        this.cartStore.add(1, 10, 1);
+        CartStore.Snapshot snapshot = this.cartStore.snapshot(1).orElseThrow();
+        this.cartStore.add(1, 10, 1);
+
+        // when
+        this.cartStore.markFlushed(snapshot);
+
+        // then
+        assertThat(this.cartStore.dirtyCount()).isEqualTo(1);
+        assertThat(this.cartStore.snapshot(1).orElseThrow().getItems()).isEqualTo(Map.of(10, 2));
+    }
+
+    @Test
+    void recover_shouldReplayJournalAfterCrash() {
+        // given
+        this.cartStore.add(1, 10, 2);
+        this.cartStore.add(2, 20, 1);
+        this.cartStore.clear(2);
+        this.cartStore.add(2, 21, 4);
+        this.journal.close();
+
+        // when
+        CartStore recovered = this.newStore(this.newJournal());
+        long replayed = recovered.recover();
+
+        // then
+        assertThat(replayed).isEqualTo(4);
+        assertThat(recovered.dirtyCount()).isEqualTo(2);
+        assertThat(recovered.findItems(1)).extracting(CartItemDto::getQuantity).containsExactly(2);
+        assertThat(recovered.findItems(2)).extracting(CartItemDto::getProductId).containsExactly(21);
+    }
+
+    @Test
+    void recover_shouldIgnoreTornTail() throws IOException {
+        // given
+        this.cartStore.add(1, 10, 2);
+        this.journal.close();
+        try (Stream<Path> segments = Files.list(this.journalDirectory)) {
+            Path segment = segments.filter(path -> path.toFile().length() > 0).findFirst().orElseThrow();
+            Files.write(segment, new byte[] { 1, 0, 0 }, StandardOpenOption.APPEND);
+        }
+
+        // when
+        CartStore recovered = this.newStore(this.newJournal());
+        long replayed = recovered.recover();
+
+        // then
+        assertThat(replayed).isEqualTo(1);
+        assertThat(recovered.findItems(1)).extracting(CartItemDto::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    void evictIdle_shouldKeepDirtyCarts() {
+        // given
+        this.cartStore.findItems(1);
+        this.cartStore.add(2, 20, 1);
+
+        // when
+        int evicted = this.cartStore.evictIdle(Duration.ZERO);
+
+        // then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(this.cartStore.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findItems_shouldNotHoldShardWhileLoadingCart() throws Exception {
+        // given
+        final CartStore singleShard = new CartStore(this.cartRepository, this.cartItemRepository, this.journal, 1, 100);
+        singleShard.findItems(1);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(this.cartRepository.existsById(2)).thenAnswer(invocation -> {
+            loading.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        final CompletableFuture<List<CartItemDto>> slowLoad = CompletableFuture.supplyAsync(() -> singleShard.findItems(2));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        final CompletableFuture<List<CartItemDto>> loadedCart = CompletableFuture.supplyAsync(() -> singleShard.findItems(1));
+
+        // then
+        assertThat(loadedCart.get(5, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+        assertThat(slowLoad.get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(singleShard.size()).isEqualTo(2);
+    }
+
+    private CartJournal newJournal() {
+        return new CartJournal(this.journalDirectory.toString(), DataSize.ofMegabytes(1));
+    }
+
+    private CartStore newStore(final CartJournal cartJournal) {
+        return new CartStore(this.cartRepository, this.cartItemRepository, cartJournal, 4, 100);
+    }
+
+}
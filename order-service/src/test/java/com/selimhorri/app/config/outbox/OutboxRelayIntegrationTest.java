@@ -0,0 +1,173 @@
+package com.selimhorri.app.config.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+/**
+ * The relay and the events feed against the real outbox table; the scheduled
+ * runs are pushed out of the way and {@link OutboxRelay} is driven by hand.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "app.outbox.batch-size=2",
+        "app.outbox.poll-interval=1h",
+        "app.outbox.cleanup-interval=1h",
+        "app.outbox.retention=7d"
+})
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EventBroker eventBroker;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void relay_shouldNumberEventsWithoutGapsAcrossBatches() {
+        // given
+        this.pending(3);
+
+        // when
+        this.outboxRelay.relay();
+
+        // then
+        verify(this.eventBroker, times(2)).publish(anyList());
+        assertThat(this.sequencesByEventId()).containsExactly(1L, 2L, 3L);
+
+        // when
+        this.pending(1);
+        this.outboxRelay.relay();
+
+        // then
+        assertThat(this.sequencesByEventId()).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void relay_whenPublishFails_shouldLeaveEventsPending() {
+        // given
+        this.pending(2);
+        doThrow(new IllegalStateException("broker is down")).when(this.eventBroker).publish(anyList());
+
+        // when
+        this.outboxRelay.relay();
+
+        // then
+        assertThat(this.outboxEventRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(event -> {
+                    assertThat(event.getPublishedAt()).isNull();
+                    assertThat(event.getPublishSequence()).isNull();
+                });
+        assertThat(this.outboxEventRepository.findLastPublishSequence()).isZero();
+    }
+
+    @Test
+    void cleanup_shouldKeepLastPublishedEvent() {
+        // given
+        final Instant expired = Instant.now().minus(Duration.ofDays(8));
+        this.published(1L, expired);
+        this.published(2L, expired);
+        this.published(3L, expired);
+        this.pending(1);
+
+        // when
+        this.outboxRelay.cleanup();
+
+        // then
+        assertThat(this.outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getPublishSequence)
+                .containsExactlyInAnyOrder(3L, null);
+        assertThat(this.outboxEventRepository.findLastPublishSequence()).isEqualTo(3L);
+    }
+
+    @Test
+    void findPublished_shouldPageAfterCursorInSequenceOrder() throws Exception {
+        // given
+        final Instant now = Instant.now();
+        this.published(3L, now);
+        this.published(1L, now);
+        this.published(2L, now);
+        this.pending(1);
+
+        // when, then
+        this.mockMvc.perform(get("/api/events").param("after", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.collection[0].sequence").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("2"));
+        this.mockMvc.perform(get("/api/events").param("after", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collection.length()").value(1))
+                .andExpect(jsonPath("$.collection[0].sequence").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    private void pending(final int count) {
+        for (int i = 0; i < count; i++)
+            this.outboxEventRepository.save(this.event().build());
+    }
+
+    private void published(final long publishSequence, final Instant publishedAt) {
+        this.outboxEventRepository.save(this.event()
+                .publishSequence(publishSequence)
+                .publishedAt(publishedAt)
+                .build());
+    }
+
+    private OutboxEvent.OutboxEventBuilder event() {
+        return OutboxEvent.builder()
+                .aggregateType("test")
+                .aggregateId("1")
+                .eventType("TEST_RECORDED")
+                .payload("{}")
+                .occurredAt(Instant.now());
+    }
+
+    private List<Long> sequencesByEventId() {
+        return this.outboxEventRepository.findAll().stream()
+                .sorted(Comparator.comparing(OutboxEvent::getEventId))
+                .map(OutboxEvent::getPublishSequence)
+                .collect(Collectors.toList());
+    }
+
+}
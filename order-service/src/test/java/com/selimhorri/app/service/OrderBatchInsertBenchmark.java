@@ -0,0 +1,194 @@
+package com.selimhorri.app.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Rows per second for a 10k-row order insert: one round-trip per row with
+ * database-generated ids (the former IDENTITY mapping) against pooled-lo id
+ * blocks from {@code id_generators} and JDBC batches of
+ * {@link AppConstant#JDBC_BATCH_SIZE}, which is what Hibernate now issues for
+ * {@code POST /api/orders/batch}.
+ * <p>
+ * Runs against in-memory H2 by default; pass {@code -Dbenchmark.jdbc.url},
+ * {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password} to measure
+ * against MySQL (with {@code rewriteBatchedStatements=true}), where the saved
+ * round-trips dominate. Run with {@code main} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBatchInsertBenchmark {
+	
+	private static final int ROWS = 10_000;
+	private static final String GENERATOR_KEY = "orders_benchmark";
+	private static final String INSERT_SQL = 
+			"INSERT INTO orders_benchmark (order_id, cart_id, order_date, order_desc, order_fee) VALUES (?, ?, ?, ?, ?)";
+	private static final String INSERT_IDENTITY_SQL = 
+			"INSERT INTO orders_benchmark (cart_id, order_date, order_desc, order_fee) VALUES (?, ?, ?, ?)";
+	
+	private Connection connection;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		this.connection = DriverManager.getConnection(
+				System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:order_benchmark;DB_CLOSE_DELAY=-1"), 
+				System.getProperty("benchmark.jdbc.user", "sa"), 
+				System.getProperty("benchmark.jdbc.password", ""));
+		this.connection.setAutoCommit(false);
+		try (final Statement statement = this.connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS orders_benchmark");
+			statement.execute("CREATE TABLE orders_benchmark ("
+					+ "order_id INT NOT NULL PRIMARY KEY AUTO_INCREMENT, "
+					+ "cart_id INT, "
+					+ "order_date TIMESTAMP, "
+					+ "order_desc VARCHAR(255), "
+					+ "order_fee DECIMAL(7, 2))");
+			statement.execute("CREATE TABLE IF NOT EXISTS " + AppConstant.ID_GENERATOR_TABLE + " ("
+					+ "gen_name VARCHAR(255) NOT NULL PRIMARY KEY, "
+					+ "gen_value BIGINT NOT NULL)");
+			statement.execute("DELETE FROM " + AppConstant.ID_GENERATOR_TABLE 
+					+ " WHERE gen_name = '" + GENERATOR_KEY + "'");
+		}
+		this.connection.commit();
+	}
+	
+	@Setup(Level.Iteration)
+	public void truncate() throws SQLException {
+		try (final Statement statement = this.connection.createStatement()) {
+			statement.execute("DELETE FROM orders_benchmark");
+		}
+		this.connection.commit();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try (final Statement statement = this.connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS orders_benchmark");
+			statement.execute("DELETE FROM " + AppConstant.ID_GENERATOR_TABLE 
+					+ " WHERE gen_name = '" + GENERATOR_KEY + "'");
+		}
+		this.connection.commit();
+		this.connection.close();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long identityRowByRow() throws SQLException {
+		long lastId = 0;
+		try (final PreparedStatement insert = this.connection
+				.prepareStatement(INSERT_IDENTITY_SQL, Statement.RETURN_GENERATED_KEYS)) {
+			final var orderDate = Timestamp.valueOf(LocalDateTime.now());
+			for (int i = 0; i < ROWS; i++) {
+				insert.setInt(1, i);
+				insert.setTimestamp(2, orderDate);
+				insert.setString(3, "benchmark order");
+				insert.setDouble(4, 9.99);
+				insert.executeUpdate();
+				try (final ResultSet keys = insert.getGeneratedKeys()) {
+					keys.next();
+					lastId = keys.getLong(1);
+				}
+			}
+		}
+		this.connection.commit();
+		return lastId;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long pooledLoBatched() throws SQLException {
+		long nextId = 0;
+		long blockEnd = 0;
+		try (final PreparedStatement insert = this.connection.prepareStatement(INSERT_SQL)) {
+			final var orderDate = Timestamp.valueOf(LocalDateTime.now());
+			for (int i = 0; i < ROWS; i++) {
+				if (nextId == blockEnd) {
+					nextId = this.nextBlock();
+					blockEnd = nextId + AppConstant.ID_ALLOCATION_SIZE;
+				}
+				insert.setLong(1, nextId++);
+				insert.setInt(2, i);
+				insert.setTimestamp(3, orderDate);
+				insert.setString(4, "benchmark order");
+				insert.setDouble(5, 9.99);
+				insert.addBatch();
+				if ((i + 1) % AppConstant.JDBC_BATCH_SIZE == 0)
+					insert.executeBatch();
+			}
+			insert.executeBatch();
+		}
+		this.connection.commit();
+		return nextId;
+	}
+	
+	/**
+	 * Same read-then-bump as Hibernate's table generator, done on the benchmark
+	 * connection instead of a separate transaction.
+	 */
+	private long nextBlock() throws SQLException {
+		try (final PreparedStatement select = this.connection.prepareStatement(
+						"SELECT gen_value FROM " + AppConstant.ID_GENERATOR_TABLE + " WHERE gen_name = ? FOR UPDATE");
+				final PreparedStatement update = this.connection.prepareStatement(
+						"UPDATE " + AppConstant.ID_GENERATOR_TABLE + " SET gen_value = ? WHERE gen_name = ?")) {
+			select.setString(1, GENERATOR_KEY);
+			long low;
+			try (final ResultSet resultSet = select.executeQuery()) {
+				low = (resultSet.next()) ? resultSet.getLong(1) : -1;
+			}
+			if (low < 0) {
+				low = 1;
+				try (final PreparedStatement insert = this.connection.prepareStatement(
+						"INSERT INTO " + AppConstant.ID_GENERATOR_TABLE + " (gen_name, gen_value) VALUES (?, ?)")) {
+					insert.setString(1, GENERATOR_KEY);
+					insert.setLong(2, low);
+					insert.executeUpdate();
+				}
+			}
+			update.setLong(1, low + AppConstant.ID_ALLOCATION_SIZE);
+			update.setString(2, GENERATOR_KEY);
+			update.executeUpdate();
+			return low;
+		}
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(OrderBatchInsertBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+	
+	
+	
+}
+
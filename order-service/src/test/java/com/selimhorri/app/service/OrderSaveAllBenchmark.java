@@ -0,0 +1,140 @@
+package com.selimhorri.app.service;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.OrderServiceApplication;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.repository.CartRepository;
+
+/**
+ * Rows per second for a 10k-row order insert through the service layer:
+ * {@link OrderService#saveAll} in one transaction against the per-row
+ * {@link OrderService#save} that clients issued before the batch endpoint, one
+ * transaction per order. Both go through Hibernate, the pooled-lo table
+ * generator and the outbox append, so unlike {@link OrderBatchInsertBenchmark}
+ * the numbers include entity mapping, flush and id allocation costs.
+ * <p>
+ * Boots the application without web, discovery or config server against
+ * in-memory H2; pass {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user}
+ * and {@code -Dbenchmark.jdbc.password} to run against MySQL. Run with
+ * {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderSaveAllBenchmark {
+	
+	private static final int ROWS = 10_000;
+	
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private JdbcTemplate jdbcTemplate;
+	private List<OrderDto> orderDtos;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.config.import=optional:configserver:",
+						"spring.cloud.config.enabled=false",
+						"eureka.client.enabled=false",
+						"spring.zipkin.enabled=false",
+						"spring.flyway.enabled=false",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN",
+						"app.outbox.poll-interval=1h",
+						"app.cart.journal.directory=" + Files.createTempDirectory("cart-journal"),
+						"spring.datasource.url=" + System.getProperty("benchmark.jdbc.url",
+								"jdbc:h2:mem:order_save_benchmark;DB_CLOSE_DELAY=-1"),
+						"spring.datasource.username=" + System.getProperty("benchmark.jdbc.user", "sa"),
+						"spring.datasource.password=" + System.getProperty("benchmark.jdbc.password", ""))
+				.run();
+		this.orderService = this.context.getBean(OrderService.class);
+		this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+		final Cart cart = this.context.getBean(CartRepository.class).save(Cart.builder()
+				.userId(1)
+				.build());
+		final var orderDate = LocalDateTime.now();
+		this.orderDtos = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++)
+			this.orderDtos.add(OrderDto.builder()
+					.orderDate(orderDate)
+					.orderDesc("benchmark order")
+					.orderFee(9.99)
+					.cartDto(CartDto.builder()
+							.cartId(cart.getCartId())
+							.build())
+					.build());
+	}
+	
+	@Setup(Level.Iteration)
+	public void truncate() {
+		this.jdbcTemplate.update("DELETE FROM " + AppConstant.OUTBOX_TABLE);
+		this.jdbcTemplate.update("DELETE FROM orders");
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public int saveRowByRow() {
+		int saved = 0;
+		for (final OrderDto orderDto : this.orderDtos)
+			if (this.orderService.save(orderDto) != null)
+				saved++;
+		return saved;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public int saveAll() {
+		return this.orderService.saveAll(this.orderDtos).size();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(OrderSaveAllBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+	
+	
+	
+}
+
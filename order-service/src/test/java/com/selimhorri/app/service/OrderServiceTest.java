@@ -2,24 +2,41 @@ package com.selimhorri.app.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.config.cart.CartWriteBehind;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.impl.OrderServiceImpl;
 
@@ -29,6 +46,18 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private CartWriteBehind cartWriteBehind;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -96,6 +125,19 @@ class OrderServiceTest {
         assertThat(foundOrder.getOrderFee()).isEqualTo(99.99);
     }
 
+    @Test
+    void findAllByIds_shouldReturnOrdersInOneQuery() {
+        // given
+        when(this.orderRepository.findAllById(List.of(1, 2))).thenReturn(Collections.singletonList(this.order));
+
+        // when
+        List<OrderDto> orders = this.orderService.findAllByIds(List.of(1, 2));
+
+        // then
+        assertThat(orders).extracting(OrderDto::getOrderId).containsExactly(1);
+        verify(this.orderRepository, never()).findById(any());
+    }
+
     @Test
     void save_shouldCreateOrder() {
         // given
@@ -107,6 +149,27 @@ class OrderServiceTest {
         // then
         assertThat(savedOrder).isNotNull();
         assertThat(savedOrder.getOrderDesc()).isEqualTo("Test order description");
+        verify(this.outboxWriter).append(eq(AppConstant.Events.ORDER), eq(1),
+                eq(AppConstant.Events.ORDER_CREATED), eq(savedOrder));
+        verify(this.cartWriteBehind).flushCart(1);
+    }
+
+    @Test
+    void saveAll_shouldPersistEachOrderAsNew() {
+        // given
+        List<OrderDto> orderDtos = List.of(this.orderDto, this.orderDto);
+
+        // when
+        List<OrderDto> savedOrders = this.orderService.saveAll(orderDtos);
+
+        // then
+        ArgumentCaptor<Order> captor = ArgumentCaptor.forClass(Order.class);
+        verify(this.entityManager, times(2)).persist(captor.capture());
+        assertThat(captor.getAllValues()).allMatch(o -> o.getOrderId() == null);
+        assertThat(savedOrders).hasSize(2);
+        verify(this.outboxWriter, times(2)).append(eq(AppConstant.Events.ORDER), any(),
+                eq(AppConstant.Events.ORDER_CREATED), any(OrderDto.class));
+        verify(this.orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -151,4 +214,26 @@ class OrderServiceTest {
         // No exception thrown means success
         // The test validates that the method executes without throwing an exception
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAll_shouldWriteOneJsonRecordPerLine() throws Exception {
+        // given
+        Order second = Order.builder()
+                .orderId(2)
+                .orderDesc("Second order")
+                .orderFee(10.0)
+                .cart(this.cart)
+                .build();
+        when(this.orderRepository.streamAll()).thenReturn(Stream.of(this.order, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long count = this.orderService.exportAll(output);
+
+        // then
+        String expected = this.objectMapper.writeValueAsString(OrderMappingHelper.map(this.order)) + "\n"
+                + this.objectMapper.writeValueAsString(OrderMappingHelper.map(second)) + "\n";
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.config.outbox;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.DomainEventDto;
+
+/**
+ * Destination of relayed outbox events. Delivery is at least once: a batch is
+ * marked published only after this call returns, so an implementation that
+ * fails part-way will see the whole batch again and consumers must ignore
+ * event ids they have already handled.
+ */
+public interface EventBroker {
+	
+	void publish(final List<DomainEventDto> events);
+	
+}
+
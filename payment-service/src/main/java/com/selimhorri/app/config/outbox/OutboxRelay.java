@@ -0,0 +1,151 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.helper.OutboxEventMappingHelper;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves committed outbox events to the {@link EventBroker} in batches. Each
+ * batch is locked, numbered with the next publish sequence values, published
+ * and marked published in one transaction; when publishing fails the batch
+ * stays pending and is retried on the next poll. Relays on other instances
+ * block on the same rows, so sequence numbers never interleave.
+ * <p>
+ * Published rows are kept for {@code app.outbox.retention} to serve the events
+ * feed, then deleted, except the last one, which carries the sequence forward.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final EventBroker eventBroker;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService scheduler;
+	private final int batchSize;
+	private final Duration pollInterval;
+	private final Duration retention;
+	private final Duration cleanupInterval;
+	private final Counter published;
+	private final Counter failures;
+	
+	public OutboxRelay(
+			final OutboxEventRepository outboxEventRepository, 
+			final EventBroker eventBroker, 
+			final PlatformTransactionManager transactionManager, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.outbox.batch-size:100}") final int batchSize, 
+			@Value("${app.outbox.poll-interval:500ms}") final Duration pollInterval, 
+			@Value("${app.outbox.retention:7d}") final Duration retention, 
+			@Value("${app.outbox.cleanup-interval:1h}") final Duration cleanupInterval) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.eventBroker = eventBroker;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "outbox-relay");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.batchSize = batchSize;
+		this.pollInterval = pollInterval;
+		this.retention = retention;
+		this.cleanupInterval = cleanupInterval;
+		this.published = Counter.builder("outbox.events.published")
+				.description("Outbox events handed to the broker")
+				.register(meterRegistry);
+		this.failures = Counter.builder("outbox.relay.failures")
+				.description("Outbox batches that could not be published")
+				.register(meterRegistry);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		this.scheduler.scheduleWithFixedDelay(this::relay, this.pollInterval.toMillis(), 
+				this.pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+		this.scheduler.scheduleWithFixedDelay(this::cleanup, this.cleanupInterval.toMillis(), 
+				this.cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.scheduler.shutdownNow();
+	}
+	
+	/**
+	 * Drains the outbox one batch at a time until a batch comes back short.
+	 */
+	public void relay() {
+		try {
+			int relayed;
+			do {
+				relayed = this.relayBatch();
+			} while (relayed == this.batchSize);
+		}
+		catch (RuntimeException e) {
+			this.failures.increment();
+			log.warn("*** could not relay outbox events: {} *", e.getMessage());
+		}
+	}
+	
+	private int relayBatch() {
+		final Integer relayed = this.transactionTemplate.execute(status -> {
+			final List<OutboxEvent> pending = this.outboxEventRepository.findPending(PageRequest.of(0, this.batchSize));
+			if (pending.isEmpty())
+				return 0;
+			final Instant now = Instant.now();
+			long sequence = this.outboxEventRepository.findLastPublishSequence();
+			for (final OutboxEvent event : pending) {
+				event.setPublishedAt(now);
+				event.setPublishSequence(++sequence);
+			}
+			this.eventBroker.publish(pending.stream()
+					.map(OutboxEventMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+			return pending.size();
+		});
+		this.published.increment(relayed);
+		return relayed;
+	}
+	
+	/**
+	 * Deletes published events older than the retention, keeping the last one.
+	 */
+	public void cleanup() {
+		try {
+			final Integer deleted = this.transactionTemplate.execute(status -> this.outboxEventRepository
+					.deletePublishedBefore(Instant.now().minus(this.retention), 
+							this.outboxEventRepository.findLastPublishSequence()));
+			if (deleted > 0)
+				log.info("*** deleted {} published outbox events *", deleted);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** could not clean up outbox events: {} *", e.getMessage());
+		}
+	}
+	
+	
+	
+}
+
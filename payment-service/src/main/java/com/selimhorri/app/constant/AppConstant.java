@@ -11,6 +11,35 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 1000;
+	public static final String EXPORT_FETCH_SIZE = "500";
+	public static final int EXPORT_FLUSH_INTERVAL = 500;
+	public static final String ID_GENERATOR_TABLE = "id_generators";
+	public static final int ID_ALLOCATION_SIZE = 50;
+	public static final int JDBC_BATCH_SIZE = 50;
+	public static final int MAX_BATCH_ROWS = 10_000;
+	public static final String OUTBOX_TABLE = "payment_outbox";
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Events {
+		
+		public static final String PAYMENT = "Payment";
+		public static final String PAYMENT_CREATED = "PaymentCreated";
+		public static final String PAYMENT_UPDATED = "PaymentUpdated";
+		public static final String PAYMENT_COMPLETED = "PaymentCompleted";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Backends {
+		
+		public static final String USER_SERVICE = "userService";
+		public static final String PRODUCT_SERVICE = "productService";
+		public static final String ORDER_SERVICE = "orderService";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -10,6 +10,9 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,13 +32,23 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id_generator")
+	@TableGenerator(name = "payments_id_generator", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnName = "gen_name", valueColumnName = "gen_value", pkColumnValue = "payments", 
+			allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
 	@Column(name = "order_id")
 	private Integer orderId;
 	
+	/**
+	 * Owner of the order, copied in when the payment is created so ownership
+	 * checks need no call to order-service. Never changes afterwards.
+	 */
+	@Column(name = "user_id", updatable = false)
+	private Integer userId;
+	
 	@Column(name = "is_payed")
 	private Boolean isPayed;
 	
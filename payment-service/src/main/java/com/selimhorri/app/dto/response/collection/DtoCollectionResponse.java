@@ -1,6 +1,11 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +20,20 @@ public class DtoCollectionResponse<T> {
 	
 	private Collection<T> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this.collection = collection;
+	}
+	
+	public static <T> DtoCollectionResponse<T> of(final List<T> page, final int limit, final Function<T, String> cursorOf) {
+		final String nextCursor = (!page.isEmpty() && page.size() >= limit) 
+				? cursorOf.apply(page.get(page.size() - 1)) 
+				: null;
+		return new DtoCollectionResponse<>(page, nextCursor);
+	}
+	
 }
 
 
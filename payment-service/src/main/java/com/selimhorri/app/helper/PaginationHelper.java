@@ -0,0 +1,25 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.constant.AppConstant;
+
+public interface PaginationHelper {
+	
+	public static int limit(final Integer limit) {
+		if (limit == null || limit <= 0)
+			return AppConstant.DEFAULT_PAGE_LIMIT;
+		return Math.min(limit, AppConstant.MAX_PAGE_LIMIT);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,32 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT p FROM Payment p ORDER BY p.paymentId ASC")
+	Stream<Payment> streamAll();
+	
+	@Modifying
+	@Query("UPDATE Payment p SET p.userId = :userId WHERE p.paymentId = :paymentId AND p.userId IS NULL")
+	int assignUserId(@Param("paymentId") final Integer paymentId, @Param("userId") final Integer userId);
+	
+	List<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(final Integer paymentId, final Pageable pageable);
+	
 	
 	
 }
@@ -0,0 +1,53 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.DomainEventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PaginationHelper;
+import com.selimhorri.app.service.DomainEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feed of published domain events in publish order, for consumers that catch
+ * up by polling from the last sequence they handled instead of re-reading
+ * entities.
+ */
+@RestController
+@RequestMapping("/api/events")
+@Slf4j
+@RequiredArgsConstructor
+public class DomainEventResource {
+	
+	private final DomainEventService domainEventService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<DomainEventDto>> findPublished(
+			@RequestParam(value = "after", required = false) final Long after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** DomainEventDto List, resource; fetch page of published events *");
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.domainEventService.findPublished(after, pageLimit), 
+				pageLimit, e -> String.valueOf(e.getSequence())));
+	}
+	
+	/**
+	 * Sequence of the latest published event; a consumer reads it before
+	 * taking a snapshot and polls the feed from there afterwards.
+	 */
+	@GetMapping("/head")
+	public ResponseEntity<Long> findLastSequence() {
+		log.info("*** Long, resource; fetch last published event sequence *");
+		return ResponseEntity.ok(this.domainEventService.findLastSequence());
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,46 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.service.PaymentService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/owners")
+@Slf4j
+@RequiredArgsConstructor
+public class OwnerResource {
+	
+	private final PaymentService paymentService;
+	
+	@GetMapping("/payments/{paymentId}")
+	public ResponseEntity<Integer> findPaymentOwner(
+			@PathVariable("paymentId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String paymentId) {
+		log.info("*** Integer, resource; fetch owner of payment *");
+		return ResponseEntity.ok(this.paymentService.findOwnerId(Integer.parseInt(paymentId)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,9 +1,16 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +19,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PaginationHelper;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,9 +40,20 @@ public class PaymentResource {
 	private final PaymentService paymentService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.paymentService.findAll(after, pageLimit), 
+				pageLimit, p -> String.valueOf(p.getPaymentId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void exportAll(final HttpServletResponse response) throws IOException {
+		log.info("*** PaymentDto Stream, resource; export all payments *");
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		this.paymentService.exportAll(response.getOutputStream());
 	}
 	
 	@GetMapping("/{paymentId}")
@@ -53,6 +74,16 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.save(paymentDto));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<List<PaymentDto>> saveAll(
+			@RequestBody 
+			@NotEmpty(message = "Input must not be empty") 
+			@Size(max = AppConstant.MAX_BATCH_ROWS, message = "Input must not exceed " + AppConstant.MAX_BATCH_ROWS + " rows") 
+			@Valid final List<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, resource; save payments in batch *");
+		return ResponseEntity.ok(this.paymentService.saveAll(paymentDtos));
+	}
+	
 	@PutMapping
 	public ResponseEntity<PaymentDto> update(
 			@RequestBody 
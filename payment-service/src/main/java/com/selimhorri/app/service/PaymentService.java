@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import com.selimhorri.app.dto.PaymentDto;
@@ -7,9 +8,13 @@ import com.selimhorri.app.dto.PaymentDto;
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	List<PaymentDto> findAll(final Integer after, final int limit);
 	PaymentDto findById(final Integer paymentId);
+	Integer findOwnerId(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
+	List<PaymentDto> saveAll(final List<PaymentDto> paymentDtos);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
+	long exportAll(final OutputStream outputStream);
 	
 }
@@ -0,0 +1,46 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.dto.DomainEventDto;
+import com.selimhorri.app.helper.OutboxEventMappingHelper;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.DomainEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class DomainEventServiceImpl implements DomainEventService {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	
+	@Override
+	public List<DomainEventDto> findPublished(final Long after, final int limit) {
+		log.info("*** DomainEventDto List, service; fetch page of published events *");
+		return this.outboxEventRepository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(
+				(after != null) ? after : 0L, PageRequest.of(0, limit))
+				.stream()
+					.map(OutboxEventMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public long findLastSequence() {
+		log.info("*** Long, service; fetch last published event sequence *");
+		return this.outboxEventRepository.findLastPublishSequence();
+	}
+	
+	
+	
+}
+
@@ -1,16 +1,38 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.config.client.EnrichmentExecutor;
+import com.selimhorri.app.config.outbox.OutboxWriter;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
@@ -25,49 +47,185 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 	
+	private static final int ORDER_LOOKUP_BATCH_SIZE = 100;
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> ORDER_COLLECTION = 
+			new ParameterizedTypeReference<>() {};
+	
 	private final PaymentRepository paymentRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
 	private final RestTemplate restTemplate;
+	private final EnrichmentExecutor enrichmentExecutor;
+	private final OutboxWriter outboxWriter;
 	
 	@Override
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
-				.stream()
+		return this.enrich(this.paymentRepository.findAll());
+	}
+	
+	@Override
+	public List<PaymentDto> findAll(final Integer after, final int limit) {
+		log.info("*** PaymentDto List, service; fetch page of payments *");
+		return this.enrich(this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit)));
+	}
+	
+	private List<PaymentDto> enrich(final List<Payment> payments) {
+		final var paymentDtos = payments.stream()
 					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toList());
+		
+		final var orderDtos = this.enrichmentExecutor.submitBatches(AppConstant.Backends.ORDER_SERVICE, 
+				paymentDtos.stream()
+						.map(p -> p.getOrderDto().getOrderId())
+						.collect(Collectors.toSet()),
+				ORDER_LOOKUP_BATCH_SIZE, this::requestOrders);
+		this.enrichmentExecutor.await(orderDtos.values());
+		
+		return paymentDtos.stream()
 					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+						p.setOrderDto(this.enrichmentExecutor.resultOrDefault(
+								orderDtos.get(p.getOrderDto().getOrderId()), p.getOrderDto()));
 						return p;
 					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	private Map<Integer, OrderDto> requestOrders(final List<Integer> orderIds) {
+		final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/lookup", 
+				HttpMethod.POST, new HttpEntity<>(orderIds), ORDER_COLLECTION).getBody();
+		if (response == null || response.getCollection() == null)
+			return Map.of();
+		return response.getCollection().stream()
+				.collect(Collectors.toMap(OrderDto::getOrderId, Function.identity()));
+	}
+	
 	@Override
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.enrichmentExecutor.call(AppConstant.Backends.ORDER_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class), 
+							p.getOrderDto()));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
+	/**
+	 * Payments created before {@code user_id} existed resolve their owner from
+	 * order-service once and keep it.
+	 */
+	@Override
+	public Integer findOwnerId(final Integer paymentId) {
+		log.info("*** Integer, service; fetch owner of payment by id *");
+		final Payment payment = this.paymentRepository.findById(paymentId)
+				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
+		if (payment.getUserId() != null)
+			return payment.getUserId();
+		final Integer userId = this.fetchOwnerId(payment.getOrderId());
+		if (userId != null)
+			this.paymentRepository.assignUserId(paymentId, userId);
+		return userId;
+	}
+	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final Payment payment = PaymentMappingHelper.map(paymentDto);
+		payment.setUserId(this.fetchOwnerId(payment.getOrderId()));
+		final PaymentDto saved = PaymentMappingHelper.map(this.paymentRepository.save(payment));
+		this.outboxWriter.append(AppConstant.Events.PAYMENT, saved.getPaymentId(), 
+				AppConstant.Events.PAYMENT_CREATED, saved);
+		return saved;
+	}
+	
+	@Override
+	public List<PaymentDto> saveAll(final List<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, service; save payments in batch *");
+		final var owners = this.enrichmentExecutor.submitAll(AppConstant.Backends.ORDER_SERVICE, 
+				paymentDtos.stream()
+						.map(p -> p.getOrderDto().getOrderId())
+						.filter(Objects::nonNull)
+						.collect(Collectors.toSet()), 
+				this::requestOwnerId);
+		this.enrichmentExecutor.await(owners.values());
+		final List<PaymentDto> saved = new ArrayList<>(paymentDtos.size());
+		for (final PaymentDto paymentDto : paymentDtos) {
+			final Payment payment = PaymentMappingHelper.map(paymentDto);
+			payment.setPaymentId(null);
+			payment.setUserId(this.enrichmentExecutor.resultOrDefault(owners.get(payment.getOrderId()), null));
+			this.entityManager.persist(payment);
+			final PaymentDto savedDto = PaymentMappingHelper.map(payment);
+			this.outboxWriter.append(AppConstant.Events.PAYMENT, savedDto.getPaymentId(), 
+					AppConstant.Events.PAYMENT_CREATED, savedDto);
+			saved.add(savedDto);
+			if (saved.size() % AppConstant.JDBC_BATCH_SIZE == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		return saved;
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
+		final PaymentDto updated = PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
+		this.outboxWriter.append(AppConstant.Events.PAYMENT, updated.getPaymentId(), 
+				(updated.getPaymentStatus() == PaymentStatus.COMPLETED) 
+						? AppConstant.Events.PAYMENT_COMPLETED 
+						: AppConstant.Events.PAYMENT_UPDATED, 
+				updated);
+		return updated;
+	}
+	
+	@Override
+	public long exportAll(final OutputStream outputStream) {
+		log.info("*** PaymentDto Stream, service; export all payments *");
+		final var writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (final Stream<Payment> payments = this.paymentRepository.streamAll();
+				final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// one record per line: no separator before a value, a newline after each
+			generator.setRootValueSeparator(null);
+			final Iterator<Payment> iterator = payments.iterator();
+			while (iterator.hasNext()) {
+				writer.writeValue(generator, PaymentMappingHelper.map(iterator.next()));
+				generator.writeRaw('\n');
+				if (++count % AppConstant.EXPORT_FLUSH_INTERVAL == 0) {
+					generator.flush();
+					this.entityManager.clear();
+				}
+			}
+			generator.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		log.info("*** PaymentDto Stream, service; exported {} payments *", count);
+		return count;
+	}
+	
+	private Integer fetchOwnerId(final Integer orderId) {
+		if (orderId == null)
+			return null;
+		return this.enrichmentExecutor.call(AppConstant.Backends.ORDER_SERVICE, 
+				() -> this.requestOwnerId(orderId), null);
+	}
+	
+	private Integer requestOwnerId(final Integer orderId) {
+		return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.ORDER_SERVICE_HOST + "/api/owners/orders/" + orderId, Integer.class);
 	}
 	
 	@Override
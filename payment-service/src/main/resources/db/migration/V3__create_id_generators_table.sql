@@ -0,0 +1,9 @@
+
+CREATE TABLE IF NOT EXISTS id_generators (
+	gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	gen_value BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (gen_name, gen_value)
+	SELECT 'payments', COALESCE(MAX(payment_id), 0) + 1 FROM payments;
+
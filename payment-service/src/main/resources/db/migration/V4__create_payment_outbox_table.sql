@@ -0,0 +1,16 @@
+
+CREATE TABLE payment_outbox (
+	event_id BIGINT NOT NULL PRIMARY KEY,
+	aggregate_type VARCHAR(255) NOT NULL,
+	aggregate_id VARCHAR(255) NOT NULL,
+	event_type VARCHAR(255) NOT NULL,
+	payload TEXT NOT NULL,
+	occurred_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP NULL,
+	publish_seq BIGINT UNIQUE
+);
+
+CREATE INDEX idx_payment_outbox_pending ON payment_outbox (published_at, event_id);
+
+INSERT INTO id_generators (gen_name, gen_value) VALUES ('payment_outbox', 1);
+
@@ -0,0 +1,4 @@
+
+ALTER TABLE payments
+  ADD COLUMN user_id INT(11);
+
@@ -4,24 +4,45 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.config.client.EnrichmentExecutor;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.impl.PaymentServiceImpl;
 
@@ -31,9 +52,22 @@ class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private EntityManager entityManager;
+
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private EnrichmentExecutor enrichmentExecutor =
+            new EnrichmentExecutor(Duration.ofSeconds(5));
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -66,7 +100,9 @@ class PaymentServiceTest {
     void findAll_shouldReturnPaymentList() {
         // given
         when(this.paymentRepository.findAll()).thenReturn(Collections.singletonList(this.payment));
-        when(this.restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(this.orderDto);
+        when(this.restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(this.orderDto))));
 
         // when
         List<PaymentDto> payments = this.paymentService.findAll();
@@ -75,6 +111,8 @@ class PaymentServiceTest {
         assertThat(payments).isNotNull();
         assertThat(payments.size()).isEqualTo(1);
         assertThat(payments.get(0).getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(this.restTemplate).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
     }
 
     @Test
@@ -92,17 +130,54 @@ class PaymentServiceTest {
         assertThat(foundPayment.getIsPayed()).isTrue();
     }
 
+    @Test
+    void findOwnerId_shouldReadStoredOwnerWithoutCallingOrderService() {
+        // given
+        this.payment.setUserId(7);
+        when(this.paymentRepository.findById(1)).thenReturn(Optional.of(this.payment));
+
+        // when
+        Integer ownerId = this.paymentService.findOwnerId(1);
+
+        // then
+        assertThat(ownerId).isEqualTo(7);
+        verify(this.restTemplate, never()).getForObject(anyString(), eq(Integer.class));
+        verify(this.paymentRepository, never()).assignUserId(any(), any());
+    }
+
+    @Test
+    void findOwnerId_shouldResolveAndKeepOwnerOfOlderPayment() {
+        // given
+        when(this.paymentRepository.findById(1)).thenReturn(Optional.of(this.payment));
+        when(this.restTemplate.getForObject(anyString(), eq(Integer.class))).thenReturn(7);
+
+        // when
+        Integer ownerId = this.paymentService.findOwnerId(1);
+
+        // then
+        assertThat(ownerId).isEqualTo(7);
+        verify(this.restTemplate).getForObject(
+                AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/owners/orders/101", Integer.class);
+        verify(this.paymentRepository).assignUserId(1, 7);
+    }
+
     @Test
     void save_shouldCreatePayment() {
         // given
         when(this.paymentRepository.save(any(Payment.class))).thenReturn(this.payment);
+        when(this.restTemplate.getForObject(anyString(), eq(Integer.class))).thenReturn(7);
 
         // when
         PaymentDto savedPayment = this.paymentService.save(this.paymentDto);
 
         // then
+        ArgumentCaptor<Payment> persisted = ArgumentCaptor.forClass(Payment.class);
+        verify(this.paymentRepository).save(persisted.capture());
+        assertThat(persisted.getValue().getUserId()).isEqualTo(7);
         assertThat(savedPayment).isNotNull();
         assertThat(savedPayment.getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(this.outboxWriter).append(eq(AppConstant.Events.PAYMENT), eq(1),
+                eq(AppConstant.Events.PAYMENT_CREATED), eq(savedPayment));
     }
 
     @Test
@@ -131,6 +206,8 @@ class PaymentServiceTest {
         assertThat(updatedPaymentDto).isNotNull();
         assertThat(updatedPaymentDto.getIsPayed()).isFalse();
         assertThat(updatedPaymentDto.getPaymentStatus()).isEqualTo(PaymentStatus.IN_PROGRESS);
+        verify(this.outboxWriter).append(eq(AppConstant.Events.PAYMENT), eq(1),
+                eq(AppConstant.Events.PAYMENT_UPDATED), eq(updatedPaymentDto));
     }
 
     @Test
@@ -142,4 +219,26 @@ class PaymentServiceTest {
         // No exception thrown means success
         // The test validates that the method executes without throwing an exception
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAll_shouldWriteOneJsonRecordPerLine() throws Exception {
+        // given
+        Payment second = Payment.builder()
+                .paymentId(2)
+                .orderId(102)
+                .isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED)
+                .build();
+        when(this.paymentRepository.streamAll()).thenReturn(Stream.of(this.payment, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long count = this.paymentService.exportAll(output);
+
+        // then
+        String expected = this.objectMapper.writeValueAsString(PaymentMappingHelper.map(this.payment)) + "\n"
+                + this.objectMapper.writeValueAsString(PaymentMappingHelper.map(second)) + "\n";
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
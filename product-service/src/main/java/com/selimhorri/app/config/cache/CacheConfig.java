@@ -0,0 +1,18 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine-backed caches for the catalog read path; sizing and TTL come from
+ * {@code spring.cache.caffeine.spec}, and {@code recordStats} exposes hit/miss
+ * counters through the actuator's Micrometer cache metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+	
+	
+	
+}
+
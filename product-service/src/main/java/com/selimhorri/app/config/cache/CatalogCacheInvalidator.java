@@ -0,0 +1,201 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts catalog cache entries once the surrounding transaction commits, so a
+ * concurrent reader cannot re-cache the row it is about to replace. When peer
+ * invalidation is enabled the same eviction is forwarded to every other
+ * registered instance of this service.
+ * <p>
+ * Peer calls run on a single notifier thread with a bounded queue, and each
+ * peer sits behind its own circuit breaker, so an unreachable instance costs
+ * one failed call per breaker window instead of a blocked thread per write.
+ * A notification that does not fit in the queue is dropped and logged; the
+ * peer's entry then lives until its cache TTL.
+ */
+@Component
+@Slf4j
+public class CatalogCacheInvalidator {
+	
+	private final CacheManager cacheManager;
+	private final DiscoveryClient discoveryClient;
+	private final ObjectProvider<Registration> registration;
+	private final RestTemplate peerRestTemplate;
+	private final boolean peerInvalidationEnabled;
+	private final String applicationName;
+	private final String contextPath;
+	private final ThreadPoolExecutor notifier;
+	private final CircuitBreakerRegistry peerBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+			.slidingWindowSize(10)
+			.minimumNumberOfCalls(5)
+			.failureRateThreshold(50)
+			.waitDurationInOpenState(Duration.ofSeconds(30))
+			.build());
+	
+	public CatalogCacheInvalidator(
+			final CacheManager cacheManager, 
+			final DiscoveryClient discoveryClient, 
+			final ObjectProvider<Registration> registration, 
+			final RestTemplateBuilder restTemplateBuilder, 
+			@Value("${app.cache.peer-invalidation.enabled:false}") final boolean peerInvalidationEnabled, 
+			@Value("${app.cache.peer-invalidation.timeout:2s}") final Duration peerTimeout, 
+			@Value("${app.cache.peer-invalidation.queue-capacity:1024}") final int queueCapacity, 
+			@Value("${spring.application.name}") final String applicationName, 
+			@Value("${server.servlet.context-path:}") final String contextPath) {
+		this.cacheManager = cacheManager;
+		this.discoveryClient = discoveryClient;
+		this.registration = registration;
+		this.peerRestTemplate = restTemplateBuilder
+				.setConnectTimeout(peerTimeout)
+				.setReadTimeout(peerTimeout)
+				.build();
+		this.peerInvalidationEnabled = peerInvalidationEnabled;
+		this.applicationName = applicationName;
+		this.contextPath = contextPath;
+		this.notifier = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					final var thread = new Thread(runnable, "catalog-cache-peers");
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.notifier.shutdownNow();
+	}
+	
+	public void evictProduct(final Integer productId) {
+		if (productId == null)
+			return;
+		this.afterCommit(AppConstant.CacheNames.PRODUCTS, productId);
+	}
+	
+	/**
+	 * Evicts each product here but asks peers to clear their product cache
+	 * once, rather than sending them one request per product.
+	 */
+	public void evictProducts(final Collection<Integer> productIds) {
+		if (productIds.isEmpty())
+			return;
+		afterCommit(() -> {
+			productIds.forEach(productId -> this.evictLocal(AppConstant.CacheNames.PRODUCTS, productId));
+			this.forward(AppConstant.CacheNames.PRODUCTS, null);
+		});
+	}
+	
+	/**
+	 * Product entries embed their category, so a category change drops the
+	 * whole product cache along with the category entry itself.
+	 */
+	public void evictCategory(final Integer categoryId) {
+		if (categoryId == null)
+			return;
+		this.afterCommit(AppConstant.CacheNames.CATEGORIES, categoryId);
+		this.afterCommit(AppConstant.CacheNames.PRODUCTS, null);
+	}
+	
+	public void evictLocal(final String cacheName, final Integer key) {
+		final Cache cache = this.cacheManager.getCache(cacheName);
+		if (cache == null)
+			return;
+		if (key == null)
+			cache.clear();
+		else
+			cache.evict(key);
+	}
+	
+	private void afterCommit(final String cacheName, final Integer key) {
+		afterCommit(() -> this.evict(cacheName, key));
+	}
+	
+	private static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+	
+	private void evict(final String cacheName, final Integer key) {
+		this.evictLocal(cacheName, key);
+		this.forward(cacheName, key);
+	}
+	
+	private void forward(final String cacheName, final Integer key) {
+		if (!this.peerInvalidationEnabled)
+			return;
+		try {
+			this.notifier.execute(() -> this.notifyPeers(cacheName, key));
+		}
+		catch (RejectedExecutionException e) {
+			log.warn("*** cache eviction of {}:{} not forwarded, peer queue is full *", cacheName, key);
+		}
+	}
+	
+	private void notifyPeers(final String cacheName, final Integer key) {
+		final String self = this.registration.stream()
+				.map(ServiceInstance::getInstanceId)
+				.findFirst()
+				.orElse(null);
+		this.discoveryClient.getInstances(this.applicationName).stream()
+				.filter(instance -> self == null || !self.equals(instance.getInstanceId()))
+				.forEach(instance -> {
+					final var uri = UriComponentsBuilder.fromUri(instance.getUri())
+							.path(this.contextPath)
+							.path("/api/caches/{cacheName}")
+							.queryParamIfPresent("key", Optional.ofNullable(key))
+							.buildAndExpand(cacheName)
+							.toUri();
+					try {
+						this.peerBreakers.circuitBreaker("cachePeer-" + instance.getInstanceId())
+								.executeRunnable(() -> this.peerRestTemplate.delete(uri));
+					}
+					catch (CallNotPermittedException e) {
+						log.warn("*** cache eviction skipped for {}: peer breaker is open *", instance.getInstanceId());
+					}
+					catch (RuntimeException e) {
+						log.warn("*** cache eviction not delivered to {}: {} *", instance.getInstanceId(), e.getMessage());
+					}
+				});
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,121 @@
+package com.selimhorri.app.config.category;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.domain.CategoryClosure;
+import com.selimhorri.app.dto.CategoryDto;
+
+/**
+ * Immutable snapshot of the category tree built from the category rows and
+ * the closure table. It is never modified after construction; a change to
+ * the tree builds a new snapshot that replaces this one.
+ */
+public final class CategoryTree {
+	
+	private static final CategoryTree EMPTY = new CategoryTree(0L, Map.of(), Map.of(), Map.of());
+	
+	private final long generation;
+	private final Map<Integer, CategoryDto> categories;
+	private final Map<Integer, List<Integer>> ancestors;
+	private final Map<Integer, List<Integer>> descendants;
+	
+	private CategoryTree(
+			final long generation, 
+			final Map<Integer, CategoryDto> categories, 
+			final Map<Integer, List<Integer>> ancestors, 
+			final Map<Integer, List<Integer>> descendants) {
+		this.generation = generation;
+		this.categories = categories;
+		this.ancestors = ancestors;
+		this.descendants = descendants;
+	}
+	
+	public static CategoryTree empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * @param nodes {@code [categoryId, categoryTitle, imageUrl, parentCategoryId]} rows
+	 * @param paths every closure row
+	 */
+	public static CategoryTree of(final long generation, final Collection<Object[]> nodes, 
+			final Collection<CategoryClosure> paths) {
+		final Map<Integer, Object[]> rows = new HashMap<>();
+		nodes.forEach(node -> rows.put((Integer) node[0], node));
+		final Map<Integer, CategoryDto> categories = new HashMap<>();
+		rows.forEach((categoryId, node) -> {
+			final Object[] parent = (node[3] != null) ? rows.get(node[3]) : null;
+			categories.put(categoryId, CategoryDto.builder()
+					.categoryId(categoryId)
+					.categoryTitle((String) node[1])
+					.imageUrl((String) node[2])
+					.parentCategoryDto((parent == null) ? null : CategoryDto.builder()
+							.categoryId((Integer) parent[0])
+							.categoryTitle((String) parent[1])
+							.imageUrl((String) parent[2])
+							.build())
+					.build());
+		});
+		
+		final List<CategoryClosure> strictPaths = paths.stream()
+				.filter(path -> path.getDepth() > 0)
+				.filter(path -> categories.containsKey(path.getAncestorId()) 
+						&& categories.containsKey(path.getDescendantId()))
+				.collect(Collectors.toList());
+		final Map<Integer, List<Integer>> ancestors = strictPaths.stream()
+				.sorted(Comparator.comparing(CategoryClosure::getDepth).reversed())
+				.collect(Collectors.groupingBy(CategoryClosure::getDescendantId, 
+						Collectors.mapping(CategoryClosure::getAncestorId, Collectors.toUnmodifiableList())));
+		final Map<Integer, List<Integer>> descendants = strictPaths.stream()
+				.sorted(Comparator.comparing(CategoryClosure::getDepth)
+						.thenComparing(CategoryClosure::getDescendantId))
+				.collect(Collectors.groupingBy(CategoryClosure::getAncestorId, 
+						Collectors.mapping(CategoryClosure::getDescendantId, Collectors.toUnmodifiableList())));
+		
+		return new CategoryTree(generation, Map.copyOf(categories), Map.copyOf(ancestors), Map.copyOf(descendants));
+	}
+	
+	public long generation() {
+		return this.generation;
+	}
+	
+	public Optional<CategoryDto> find(final Integer categoryId) {
+		return Optional.ofNullable(this.categories.get(categoryId));
+	}
+	
+	/**
+	 * @return the ancestors of a category, root first, without the category
+	 * itself
+	 */
+	public List<CategoryDto> ancestorsOf(final Integer categoryId) {
+		return this.resolve(this.ancestors.getOrDefault(categoryId, List.of()));
+	}
+	
+	/**
+	 * @return every category below {@code categoryId}, level by level
+	 */
+	public List<CategoryDto> descendantsOf(final Integer categoryId) {
+		return this.resolve(this.descendants.getOrDefault(categoryId, List.of()));
+	}
+	
+	public int size() {
+		return this.categories.size();
+	}
+	
+	private List<CategoryDto> resolve(final List<Integer> categoryIds) {
+		final List<CategoryDto> resolved = new ArrayList<>(categoryIds.size());
+		categoryIds.forEach(categoryId -> resolved.add(this.categories.get(categoryId)));
+		return resolved;
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,118 @@
+package com.selimhorri.app.config.category;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.CategoryClosure;
+import com.selimhorri.app.repository.CategoryClosureRepository;
+import com.selimhorri.app.repository.CategoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link CategoryTree} snapshot. Category writes trigger a
+ * reload once their transaction commits and the new snapshot is swapped in
+ * atomically; a slower reload that started earlier never replaces a newer one.
+ * <p>
+ * On startup an empty closure table is backfilled from the parent links, which
+ * covers databases that held categories before the table existed.
+ */
+@Component
+@Slf4j
+public class CategoryTreeCache {
+	
+	private final CategoryRepository categoryRepository;
+	private final CategoryClosureRepository categoryClosureRepository;
+	private final TransactionTemplate readTemplate;
+	private final TransactionTemplate writeTemplate;
+	private final AtomicLong generations = new AtomicLong();
+	private final AtomicReference<CategoryTree> tree = new AtomicReference<>(CategoryTree.empty());
+	
+	public CategoryTreeCache(
+			final CategoryRepository categoryRepository, 
+			final CategoryClosureRepository categoryClosureRepository, 
+			final PlatformTransactionManager transactionManager) {
+		this.categoryRepository = categoryRepository;
+		this.categoryClosureRepository = categoryClosureRepository;
+		this.readTemplate = new TransactionTemplate(transactionManager);
+		this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readTemplate.setReadOnly(true);
+		this.writeTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	public CategoryTree tree() {
+		return this.tree.get();
+	}
+	
+	/**
+	 * Reloads the snapshot once the surrounding transaction commits.
+	 */
+	public void refresh() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.reload();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				CategoryTreeCache.this.reload();
+			}
+		});
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		final Integer backfilled = this.writeTemplate.execute(status -> this.backfill());
+		if (backfilled > 0)
+			log.info("*** backfilled {} category closure rows *", backfilled);
+		this.reload();
+		log.info("*** loaded category tree with {} categories *", this.tree().size());
+	}
+	
+	private void reload() {
+		final long generation = this.generations.incrementAndGet();
+		try {
+			final CategoryTree loaded = this.readTemplate.execute(status -> CategoryTree.of(generation, 
+					this.categoryRepository.findAllNodes(), this.categoryClosureRepository.findAll()));
+			this.tree.accumulateAndGet(loaded, 
+					(current, candidate) -> (candidate.generation() > current.generation()) ? candidate : current);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** could not reload category tree: {} *", e.getMessage());
+		}
+	}
+	
+	private int backfill() {
+		if (this.categoryClosureRepository.count() > 0)
+			return 0;
+		final Map<Integer, Integer> parents = new HashMap<>();
+		this.categoryRepository.findAllParentLinks()
+				.forEach(link -> parents.put((Integer) link[0], (Integer) link[1]));
+		final List<CategoryClosure> paths = new ArrayList<>();
+		parents.keySet().forEach(categoryId -> {
+			int depth = 0;
+			for (Integer ancestorId = categoryId; ancestorId != null && depth <= parents.size(); 
+					ancestorId = parents.get(ancestorId), depth++)
+				paths.add(new CategoryClosure(ancestorId, categoryId, depth));
+		});
+		this.categoryClosureRepository.saveAll(paths);
+		return paths.size();
+	}
+	
+	
+	
+}
+
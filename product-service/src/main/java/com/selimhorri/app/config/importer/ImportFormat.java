@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.importer;
+
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+
+public enum ImportFormat {
+	
+	CSV,
+	NDJSON;
+	
+	/**
+	 * Takes the explicit {@code format} parameter when given, otherwise the
+	 * media type of the request body.
+	 */
+	public static ImportFormat of(final String format, final String contentType) {
+		if (format != null && !format.isBlank()) {
+			for (final ImportFormat candidate : values())
+				if (candidate.name().equalsIgnoreCase(format.strip()))
+					return candidate;
+			throw new ProductImportException(String.format("Unsupported import format: %s", format));
+		}
+		if (contentType != null) {
+			final String mediaType = contentType.toLowerCase();
+			if (mediaType.startsWith("text/csv"))
+				return CSV;
+			if (mediaType.startsWith("application/x-ndjson") || mediaType.startsWith("application/jsonl"))
+				return NDJSON;
+		}
+		throw new ProductImportException("Import format must be given as text/csv, application/x-ndjson or ?format=");
+	}
+	
+	
+	
+}
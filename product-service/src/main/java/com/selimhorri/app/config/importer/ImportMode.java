@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.importer;
+
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+
+/**
+ * {@link #UPSERT} creates products for unknown SKUs; {@link #UPDATE} only
+ * touches existing ones, which suits bulk price and stock files where an
+ * unknown SKU is a mistake rather than a new product.
+ */
+public enum ImportMode {
+	
+	UPSERT,
+	UPDATE;
+	
+	public static ImportMode of(final String mode) {
+		if (mode == null || mode.isBlank())
+			return UPSERT;
+		for (final ImportMode candidate : values())
+			if (candidate.name().equalsIgnoreCase(mode.strip()))
+				return candidate;
+		throw new ProductImportException(String.format("Unsupported import mode: %s", mode));
+	}
+	
+	
+	
+}
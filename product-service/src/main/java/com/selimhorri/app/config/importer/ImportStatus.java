@@ -0,0 +1,10 @@
+package com.selimhorri.app.config.importer;
+
+public enum ImportStatus {
+	
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	FAILED;
+	
+}
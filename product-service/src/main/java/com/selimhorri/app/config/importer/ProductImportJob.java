@@ -0,0 +1,112 @@
+package com.selimhorri.app.config.importer;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.selimhorri.app.dto.ProductImportDto;
+import com.selimhorri.app.dto.ProductImportErrorDto;
+
+import lombok.Getter;
+
+/**
+ * Progress of one import. Counters are written by the import thread and read by
+ * status requests at any time; only the first {@code maxErrors} failed rows are
+ * kept in detail.
+ */
+@Getter
+final class ProductImportJob {
+	
+	private final String jobId;
+	private final ImportFormat format;
+	private final ImportMode mode;
+	private final Path spool;
+	private final int maxErrors;
+	private final Instant submittedAt = Instant.now();
+	private final AtomicLong rowsRead = new AtomicLong();
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong updated = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final List<ProductImportErrorDto> errors = new ArrayList<>();
+	private volatile ImportStatus status = ImportStatus.QUEUED;
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile String message;
+	
+	ProductImportJob(final String jobId, final ImportFormat format, final ImportMode mode, final Path spool, 
+			final int maxErrors) {
+		this.jobId = jobId;
+		this.format = format;
+		this.mode = mode;
+		this.spool = spool;
+		this.maxErrors = maxErrors;
+	}
+	
+	void start() {
+		this.startedAt = Instant.now();
+		this.status = ImportStatus.RUNNING;
+	}
+	
+	void written(final int created, final int updated) {
+		this.created.addAndGet(created);
+		this.updated.addAndGet(updated);
+	}
+	
+	void reject(final long line, final String sku, final String error) {
+		this.failed.incrementAndGet();
+		synchronized (this.errors) {
+			if (this.errors.size() < this.maxErrors)
+				this.errors.add(ProductImportErrorDto.builder()
+						.line(line)
+						.sku(sku)
+						.message(error)
+						.build());
+		}
+	}
+	
+	void complete() {
+		this.finish(ImportStatus.COMPLETED, null);
+	}
+	
+	void fail(final String message) {
+		this.finish(ImportStatus.FAILED, message);
+	}
+	
+	boolean isFinishedBefore(final Instant instant) {
+		final Instant finished = this.finishedAt;
+		return finished != null && finished.isBefore(instant);
+	}
+	
+	ProductImportDto toDto() {
+		final List<ProductImportErrorDto> errorsCopy;
+		synchronized (this.errors) {
+			errorsCopy = List.copyOf(this.errors);
+		}
+		return ProductImportDto.builder()
+				.jobId(this.jobId)
+				.format(this.format)
+				.mode(this.mode)
+				.status(this.status)
+				.submittedAt(this.submittedAt)
+				.startedAt(this.startedAt)
+				.finishedAt(this.finishedAt)
+				.rowsRead(this.rowsRead.get())
+				.created(this.created.get())
+				.updated(this.updated.get())
+				.failed(this.failed.get())
+				.errors(errorsCopy)
+				.message(this.message)
+				.build();
+	}
+	
+	private void finish(final ImportStatus status, final String message) {
+		this.message = message;
+		this.finishedAt = Instant.now();
+		this.status = status;
+	}
+	
+	
+	
+}
@@ -0,0 +1,296 @@
+package com.selimhorri.app.config.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads import records one at a time through a fixed-size buffer, so memory
+ * stays bounded by the longest record rather than the size of the file. CSV
+ * follows RFC 4180 (quoted fields may hold commas, quotes and line breaks) and
+ * names its columns in a header row; NDJSON holds one JSON object per line.
+ * <p>
+ * A record that cannot be turned into a {@link ProductImportRow} comes back as
+ * an {@link Entry} carrying the error, and reading goes on with the next one.
+ * Only a record longer than {@link #MAX_RECORD_LENGTH} ends the read, since a
+ * stray quote would otherwise pull the rest of the file into memory.
+ */
+public abstract class ProductImportReader implements Closeable {
+	
+	static final int MAX_RECORD_LENGTH = 65_536;
+	
+	private final Reader reader;
+	private final char[] buffer = new char[8192];
+	private int position;
+	private int limit;
+	private long line = 1;
+	
+	protected ProductImportReader(final Reader reader) {
+		this.reader = reader;
+	}
+	
+	public static ProductImportReader of(final ImportFormat format, final Reader reader, final ObjectReader rowReader) {
+		return (format == ImportFormat.CSV) ? new Csv(reader) : new Ndjson(reader, rowReader);
+	}
+	
+	/**
+	 * @return the next record, or null once the input is exhausted
+	 */
+	public abstract Entry next() throws IOException;
+	
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+	
+	protected long line() {
+		return this.line;
+	}
+	
+	protected int read() throws IOException {
+		final int c = this.peek();
+		if (c == -1)
+			return -1;
+		this.position++;
+		if (c == '\n' || (c == '\r' && this.peek() != '\n'))
+			this.line++;
+		return c;
+	}
+	
+	protected int peek() throws IOException {
+		if (this.position == this.limit) {
+			final int read = this.reader.read(this.buffer, 0, this.buffer.length);
+			if (read <= 0)
+				return -1;
+			this.position = 0;
+			this.limit = read;
+		}
+		return this.buffer[this.position];
+	}
+	
+	protected void checkLength(final int length, final long startLine) {
+		if (length > MAX_RECORD_LENGTH)
+			throw new ProductImportException(String.format("Record at line %d exceeds %d characters", 
+					startLine, MAX_RECORD_LENGTH));
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Entry {
+		
+		private final long line;
+		private final ProductImportRow row;
+		private final String error;
+		
+		static Entry of(final long line, final ProductImportRow row) {
+			return new Entry(line, row, null);
+		}
+		
+		static Entry failed(final long line, final String sku, final String error) {
+			return new Entry(line, ProductImportRow.builder().sku(sku).build(), error);
+		}
+		
+		public boolean isFailed() {
+			return this.error != null;
+		}
+		
+	}
+	
+	private static final class Csv extends ProductImportReader {
+		
+		private static final Map<String, Integer> COLUMNS = Map.of(
+				"sku", 0, 
+				"producttitle", 1, 
+				"imageurl", 2, 
+				"priceunit", 3, 
+				"quantity", 4, 
+				"categoryid", 5);
+		
+		private final int[] columns = new int[COLUMNS.size()];
+		private boolean headerRead;
+		private boolean unterminated;
+		
+		private Csv(final Reader reader) {
+			super(reader);
+		}
+		
+		@Override
+		public Entry next() throws IOException {
+			if (!this.headerRead)
+				this.readHeader();
+			List<String> fields;
+			long startLine;
+			do {
+				startLine = this.line();
+				fields = this.readRecord();
+				if (fields == null)
+					return null;
+			} while (fields.size() == 1 && fields.get(0).isBlank());
+			final String sku = this.text(fields, 0);
+			if (this.unterminated)
+				return Entry.failed(startLine, sku, "unterminated quoted field");
+			try {
+				return Entry.of(startLine, ProductImportRow.builder()
+						.sku(sku)
+						.productTitle(this.text(fields, 1))
+						.imageUrl(this.text(fields, 2))
+						.priceUnit(this.number(fields, 3, "priceUnit", Double::valueOf))
+						.quantity(this.number(fields, 4, "quantity", Integer::valueOf))
+						.categoryId(this.number(fields, 5, "categoryId", Integer::valueOf))
+						.build());
+			}
+			catch (IllegalArgumentException e) {
+				return Entry.failed(startLine, sku, e.getMessage());
+			}
+		}
+		
+		/**
+		 * Column names match the {@link ProductImportRow} properties, ignoring
+		 * case and underscores; unknown columns are skipped.
+		 */
+		private void readHeader() throws IOException {
+			this.headerRead = true;
+			Arrays.fill(this.columns, -1);
+			final List<String> header = this.readRecord();
+			if (header != null)
+				for (int i = 0; i < header.size(); i++) {
+					final Integer column = COLUMNS.get(header.get(i).strip()
+							.replace("_", "").toLowerCase(Locale.ROOT));
+					if (column != null)
+						this.columns[column] = i;
+				}
+			if (this.columns[0] < 0)
+				throw new ProductImportException("CSV header must name a sku column");
+		}
+		
+		private List<String> readRecord() throws IOException {
+			final long startLine = this.line();
+			int c = this.read();
+			if (c == -1)
+				return null;
+			final List<String> fields = new ArrayList<>();
+			final StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			boolean wasQuoted = false;
+			int length = 0;
+			this.unterminated = false;
+			while (true) {
+				if (c == -1) {
+					this.unterminated = quoted;
+					fields.add(field.toString());
+					return fields;
+				}
+				if (quoted) {
+					if (c != '"')
+						field.append((char) c);
+					else if (this.peek() == '"')
+						field.append((char) this.read());
+					else
+						quoted = false;
+				}
+				else if (c == '"' && field.length() == 0 && !wasQuoted) {
+					quoted = true;
+					wasQuoted = true;
+				}
+				else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+					wasQuoted = false;
+				}
+				else if (c == '\n' || c == '\r') {
+					if (c == '\r' && this.peek() == '\n')
+						this.read();
+					fields.add(field.toString());
+					return fields;
+				}
+				else
+					field.append((char) c);
+				this.checkLength(++length, startLine);
+				c = this.read();
+			}
+		}
+		
+		private String text(final List<String> fields, final int column) {
+			final int index = this.columns[column];
+			if (index < 0 || index >= fields.size())
+				return null;
+			final String value = fields.get(index).strip();
+			return value.isEmpty() ? null : value;
+		}
+		
+		private <N> N number(final List<String> fields, final int column, final String name, 
+				final Function<String, N> parser) {
+			final String value = this.text(fields, column);
+			if (value == null)
+				return null;
+			try {
+				return parser.apply(value);
+			}
+			catch (NumberFormatException e) {
+				throw new IllegalArgumentException(String.format("%s is not a number: %s", name, value));
+			}
+		}
+		
+	}
+	
+	private static final class Ndjson extends ProductImportReader {
+		
+		private final ObjectReader rowReader;
+		private final StringBuilder record = new StringBuilder();
+		
+		private Ndjson(final Reader reader, final ObjectReader rowReader) {
+			super(reader);
+			this.rowReader = rowReader.forType(ProductImportRow.class);
+		}
+		
+		@Override
+		public Entry next() throws IOException {
+			while (true) {
+				final long startLine = this.line();
+				if (!this.readLine())
+					return null;
+				if (this.record.toString().isBlank())
+					continue;
+				try {
+					return Entry.of(startLine, this.rowReader.readValue(this.record.toString()));
+				}
+				catch (JsonProcessingException e) {
+					return Entry.failed(startLine, null, "malformed record: " + e.getOriginalMessage());
+				}
+			}
+		}
+		
+		private boolean readLine() throws IOException {
+			final long startLine = this.line();
+			this.record.setLength(0);
+			int c = this.read();
+			if (c == -1)
+				return false;
+			while (c != -1 && c != '\n' && c != '\r') {
+				this.record.append((char) c);
+				this.checkLength(this.record.length(), startLine);
+				c = this.read();
+			}
+			if (c == '\r' && this.peek() == '\n')
+				this.read();
+			return true;
+		}
+		
+	}
+	
+	
+	
+}
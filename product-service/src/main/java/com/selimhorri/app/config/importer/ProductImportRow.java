@@ -0,0 +1,27 @@
+package com.selimhorri.app.config.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One record of an import file. Absent fields leave the stored value alone, so
+ * a file carrying only {@code sku} and {@code quantity} is a stock update.
+ * {@code quantity} counts the units on hand, including those held by open
+ * reservations.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductImportRow {
+	
+	private String sku;
+	private String productTitle;
+	private String imageUrl;
+	private Double priceUnit;
+	private Integer quantity;
+	private Integer categoryId;
+	
+}
@@ -0,0 +1,293 @@
+package com.selimhorri.app.config.importer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.category.CategoryTreeCache;
+import com.selimhorri.app.config.importer.ProductImportReader.Entry;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.config.stock.FlashSaleStockAllocator;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Upserts one batch of import rows by SKU in a single transaction: one locking
+ * select finds the stored rows, then one JDBC batch updates them and another
+ * inserts the new ones. Rows of the batch that share a SKU are applied in file
+ * order onto the same product.
+ * <p>
+ * Each written product gets its outbox event in the same transaction, as a
+ * single-product write would; search re-indexing and cache eviction happen in
+ * bulk once the batch commits. Categories are resolved against the cached
+ * {@link com.selimhorri.app.config.category.CategoryTree}, so a row costs no
+ * category lookup of its own.
+ * <p>
+ * An imported quantity counts the units on hand. Units held by open
+ * reservations are already deducted from the stored quantity and come back
+ * when the hold is released, so they are subtracted before it is written; a
+ * row with fewer units than are on hold is rejected. Flash-sale products keep
+ * part of their stock in memory pools that only the stock engine can account
+ * for, so their quantity cannot be imported.
+ */
+@Component
+public class ProductImportWriter {
+	
+	private static final String SELECT_BY_SKU = "SELECT product_id, sku, product_title, image_url, price_unit, "
+			+ "quantity, category_id FROM products WHERE sku IN (%s)";
+	private static final String UPDATE = "UPDATE products SET product_title = ?, image_url = ?, price_unit = ?, "
+			+ "quantity = ?, category_id = ?, updated_at = ? WHERE product_id = ?";
+	private static final String SELECT_HELD = "SELECT product_id, SUM(quantity) FROM stock_reservations "
+			+ "WHERE status = ? AND product_id IN (%s) GROUP BY product_id";
+	private static final String INSERT = "INSERT INTO products (category_id, product_title, image_url, sku, "
+			+ "price_unit, quantity) VALUES (?, ?, ?, ?, ?, ?)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final CategoryTreeCache categoryTreeCache;
+	private final OutboxWriter outboxWriter;
+	private final ProductSearchIndexer productSearchIndexer;
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	private final FlashSaleStockAllocator flashSaleStockAllocator;
+	
+	public ProductImportWriter(
+			final JdbcTemplate jdbcTemplate, 
+			final PlatformTransactionManager transactionManager, 
+			final CategoryTreeCache categoryTreeCache, 
+			final OutboxWriter outboxWriter, 
+			final ProductSearchIndexer productSearchIndexer, 
+			final CatalogCacheInvalidator catalogCacheInvalidator, 
+			final FlashSaleStockAllocator flashSaleStockAllocator) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.categoryTreeCache = categoryTreeCache;
+		this.outboxWriter = outboxWriter;
+		this.productSearchIndexer = productSearchIndexer;
+		this.catalogCacheInvalidator = catalogCacheInvalidator;
+		this.flashSaleStockAllocator = flashSaleStockAllocator;
+	}
+	
+	/**
+	 * A batch that races another writer inserting one of its SKUs fails on the
+	 * unique index and is retried once, when the select sees the stored row.
+	 */
+	public Result write(final List<Entry> entries, final ImportMode mode) {
+		try {
+			return this.transactionTemplate.execute(status -> this.writeBatch(entries, mode));
+		}
+		catch (DuplicateKeyException e) {
+			return this.transactionTemplate.execute(status -> this.writeBatch(entries, mode));
+		}
+	}
+	
+	private Result writeBatch(final List<Entry> entries, final ImportMode mode) {
+		final Map<String, ProductDto> stored = this.findBySku(entries.stream()
+				.map(entry -> entry.getRow().getSku())
+				.collect(Collectors.toSet()), true);
+		final Map<Integer, Integer> held = this.findHeldUnits(stored.values().stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toSet()));
+		final Map<String, ProductDto> merged = new LinkedHashMap<>();
+		final Set<String> stocked = new HashSet<>();
+		final List<Entry> rejected = new ArrayList<>();
+		for (final Entry entry : entries) {
+			final ProductImportRow row = entry.getRow();
+			ProductDto product = merged.getOrDefault(row.getSku(), stored.get(row.getSku()));
+			if (product == null && mode == ImportMode.UPDATE) {
+				rejected.add(Entry.failed(entry.getLine(), row.getSku(), "unknown sku"));
+				continue;
+			}
+			if (row.getQuantity() != null && product != null && product.getProductId() != null 
+					&& this.flashSaleStockAllocator.isManaged(product.getProductId())) {
+				rejected.add(Entry.failed(entry.getLine(), row.getSku(), 
+						"stock of a flash-sale product cannot be imported"));
+				continue;
+			}
+			final int onHold = (product == null) ? 0 : held.getOrDefault(product.getProductId(), 0);
+			if (row.getQuantity() != null && row.getQuantity() < onHold) {
+				rejected.add(Entry.failed(entry.getLine(), row.getSku(), 
+						String.format("quantity %d is below the %d units on hold", row.getQuantity(), onHold)));
+				continue;
+			}
+			final CategoryDto category = (row.getCategoryId() == null) ? null : this.category(row.getCategoryId());
+			if (row.getCategoryId() != null && category == null) {
+				rejected.add(Entry.failed(entry.getLine(), row.getSku(), 
+						String.format("unknown categoryId: %d", row.getCategoryId())));
+				continue;
+			}
+			if (product == null)
+				product = ProductDto.builder().sku(row.getSku()).build();
+			apply(row, category, product);
+			merged.put(row.getSku(), product);
+			if (row.getQuantity() != null)
+				stocked.add(row.getSku());
+		}
+		
+		// an imported quantity is written as the units on hand less those on hold
+		stocked.forEach(sku -> {
+			final ProductDto product = merged.get(sku);
+			if (product.getProductId() != null)
+				product.setQuantity(product.getQuantity() - held.getOrDefault(product.getProductId(), 0));
+		});
+		
+		final List<ProductDto> updates = new ArrayList<>();
+		final List<ProductDto> inserts = new ArrayList<>();
+		merged.values().forEach(product -> ((product.getProductId() != null) ? updates : inserts).add(product));
+		final Timestamp now = Timestamp.from(Instant.now());
+		if (!updates.isEmpty())
+			this.jdbcTemplate.batchUpdate(UPDATE, updates.stream()
+					.map(product -> new Object[] { product.getProductTitle(), product.getImageUrl(), product.getPriceUnit(), 
+							product.getQuantity(), categoryId(product), now, product.getProductId() })
+					.collect(Collectors.toList()), 
+					new int[] { Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.INTEGER, Types.INTEGER, Types.TIMESTAMP, 
+							Types.INTEGER });
+		if (!inserts.isEmpty()) {
+			this.jdbcTemplate.batchUpdate(INSERT, inserts.stream()
+					.map(product -> new Object[] { categoryId(product), product.getProductTitle(), product.getImageUrl(), 
+							product.getSku(), product.getPriceUnit(), product.getQuantity() })
+					.collect(Collectors.toList()), 
+					new int[] { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.INTEGER });
+			final Map<String, ProductDto> inserted = this.findBySku(inserts.stream()
+					.map(ProductDto::getSku)
+					.collect(Collectors.toSet()), false);
+			inserts.forEach(product -> product.setProductId(inserted.get(product.getSku()).getProductId()));
+		}
+		
+		updates.forEach(product -> this.outboxWriter.append(AppConstant.Events.PRODUCT, product.getProductId(), 
+				AppConstant.Events.PRODUCT_UPDATED, product));
+		inserts.forEach(product -> this.outboxWriter.append(AppConstant.Events.PRODUCT, product.getProductId(), 
+				AppConstant.Events.PRODUCT_CREATED, product));
+		final List<Integer> updatedIds = updates.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toUnmodifiableList());
+		this.catalogCacheInvalidator.evictProducts(updatedIds);
+		this.productSearchIndexer.productsChanged(merged.values().stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toUnmodifiableList()));
+		return new Result(inserts.size(), updates.size(), rejected);
+	}
+	
+	private Map<String, ProductDto> findBySku(final Collection<String> skus, final boolean forUpdate) {
+		final Map<String, ProductDto> products = new HashMap<>();
+		if (skus.isEmpty())
+			return products;
+		final String sql = String.format(SELECT_BY_SKU, String.join(", ", Collections.nCopies(skus.size(), "?")))
+				+ (forUpdate ? " FOR UPDATE" : "");
+		this.jdbcTemplate.query(sql, rs -> {
+			final ProductDto product = this.map(rs);
+			products.put(product.getSku(), product);
+		}, skus.toArray());
+		return products;
+	}
+	
+	/**
+	 * Units held by open reservations, per product that has any. The products
+	 * are locked by then, so no hold can be taken on them until the batch
+	 * commits.
+	 */
+	private Map<Integer, Integer> findHeldUnits(final Collection<Integer> productIds) {
+		final Map<Integer, Integer> held = new HashMap<>();
+		if (productIds.isEmpty())
+			return held;
+		final List<Object> args = new ArrayList<>(productIds.size() + 1);
+		args.add(ReservationStatus.RESERVED.name());
+		args.addAll(productIds);
+		this.jdbcTemplate.query(String.format(SELECT_HELD, String.join(", ", Collections.nCopies(productIds.size(), "?"))), 
+				rs -> {
+					held.put(rs.getInt(1), rs.getInt(2));
+				}, args.toArray());
+		return held;
+	}
+	
+	private ProductDto map(final ResultSet rs) throws SQLException {
+		final double priceUnit = rs.getDouble("price_unit");
+		final Double price = rs.wasNull() ? null : priceUnit;
+		final int quantity = rs.getInt("quantity");
+		final Integer stock = rs.wasNull() ? null : quantity;
+		final int storedCategoryId = rs.getInt("category_id");
+		final Integer categoryId = rs.wasNull() ? null : storedCategoryId;
+		return ProductDto.builder()
+				.productId(rs.getInt("product_id"))
+				.sku(rs.getString("sku"))
+				.productTitle(rs.getString("product_title"))
+				.imageUrl(rs.getString("image_url"))
+				.priceUnit(price)
+				.quantity(stock)
+				.categoryDto((categoryId == null) ? null : this.storedCategory(categoryId))
+				.build();
+	}
+	
+	private CategoryDto category(final Integer categoryId) {
+		return this.categoryTreeCache.tree().find(categoryId)
+				.map(category -> CategoryDto.builder()
+						.categoryId(category.getCategoryId())
+						.categoryTitle(category.getCategoryTitle())
+						.imageUrl(category.getImageUrl())
+						.build())
+				.orElse(null);
+	}
+	
+	/**
+	 * A stored row may point at a category the cached tree has not picked up
+	 * yet; its id is still carried over unchanged.
+	 */
+	private CategoryDto storedCategory(final int categoryId) {
+		final CategoryDto category = this.category(categoryId);
+		return (category != null) ? category : CategoryDto.builder().categoryId(categoryId).build();
+	}
+	
+	private static void apply(final ProductImportRow row, final CategoryDto category, final ProductDto product) {
+		if (row.getProductTitle() != null)
+			product.setProductTitle(row.getProductTitle());
+		if (row.getImageUrl() != null)
+			product.setImageUrl(row.getImageUrl());
+		if (row.getPriceUnit() != null)
+			product.setPriceUnit(row.getPriceUnit());
+		if (row.getQuantity() != null)
+			product.setQuantity(row.getQuantity());
+		if (category != null)
+			product.setCategoryDto(category);
+	}
+	
+	private static Integer categoryId(final ProductDto product) {
+		return (product.getCategoryDto() == null) ? null : product.getCategoryDto().getCategoryId();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Result {
+		
+		private final int created;
+		private final int updated;
+		private final List<Entry> rejected;
+		
+	}
+	
+	
+	
+}
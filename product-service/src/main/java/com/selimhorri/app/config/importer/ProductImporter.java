@@ -0,0 +1,253 @@
+package com.selimhorri.app.config.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.selimhorri.app.config.importer.ProductImportReader.Entry;
+import com.selimhorri.app.dto.ProductImportDto;
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs catalog imports in the background. The request body is spooled to a
+ * temporary file so the upload finishes at network speed, then a single import
+ * thread streams it through {@link ProductImportReader} and hands rows to
+ * {@link ProductImportWriter} in batches of {@code app.import.batch-size}.
+ * Only one batch is held in memory at a time, whatever the size of the file.
+ * <p>
+ * Jobs run one after another; at most {@code app.import.queue-capacity} wait
+ * behind the running one, and further submissions are refused. Rows that fail
+ * validation or their batch are counted against the job and the import goes
+ * on. Finished jobs stay queryable for {@code app.import.retention}.
+ */
+@Component
+@Slf4j
+public class ProductImporter {
+	
+	private static final int MAX_TEXT_LENGTH = 255;
+	private static final double MAX_PRICE_UNIT = 99_999.99;
+	
+	private final ProductImportWriter productImportWriter;
+	private final ObjectReader rowReader;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+	private final int batchSize;
+	private final int maxErrors;
+	private final Duration retention;
+	private final Counter created;
+	private final Counter updated;
+	private final Counter failed;
+	
+	public ProductImporter(
+			final ProductImportWriter productImportWriter, 
+			final ObjectMapper objectMapper, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.import.batch-size:500}") final int batchSize, 
+			@Value("${app.import.max-errors:100}") final int maxErrors, 
+			@Value("${app.import.queue-capacity:4}") final int queueCapacity, 
+			@Value("${app.import.retention:1h}") final Duration retention) {
+		this.productImportWriter = productImportWriter;
+		this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+		this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					final var thread = new Thread(runnable, "product-import");
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.batchSize = batchSize;
+		this.maxErrors = maxErrors;
+		this.retention = retention;
+		this.created = Counter.builder("product.import.rows")
+				.tag("outcome", "created")
+				.description("Imported rows that created a product")
+				.register(meterRegistry);
+		this.updated = Counter.builder("product.import.rows")
+				.tag("outcome", "updated")
+				.description("Imported rows that updated a product")
+				.register(meterRegistry);
+		this.failed = Counter.builder("product.import.rows")
+				.tag("outcome", "failed")
+				.description("Imported rows that were rejected")
+				.register(meterRegistry);
+		Gauge.builder("product.import.queued", this.executor, executor -> executor.getQueue().size())
+				.description("Import jobs waiting for the import thread")
+				.register(meterRegistry);
+	}
+	
+	public ProductImportDto submit(final InputStream body, final ImportFormat format, final ImportMode mode) {
+		this.expire();
+		if (this.executor.getQueue().remainingCapacity() == 0)
+			throw new ProductImportException("Import queue is full, retry later");
+		final Path spool = this.spool(body, format);
+		final var job = new ProductImportJob(UUID.randomUUID().toString(), format, mode, spool, this.maxErrors);
+		this.jobs.put(job.getJobId(), job);
+		try {
+			this.executor.execute(() -> this.run(job));
+		}
+		catch (RejectedExecutionException e) {
+			this.jobs.remove(job.getJobId());
+			delete(spool);
+			throw new ProductImportException("Import queue is full, retry later");
+		}
+		log.info("*** queued {} {} import {} *", format, mode, job.getJobId());
+		return job.toDto();
+	}
+	
+	public Optional<ProductImportDto> find(final String jobId) {
+		return Optional.ofNullable(this.jobs.get(jobId))
+				.map(ProductImportJob::toDto);
+	}
+	
+	/**
+	 * Interrupts the running import between rows; its committed batches stay.
+	 */
+	@PreDestroy
+	public void stop() {
+		this.executor.shutdownNow();
+		this.jobs.values().stream()
+				.filter(job -> job.getStatus() == ImportStatus.QUEUED)
+				.forEach(job -> {
+					job.fail("Service stopped before the import started");
+					delete(job.getSpool());
+				});
+	}
+	
+	private void run(final ProductImportJob job) {
+		job.start();
+		try (final ProductImportReader reader = ProductImportReader.of(job.getFormat(), 
+				new InputStreamReader(Files.newInputStream(job.getSpool()), StandardCharsets.UTF_8), this.rowReader)) {
+			final List<Entry> batch = new ArrayList<>(this.batchSize);
+			Entry entry;
+			while ((entry = reader.next()) != null) {
+				if (Thread.currentThread().isInterrupted())
+					throw new ProductImportException("Import was interrupted");
+				job.getRowsRead().incrementAndGet();
+				final String error = entry.isFailed() ? entry.getError() : validate(entry.getRow());
+				if (error != null) {
+					this.reject(job, entry.getLine(), entry.getRow().getSku(), error);
+					continue;
+				}
+				batch.add(entry);
+				if (batch.size() == this.batchSize) {
+					this.flush(job, batch);
+					batch.clear();
+				}
+			}
+			this.flush(job, batch);
+			job.complete();
+			log.info("*** import {} done: {} created, {} updated, {} failed *", job.getJobId(), 
+					job.getCreated(), job.getUpdated(), job.getFailed());
+		}
+		catch (IOException | RuntimeException e) {
+			job.fail(e.getMessage());
+			log.warn("*** import {} failed after {} rows: {} *", job.getJobId(), job.getRowsRead(), e.getMessage());
+		}
+		finally {
+			delete(job.getSpool());
+		}
+	}
+	
+	/**
+	 * A batch that cannot be written fails all of its rows; later batches are
+	 * still attempted.
+	 */
+	private void flush(final ProductImportJob job, final List<Entry> batch) {
+		if (batch.isEmpty())
+			return;
+		try {
+			final ProductImportWriter.Result result = this.productImportWriter.write(batch, job.getMode());
+			job.written(result.getCreated(), result.getUpdated());
+			this.created.increment(result.getCreated());
+			this.updated.increment(result.getUpdated());
+			result.getRejected().forEach(rejected -> 
+					this.reject(job, rejected.getLine(), rejected.getRow().getSku(), rejected.getError()));
+		}
+		catch (RuntimeException e) {
+			log.warn("*** import {} could not write batch of {} rows: {} *", job.getJobId(), batch.size(), e.getMessage());
+			batch.forEach(entry -> this.reject(job, entry.getLine(), entry.getRow().getSku(), 
+					"batch failed: " + e.getMessage()));
+		}
+	}
+	
+	private void reject(final ProductImportJob job, final long line, final String sku, final String error) {
+		job.reject(line, sku, error);
+		this.failed.increment();
+	}
+	
+	private Path spool(final InputStream body, final ImportFormat format) {
+		Path spool = null;
+		try {
+			spool = Files.createTempFile("product-import-", "." + format.name().toLowerCase(Locale.ROOT));
+			Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+			return spool;
+		}
+		catch (IOException e) {
+			delete(spool);
+			throw new ProductImportException("Could not read import body: " + e.getMessage(), e);
+		}
+	}
+	
+	private void expire() {
+		final Instant cutoff = Instant.now().minus(this.retention);
+		this.jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+	}
+	
+	static String validate(final ProductImportRow row) {
+		if (row.getSku() == null || row.getSku().isBlank())
+			return "sku is required";
+		if (row.getSku().length() > MAX_TEXT_LENGTH)
+			return String.format("sku exceeds %d characters", MAX_TEXT_LENGTH);
+		if (row.getProductTitle() != null && row.getProductTitle().length() > MAX_TEXT_LENGTH)
+			return String.format("productTitle exceeds %d characters", MAX_TEXT_LENGTH);
+		if (row.getImageUrl() != null && row.getImageUrl().length() > MAX_TEXT_LENGTH)
+			return String.format("imageUrl exceeds %d characters", MAX_TEXT_LENGTH);
+		if (row.getPriceUnit() != null && !(row.getPriceUnit() >= 0 && row.getPriceUnit() <= MAX_PRICE_UNIT))
+			return String.format("priceUnit must be between 0 and %.2f", MAX_PRICE_UNIT);
+		if (row.getQuantity() != null && row.getQuantity() < 0)
+			return "quantity must not be negative";
+		return null;
+	}
+	
+	private static void delete(final Path spool) {
+		if (spool == null)
+			return;
+		try {
+			Files.deleteIfExists(spool);
+		}
+		catch (IOException e) {
+			log.warn("*** could not delete import spool {}: {} *", spool, e.getMessage());
+		}
+	}
+	
+	
+	
+}
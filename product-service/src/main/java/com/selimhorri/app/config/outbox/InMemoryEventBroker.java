@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.selimhorri.app.dto.DomainEventDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broker for local runs and tests: hands every event to in-process
+ * subscribers on the relay thread. A failing subscriber is logged and skipped
+ * so it cannot hold back the outbox.
+ */
+@Slf4j
+public class InMemoryEventBroker implements EventBroker {
+	
+	private final List<Consumer<DomainEventDto>> subscribers = new CopyOnWriteArrayList<>();
+	
+	public void subscribe(final Consumer<DomainEventDto> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+	
+	@Override
+	public void publish(final List<DomainEventDto> events) {
+		for (final DomainEventDto event : events) {
+			for (final Consumer<DomainEventDto> subscriber : this.subscribers) {
+				try {
+					subscriber.accept(event);
+				}
+				catch (RuntimeException e) {
+					log.warn("*** subscriber failed on event {} *", event.getEventId(), e);
+				}
+			}
+		}
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,120 @@
+package com.selimhorri.app.config.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Character trie over index tokens, each with the number of products it occurs
+ * in. Every node also keeps the highest count below it, so completions come
+ * out most frequent first without walking the whole subtree of a short prefix.
+ * <p>
+ * Not thread-safe; {@link ProductSearchIndex} guards it with its lock.
+ */
+public class PrefixTrie {
+	
+	private final Node root = new Node();
+	
+	public void add(final String token) {
+		this.adjust(token, 1);
+	}
+	
+	public void remove(final String token) {
+		this.adjust(token, -1);
+	}
+	
+	/**
+	 * @return up to {@code limit} tokens starting with {@code prefix}, most
+	 * frequent first
+	 */
+	public List<String> complete(final String prefix, final int limit) {
+		final List<String> completions = new ArrayList<>(Math.min(limit, 64));
+		Node node = this.root;
+		for (int i = 0; i < prefix.length() && node != null; i++)
+			node = node.children.get(prefix.charAt(i));
+		if (node == null || node.maxCount == 0)
+			return completions;
+		
+		final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+		queue.add(new Candidate(node, node.maxCount, false));
+		while (!queue.isEmpty() && completions.size() < limit) {
+			final Candidate candidate = queue.poll();
+			if (candidate.terminal) {
+				completions.add(candidate.node.token);
+				continue;
+			}
+			if (candidate.node.count > 0)
+				queue.add(new Candidate(candidate.node, candidate.node.count, true));
+			for (final Node child : candidate.node.children.values())
+				if (child.maxCount > 0)
+					queue.add(new Candidate(child, child.maxCount, false));
+		}
+		return completions;
+	}
+	
+	private void adjust(final String token, final int delta) {
+		final Node[] path = new Node[token.length() + 1];
+		path[0] = this.root;
+		Node node = this.root;
+		for (int i = 0; i < token.length(); i++) {
+			final char c = token.charAt(i);
+			Node child = node.children.get(c);
+			if (child == null) {
+				if (delta < 0)
+					return;
+				child = new Node();
+				node.children.put(c, child);
+			}
+			node = child;
+			path[i + 1] = node;
+		}
+		node.token = token;
+		node.count = Math.max(0, node.count + delta);
+		for (int i = token.length(); i >= 0; i--) {
+			final Node current = path[i];
+			int max = current.count;
+			for (final Node child : current.children.values())
+				max = Math.max(max, child.maxCount);
+			current.maxCount = max;
+			if (i > 0 && max == 0 && current.children.isEmpty())
+				path[i - 1].children.remove(token.charAt(i - 1));
+		}
+	}
+	
+	private static final class Node {
+		
+		private final Map<Character, Node> children = new HashMap<>(4);
+		private String token;
+		private int count;
+		private int maxCount;
+		
+	}
+	
+	private static final class Candidate implements Comparable<Candidate> {
+		
+		private final Node node;
+		private final int priority;
+		private final boolean terminal;
+		
+		private Candidate(final Node node, final int priority, final boolean terminal) {
+			this.node = node;
+			this.priority = priority;
+			this.terminal = terminal;
+		}
+		
+		@Override
+		public int compareTo(final Candidate other) {
+			final int byPriority = Integer.compare(other.priority, this.priority);
+			if (byPriority != 0)
+				return byPriority;
+			return Boolean.compare(other.terminal, this.terminal);
+		}
+		
+	}
+	
+	
+	
+}
+
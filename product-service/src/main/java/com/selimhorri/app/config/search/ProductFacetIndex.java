@@ -0,0 +1,279 @@
+package com.selimhorri.app.config.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Membership bitmaps of product ids per category and for in-stock products,
+ * plus a price-ordered map of bitmaps, so filtered listings and category facet
+ * counts are bitmap operations instead of joins over the catalog.
+ * <p>
+ * Bitmaps hold direct category membership only; a category filter or facet
+ * includes its subcategories through the parent links loaded with
+ * {@link #replaceCategories(Map)}.
+ */
+public class ProductFacetIndex {
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, ProductDto> products = new HashMap<>();
+	private final Map<Integer, RoaringBitmap> byCategory = new HashMap<>();
+	private final NavigableMap<Double, RoaringBitmap> byPrice = new TreeMap<>();
+	private final RoaringBitmap all = new RoaringBitmap();
+	private final RoaringBitmap inStock = new RoaringBitmap();
+	private final RoaringBitmap unpriced = new RoaringBitmap();
+	private Map<Integer, Integer> parents = Map.of();
+	private Map<Integer, List<Integer>> children = Map.of();
+	
+	public void put(final ProductDto product) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(product.getProductId());
+			final int productId = product.getProductId();
+			this.products.put(productId, product);
+			this.all.add(productId);
+			final Integer categoryId = categoryIdOf(product);
+			if (categoryId != null)
+				this.byCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(productId);
+			if (product.getPriceUnit() != null)
+				this.byPrice.computeIfAbsent(product.getPriceUnit(), price -> new RoaringBitmap()).add(productId);
+			else
+				this.unpriced.add(productId);
+			if (product.getQuantity() != null && product.getQuantity() > 0)
+				this.inStock.add(productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param parents parent id of every category, {@code null} for roots
+	 */
+	public void replaceCategories(final Map<Integer, Integer> parents) {
+		final Map<Integer, List<Integer>> children = new HashMap<>();
+		parents.forEach((categoryId, parentId) -> {
+			if (parentId != null)
+				children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(categoryId);
+		});
+		this.lock.writeLock().lock();
+		try {
+			this.parents = new HashMap<>(parents);
+			this.children = children;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Products passing every given filter, ordered by id or by price then id and
+	 * paged after the product id {@code after}. Facet counts apply the price and
+	 * stock filters but not the category one, so they show how many products
+	 * every category (subcategories included) would list under them.
+	 */
+	public Listing list(final Criteria criteria, final Integer after, final int limit) {
+		this.lock.readLock().lock();
+		try {
+			RoaringBitmap filtered = this.all;
+			if (criteria.getInStock() != null)
+				filtered = (criteria.getInStock()) 
+						? RoaringBitmap.and(filtered, this.inStock) 
+						: RoaringBitmap.andNot(filtered, this.inStock);
+			if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null)
+				filtered = RoaringBitmap.and(filtered, this.priceRange(criteria.getMinPrice(), criteria.getMaxPrice()));
+			
+			final Map<Integer, Integer> facets = this.facets(filtered);
+			final RoaringBitmap matches = (criteria.getCategoryId() != null) 
+					? RoaringBitmap.and(filtered, this.subtree(criteria.getCategoryId())) 
+					: filtered;
+			final List<ProductDto> page = (criteria.isSortByPrice()) 
+					? this.pageByPrice(matches, criteria, after, limit) 
+					: this.pageById(matches, after, limit);
+			return new Listing(page, facets);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	private RoaringBitmap priceRange(final Double minPrice, final Double maxPrice) {
+		final double from = (minPrice != null) ? minPrice : Double.NEGATIVE_INFINITY;
+		final double to = (maxPrice != null) ? maxPrice : Double.POSITIVE_INFINITY;
+		if (from > to)
+			return new RoaringBitmap();
+		final NavigableMap<Double, RoaringBitmap> range = this.byPrice.subMap(from, true, to, true);
+		return RoaringBitmap.or(range.values().iterator());
+	}
+	
+	private RoaringBitmap subtree(final Integer categoryId) {
+		final RoaringBitmap members = new RoaringBitmap();
+		this.descendants(categoryId).forEach(id -> {
+			final RoaringBitmap direct = this.byCategory.get(id);
+			if (direct != null)
+				members.or(direct);
+		});
+		return members;
+	}
+	
+	private Set<Integer> descendants(final Integer categoryId) {
+		final Set<Integer> seen = new HashSet<>();
+		final Deque<Integer> pending = new ArrayDeque<>(List.of(categoryId));
+		while (!pending.isEmpty()) {
+			final Integer id = pending.poll();
+			if (seen.add(id))
+				pending.addAll(this.children.getOrDefault(id, List.of()));
+		}
+		return seen;
+	}
+	
+	private Map<Integer, Integer> facets(final RoaringBitmap filtered) {
+		final Map<Integer, Integer> counts = new HashMap<>();
+		this.byCategory.forEach((categoryId, direct) -> {
+			final int count = RoaringBitmap.andCardinality(filtered, direct);
+			if (count == 0)
+				return;
+			final Set<Integer> seen = new HashSet<>();
+			for (Integer id = categoryId; id != null && seen.add(id); id = this.parents.get(id))
+				counts.merge(id, count, Integer::sum);
+		});
+		return counts;
+	}
+	
+	private List<ProductDto> pageById(final RoaringBitmap matches, final Integer after, final int limit) {
+		final List<ProductDto> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+		if (after != null && after == Integer.MAX_VALUE)
+			return page;
+		final PeekableIntIterator iterator = matches.getIntIterator();
+		if (after != null)
+			iterator.advanceIfNeeded(after + 1);
+		while (iterator.hasNext() && page.size() < limit)
+			page.add(this.products.get(iterator.next()));
+		return page;
+	}
+	
+	/**
+	 * Price order resumes from the price of product {@code after}; a cursor
+	 * product deleted since the previous page ends the listing. Only the price
+	 * buckets inside the criteria's range are visited, and each contributes
+	 * just its intersection with {@code matches}.
+	 */
+	private List<ProductDto> pageByPrice(final RoaringBitmap matches, final Criteria criteria, final Integer after, 
+			final int limit) {
+		final List<ProductDto> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+		final ProductDto cursor = (after != null) ? this.products.get(after) : null;
+		if (after != null && cursor == null)
+			return page;
+		
+		final boolean resumeUnpriced = cursor != null && cursor.getPriceUnit() == null;
+		if (!resumeUnpriced) {
+			double from = (criteria.getMinPrice() != null) ? criteria.getMinPrice() : Double.NEGATIVE_INFINITY;
+			if (cursor != null)
+				from = Math.max(from, cursor.getPriceUnit());
+			final double to = (criteria.getMaxPrice() != null) ? criteria.getMaxPrice() : Double.POSITIVE_INFINITY;
+			if (from > to)
+				return page;
+			final NavigableMap<Double, RoaringBitmap> prices = this.byPrice.subMap(from, true, to, true);
+			for (final Map.Entry<Double, RoaringBitmap> entry : prices.entrySet()) {
+				final boolean samePrice = cursor != null && entry.getKey().equals(cursor.getPriceUnit());
+				this.collect(entry.getValue(), matches, samePrice ? after : null, page, limit);
+				if (page.size() >= limit)
+					return page;
+			}
+		}
+		this.collect(this.unpriced, matches, resumeUnpriced ? after : null, page, limit);
+		return page;
+	}
+	
+	private void collect(final RoaringBitmap bucket, final RoaringBitmap matches, final Integer after, 
+			final List<ProductDto> page, final int limit) {
+		if ((after != null && after == Integer.MAX_VALUE) || !RoaringBitmap.intersects(bucket, matches))
+			return;
+		final PeekableIntIterator iterator = RoaringBitmap.and(bucket, matches).getIntIterator();
+		if (after != null)
+			iterator.advanceIfNeeded(after + 1);
+		while (iterator.hasNext() && page.size() < limit)
+			page.add(this.products.get(iterator.next()));
+	}
+	
+	private void unindex(final Integer productId) {
+		final ProductDto previous = this.products.remove(productId);
+		if (previous == null)
+			return;
+		this.all.remove(productId);
+		this.inStock.remove(productId);
+		this.unpriced.remove(productId);
+		final Integer categoryId = categoryIdOf(previous);
+		if (categoryId != null)
+			removeFrom(this.byCategory, categoryId, productId);
+		if (previous.getPriceUnit() != null)
+			removeFrom(this.byPrice, previous.getPriceUnit(), productId);
+	}
+	
+	private static <K> void removeFrom(final Map<K, RoaringBitmap> bitmaps, final K key, final int productId) {
+		final RoaringBitmap bitmap = bitmaps.get(key);
+		if (bitmap != null && bitmap.checkedRemove(productId) && bitmap.isEmpty())
+			bitmaps.remove(key);
+	}
+	
+	private static Integer categoryIdOf(final ProductDto product) {
+		return (product.getCategoryDto() != null) ? product.getCategoryDto().getCategoryId() : null;
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Criteria {
+		
+		private final Integer categoryId;
+		private final Double minPrice;
+		private final Double maxPrice;
+		private final Boolean inStock;
+		private final boolean sortByPrice;
+		
+		public boolean isEmpty() {
+			return this.categoryId == null && this.minPrice == null && this.maxPrice == null 
+					&& this.inStock == null && !this.sortByPrice;
+		}
+		
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Listing {
+		
+		private final List<ProductDto> products;
+		private final Map<Integer, Integer> categoryFacets;
+		
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,278 @@
+package com.selimhorri.app.config.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Inverted index over product title, SKU and category title. Each token maps to
+ * a compressed bitmap of product ids, so a query is a handful of bitmap ANDs and
+ * the page is read straight from the indexed DTOs without touching the database.
+ * <p>
+ * Tokens are accent-folded, lower-cased alphanumeric runs. A query term with no
+ * exact match and at least {@value #MIN_FUZZY_LENGTH} characters also matches
+ * tokens one edit away (insertion, deletion, substitution or adjacent
+ * transposition), found through a map of single-character deletions. The last
+ * word of {@code prefix} is expanded through a {@link PrefixTrie}.
+ */
+public class ProductSearchIndex {
+	
+	private static final int MIN_FUZZY_LENGTH = 4;
+	private static final int MAX_FUZZY_LENGTH = 20;
+	private static final int MAX_PREFIX_EXPANSION = 256;
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, RoaringBitmap> postings = new HashMap<>();
+	private final Map<String, Set<String>> deletions = new HashMap<>();
+	private final Map<Integer, Document> documents = new HashMap<>();
+	private final PrefixTrie trie = new PrefixTrie();
+	
+	/**
+	 * Indexes a product, or re-indexes it if it is already present; only tokens
+	 * that changed touch the postings.
+	 */
+	public void put(final ProductDto product) {
+		final Set<String> tokens = tokensOf(product);
+		this.lock.writeLock().lock();
+		try {
+			final Document previous = this.documents.put(product.getProductId(), new Document(product, tokens));
+			final Set<String> previousTokens = (previous != null) ? previous.tokens : Set.of();
+			for (final String token : previousTokens)
+				if (!tokens.contains(token))
+					this.unindex(token, product.getProductId());
+			for (final String token : tokens)
+				if (!previousTokens.contains(token))
+					this.index(token, product.getProductId());
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			final Document removed = this.documents.remove(productId);
+			if (removed != null)
+				removed.tokens.forEach(token -> this.unindex(token, productId));
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.documents.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Products matching every word of {@code query} and of {@code prefix}, where
+	 * the last word of {@code prefix} may be incomplete. Ordered by product id and
+	 * paged with {@code after} like the catalog listing.
+	 */
+	public List<ProductDto> search(final String query, final String prefix, final Integer after, final int limit) {
+		final List<String> terms = new ArrayList<>(tokenize(query));
+		final List<String> prefixWords = tokenize(prefix);
+		final String partial = (prefixWords.isEmpty()) ? null : prefixWords.get(prefixWords.size() - 1);
+		if (partial != null)
+			terms.addAll(prefixWords.subList(0, prefixWords.size() - 1));
+		if ((terms.isEmpty() && partial == null) || (after != null && after == Integer.MAX_VALUE))
+			return List.of();
+		
+		this.lock.readLock().lock();
+		try {
+			RoaringBitmap matches = null;
+			for (final String term : terms) {
+				final RoaringBitmap termMatches = this.match(term);
+				matches = (matches == null) ? termMatches : RoaringBitmap.and(matches, termMatches);
+				if (matches.isEmpty())
+					return List.of();
+			}
+			if (partial != null) {
+				final RoaringBitmap completions = new RoaringBitmap();
+				this.trie.complete(partial, MAX_PREFIX_EXPANSION)
+						.forEach(token -> completions.or(this.postings.get(token)));
+				matches = (matches == null) ? completions : RoaringBitmap.and(matches, completions);
+			}
+			
+			final List<ProductDto> page = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+			final PeekableIntIterator iterator = matches.getIntIterator();
+			if (after != null)
+				iterator.advanceIfNeeded(after + 1);
+			while (iterator.hasNext() && page.size() < limit)
+				page.add(this.documents.get(iterator.next()).product);
+			return page;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Indexed words starting with the last word of {@code prefix}, most common
+	 * first.
+	 */
+	public List<String> suggest(final String prefix, final int limit) {
+		final List<String> words = tokenize(prefix);
+		if (words.isEmpty())
+			return List.of();
+		this.lock.readLock().lock();
+		try {
+			return this.trie.complete(words.get(words.size() - 1), limit);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	static List<String> tokenize(final String text) {
+		if (text == null || text.isBlank())
+			return List.of();
+		final String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return Arrays.stream(SEPARATORS.split(folded))
+				.filter(token -> !token.isEmpty())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * True when {@code a} and {@code b} differ by at most one insertion,
+	 * deletion, substitution or swap of adjacent characters.
+	 */
+	static boolean withinOneEdit(final String a, final String b) {
+		final int lengthA = a.length();
+		final int lengthB = b.length();
+		if (Math.abs(lengthA - lengthB) > 1)
+			return false;
+		int i = 0;
+		while (i < Math.min(lengthA, lengthB) && a.charAt(i) == b.charAt(i))
+			i++;
+		if (i == lengthA && i == lengthB)
+			return true;
+		if (lengthA > lengthB)
+			return a.regionMatches(i + 1, b, i, lengthB - i);
+		if (lengthB > lengthA)
+			return b.regionMatches(i + 1, a, i, lengthA - i);
+		if (a.regionMatches(i + 1, b, i + 1, lengthA - i - 1))
+			return true;
+		return i + 1 < lengthA 
+				&& a.charAt(i) == b.charAt(i + 1) 
+				&& a.charAt(i + 1) == b.charAt(i) 
+				&& a.regionMatches(i + 2, b, i + 2, lengthA - i - 2);
+	}
+	
+	private static Set<String> tokensOf(final ProductDto product) {
+		final Set<String> tokens = new LinkedHashSet<>(tokenize(product.getProductTitle()));
+		final List<String> skuParts = tokenize(product.getSku());
+		tokens.addAll(skuParts);
+		if (skuParts.size() > 1)
+			tokens.add(String.join("", skuParts));
+		if (product.getCategoryDto() != null)
+			tokens.addAll(tokenize(product.getCategoryDto().getCategoryTitle()));
+		return tokens;
+	}
+	
+	private static List<String> deletionsOf(final String token) {
+		final List<String> variants = new ArrayList<>(token.length());
+		for (int i = 0; i < token.length(); i++)
+			variants.add(token.substring(0, i) + token.substring(i + 1));
+		return variants;
+	}
+	
+	private static boolean fuzzyEligible(final String token) {
+		return token.length() >= MIN_FUZZY_LENGTH && token.length() <= MAX_FUZZY_LENGTH;
+	}
+	
+	private RoaringBitmap match(final String term) {
+		final RoaringBitmap exact = this.postings.get(term);
+		if (exact != null)
+			return exact;
+		final RoaringBitmap fuzzy = new RoaringBitmap();
+		if (fuzzyEligible(term))
+			this.typoCandidates(term).forEach(candidate -> fuzzy.or(this.postings.get(candidate)));
+		return fuzzy;
+	}
+	
+	private Set<String> typoCandidates(final String term) {
+		final Set<String> candidates = new HashSet<>(this.deletions.getOrDefault(term, Set.of()));
+		for (final String variant : deletionsOf(term)) {
+			if (this.postings.containsKey(variant))
+				candidates.add(variant);
+			candidates.addAll(this.deletions.getOrDefault(variant, Set.of()));
+		}
+		candidates.removeIf(candidate -> !withinOneEdit(term, candidate));
+		return candidates;
+	}
+	
+	private void index(final String token, final int productId) {
+		RoaringBitmap bitmap = this.postings.get(token);
+		if (bitmap == null) {
+			bitmap = new RoaringBitmap();
+			this.postings.put(token, bitmap);
+			if (fuzzyEligible(token))
+				deletionsOf(token).forEach(variant -> this.deletions
+						.computeIfAbsent(variant, v -> new HashSet<>(2))
+						.add(token));
+		}
+		bitmap.add(productId);
+		this.trie.add(token);
+	}
+	
+	private void unindex(final String token, final int productId) {
+		final RoaringBitmap bitmap = this.postings.get(token);
+		if (bitmap == null || !bitmap.checkedRemove(productId))
+			return;
+		this.trie.remove(token);
+		if (!bitmap.isEmpty())
+			return;
+		this.postings.remove(token);
+		if (fuzzyEligible(token)) {
+			for (final String variant : deletionsOf(token)) {
+				final Set<String> tokens = this.deletions.get(variant);
+				if (tokens != null && tokens.remove(token) && tokens.isEmpty())
+					this.deletions.remove(variant);
+			}
+		}
+	}
+	
+	private static final class Document {
+		
+		private final ProductDto product;
+		private final Set<String> tokens;
+		
+		private Document(final ProductDto product, final Set<String> tokens) {
+			this.product = product;
+			this.tokens = tokens;
+		}
+		
+	}
+	
+	
+	
+}
+
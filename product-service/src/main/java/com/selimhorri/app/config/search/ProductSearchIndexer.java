@@ -0,0 +1,259 @@
+package com.selimhorri.app.config.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the {@link ProductSearchIndex} and the {@link ProductFacetIndex} and
+ * keeps them in step with the catalog. Both are bulk-loaded into fresh
+ * instances once the application is ready and swapped in whole; afterwards
+ * every product or category write re-indexes the affected products when its
+ * transaction commits.
+ * <p>
+ * Writes that commit while the bulk load is running are applied to the old
+ * indexes and replayed against the new ones right after the swap. Stock
+ * movements only mark products dirty; they are re-read in batches every
+ * {@code app.search.stock-refresh-interval}, so reservations under load do
+ * not each pay for an extra read.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndexer {
+	
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService stockRefresher;
+	private final Duration stockRefreshInterval;
+	private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> stockChanged = ConcurrentHashMap.newKeySet();
+	private volatile ProductSearchIndex index = new ProductSearchIndex();
+	private volatile ProductFacetIndex facetIndex = new ProductFacetIndex();
+	private volatile boolean rebuilding;
+	
+	public ProductSearchIndexer(
+			final ProductRepository productRepository, 
+			final CategoryRepository categoryRepository, 
+			final EntityManager entityManager, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${app.search.stock-refresh-interval:1s}") final Duration stockRefreshInterval) {
+		this.productRepository = productRepository;
+		this.categoryRepository = categoryRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transactionTemplate.setReadOnly(true);
+		this.stockRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "search-stock-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.stockRefreshInterval = stockRefreshInterval;
+	}
+	
+	public ProductSearchIndex index() {
+		return this.index;
+	}
+	
+	public ProductFacetIndex facetIndex() {
+		return this.facetIndex;
+	}
+	
+	/**
+	 * Re-indexes a product from its committed row, or drops it if the row is
+	 * gone, once the surrounding transaction commits.
+	 */
+	public void productChanged(final Integer productId) {
+		if (productId == null)
+			return;
+		afterCommit(() -> this.refresh(() -> this.reindex(productId)));
+	}
+	
+	/**
+	 * Products carry their category title as search terms and the hierarchy
+	 * drives category filters, so a category write reloads the hierarchy and
+	 * re-indexes every product in the category.
+	 */
+	public void categoryChanged(final Integer categoryId) {
+		if (categoryId == null)
+			return;
+		afterCommit(() -> this.refresh(() -> {
+			this.facetIndex.replaceCategories(this.loadCategories());
+			this.productRepository.findAllByCategoryCategoryId(categoryId)
+					.forEach(product -> this.reindex(product.getProductId()));
+		}));
+	}
+	
+	public void stockChanged(final Integer productId) {
+		if (productId == null)
+			return;
+		afterCommit(() -> this.stockChanged.add(productId));
+	}
+	
+	/**
+	 * Bulk writes go through the batched re-read that stock movements use, so
+	 * an import does not pay for one read per product.
+	 */
+	public void productsChanged(final Collection<Integer> productIds) {
+		if (productIds.isEmpty())
+			return;
+		afterCommit(() -> this.stockChanged.addAll(productIds));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		this.rebuilding = true;
+		final var rebuilt = new ProductSearchIndex();
+		final var rebuiltFacets = new ProductFacetIndex();
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> {
+				rebuiltFacets.replaceCategories(this.loadCategories());
+				this.load(rebuilt, rebuiltFacets);
+			});
+			this.index = rebuilt;
+			this.facetIndex = rebuiltFacets;
+		}
+		finally {
+			this.rebuilding = false;
+		}
+		final Iterator<Integer> changed = this.changedDuringRebuild.iterator();
+		while (changed.hasNext()) {
+			final Integer productId = changed.next();
+			changed.remove();
+			this.refresh(() -> this.reindex(productId));
+		}
+		log.info("*** indexed {} products for search *", rebuilt.size());
+		this.stockRefresher.scheduleWithFixedDelay(this::refreshStock, this.stockRefreshInterval.toMillis(), 
+				this.stockRefreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.stockRefresher.shutdownNow();
+	}
+	
+	private void load(final ProductSearchIndex target, final ProductFacetIndex facetTarget) {
+		int count = 0;
+		try (final Stream<Product> products = this.productRepository.streamAll()) {
+			final Iterator<Product> iterator = products.iterator();
+			while (iterator.hasNext()) {
+				final ProductDto product = ProductMappingHelper.map(iterator.next());
+				target.put(product);
+				facetTarget.put(product);
+				if (++count % Integer.parseInt(AppConstant.SEARCH_REBUILD_FETCH_SIZE) == 0)
+					this.entityManager.clear();
+			}
+		}
+	}
+	
+	private Map<Integer, Integer> loadCategories() {
+		final Map<Integer, Integer> parents = new HashMap<>();
+		this.categoryRepository.findAllParentLinks()
+				.forEach(link -> parents.put((Integer) link[0], (Integer) link[1]));
+		return parents;
+	}
+	
+	private void refreshStock() {
+		final List<Integer> productIds = new ArrayList<>(this.stockChanged);
+		if (productIds.isEmpty())
+			return;
+		this.stockChanged.removeAll(productIds);
+		final int batchSize = Integer.parseInt(AppConstant.SEARCH_REBUILD_FETCH_SIZE);
+		for (int from = 0; from < productIds.size(); from += batchSize) {
+			final List<Integer> batch = productIds.subList(from, Math.min(from + batchSize, productIds.size()));
+			this.refresh(() -> {
+				final Set<Integer> missing = new HashSet<>(batch);
+				this.productRepository.findAllById(batch).forEach(product -> {
+					missing.remove(product.getProductId());
+					this.put(ProductMappingHelper.map(product));
+				});
+				missing.forEach(this::remove);
+			});
+		}
+	}
+	
+	/**
+	 * A failed refresh leaves products stale until their next write; it must
+	 * not fail the request whose transaction has already committed.
+	 */
+	private void refresh(final Runnable action) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> action.run());
+		}
+		catch (RuntimeException e) {
+			log.warn("*** could not refresh product search index: {} *", e.getMessage());
+		}
+	}
+	
+	private void reindex(final Integer productId) {
+		this.productRepository.findById(productId)
+				.map(ProductMappingHelper::map)
+				.ifPresentOrElse(this::put, () -> this.remove(productId));
+	}
+	
+	private void put(final ProductDto product) {
+		if (this.rebuilding)
+			this.changedDuringRebuild.add(product.getProductId());
+		this.index.put(product);
+		this.facetIndex.put(product);
+	}
+	
+	private void remove(final Integer productId) {
+		if (this.rebuilding)
+			this.changedDuringRebuild.add(productId);
+		this.index.remove(productId);
+		this.facetIndex.remove(productId);
+	}
+	
+	private static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,231 @@
+package com.selimhorri.app.config.stock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory stock pools for flash-sale products. Units are drawn from the
+ * products row in blocks and spread over a few striped counters, so concurrent
+ * buyers of one hot product take units with a CAS on their own stripe instead of
+ * queueing on that row's lock.
+ * <p>
+ * Units in a pool are already deducted from the database; they go back to it
+ * when the product is unmanaged or the service stops. A reservation that rolls
+ * back returns its units to the pool. A crash or kill skips that return, so the
+ * pooled units stay deducted until an operator adds them back; at most about
+ * {@code refill-batch} units per product are in a pool at any time.
+ */
+@Component
+@Slf4j
+public class FlashSaleStockAllocator {
+	
+	private static final int MAX_DRAW_ATTEMPTS = 3;
+	
+	private final ProductRepository productRepository;
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate requiresNewTemplate;
+	private final int stripes;
+	private final int refillBatch;
+	private final Map<Integer, AtomicIntegerArray> pools = new ConcurrentHashMap<>();
+	
+	public FlashSaleStockAllocator(
+			final ProductRepository productRepository, 
+			final CatalogCacheInvalidator catalogCacheInvalidator, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${app.stock.flash-sale.product-ids:}") final List<Integer> productIds, 
+			@Value("${app.stock.flash-sale.stripes:8}") final int stripes, 
+			@Value("${app.stock.flash-sale.refill-batch:64}") final int refillBatch) {
+		this.productRepository = productRepository;
+		this.catalogCacheInvalidator = catalogCacheInvalidator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+		this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.stripes = stripes;
+		this.refillBatch = refillBatch;
+		productIds.forEach(this::manage);
+	}
+	
+	public boolean isManaged(final Integer productId) {
+		return this.pools.containsKey(productId);
+	}
+	
+	public void manage(final Integer productId) {
+		this.pools.computeIfAbsent(productId, id -> new AtomicIntegerArray(this.stripes));
+	}
+	
+	/**
+	 * Stops pooling a product and gives its remaining units back to the database.
+	 */
+	public void unmanage(final Integer productId) {
+		final AtomicIntegerArray pool = this.pools.remove(productId);
+		if (pool == null)
+			return;
+		final int remaining;
+		synchronized (pool) {
+			remaining = this.drain(pool);
+		}
+		this.returnToDatabase(productId, remaining);
+	}
+	
+	/**
+	 * Takes {@code quantity} units of a managed product. Tries every stripe
+	 * without locking first; only when none of them holds enough are the stripes
+	 * merged under the pool's monitor. A top-up from the database happens after
+	 * the monitor is released, holding the merged units aside; they go back to
+	 * the pool if the draw fails.
+	 * 
+	 * @return false when the product has fewer than {@code quantity} units left
+	 */
+	public boolean tryAcquire(final Integer productId, final int quantity) {
+		final AtomicIntegerArray pool = this.pools.get(productId);
+		if (pool == null)
+			throw new IllegalStateException(String.format("Product with id: %d is not a flash-sale product", productId));
+		final int home = ThreadLocalRandom.current().nextInt(this.stripes);
+		for (int i = 0; i < this.stripes; i++) {
+			if (take(pool, (home + i) % this.stripes, quantity)) {
+				this.returnOnRollback(productId, quantity);
+				return true;
+			}
+		}
+		final int drained;
+		synchronized (pool) {
+			drained = this.drain(pool);
+			if (drained >= quantity) {
+				pool.addAndGet(home, drained - quantity);
+				this.returnOnRollback(productId, quantity);
+				return true;
+			}
+		}
+		int drawn = -1;
+		try {
+			drawn = this.drawFromDatabase(productId, Math.max(this.refillBatch, quantity - drained));
+		}
+		finally {
+			if (drawn < 0)
+				pool.addAndGet(home, drained);
+		}
+		final int fromDatabase = drawn;
+		if (drained + fromDatabase < quantity) {
+			pool.addAndGet(home, drained);
+			afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> this.giveBack(productId, fromDatabase));
+			return false;
+		}
+		// drawn units exist only if the caller commits; a rollback puts them back in the row
+		final int surplus = drained + fromDatabase - quantity;
+		afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> this.giveBack(productId, surplus));
+		afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK, () -> this.giveBack(productId, drained));
+		return true;
+	}
+	
+	/**
+	 * Puts released units back into the pool once the release commits.
+	 */
+	public void release(final Integer productId, final int quantity) {
+		afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> this.giveBack(productId, quantity));
+	}
+	
+	@PreDestroy
+	public void returnAll() {
+		List.copyOf(this.pools.keySet()).forEach(this::unmanage);
+	}
+	
+	private static boolean take(final AtomicIntegerArray pool, final int stripe, final int quantity) {
+		int current;
+		do {
+			current = pool.get(stripe);
+			if (current < quantity)
+				return false;
+		} while (!pool.compareAndSet(stripe, current, current - quantity));
+		return true;
+	}
+	
+	private int drain(final AtomicIntegerArray pool) {
+		int drained = 0;
+		for (int i = 0; i < this.stripes; i++)
+			drained += pool.getAndSet(i, 0);
+		return drained;
+	}
+	
+	private void giveBack(final Integer productId, final int quantity) {
+		if (quantity <= 0)
+			return;
+		final AtomicIntegerArray pool = this.pools.get(productId);
+		if (pool != null)
+			pool.addAndGet(ThreadLocalRandom.current().nextInt(this.stripes), quantity);
+		else
+			this.returnToDatabase(productId, quantity);
+	}
+	
+	private void returnOnRollback(final Integer productId, final int quantity) {
+		afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK, () -> this.giveBack(productId, quantity));
+	}
+	
+	/**
+	 * Draws up to {@code wanted} units in the caller's transaction, so a buyer
+	 * never needs a second pooled connection while holding its own. The row
+	 * stays locked until the caller finishes, which only happens once per
+	 * refill batch.
+	 */
+	private int drawFromDatabase(final Integer productId, final int wanted) {
+		final Integer drawn = this.transactionTemplate.execute(status -> {
+			int request = wanted;
+			for (int attempt = 0; attempt < MAX_DRAW_ATTEMPTS && request > 0; attempt++) {
+				if (this.productRepository.decrementQuantity(productId, request) == 1) {
+					this.catalogCacheInvalidator.evictProduct(productId);
+					return request;
+				}
+				request = Math.min(wanted, this.productRepository.findQuantity(productId).orElse(0));
+			}
+			return 0;
+		});
+		return (drawn != null) ? drawn : 0;
+	}
+	
+	private void returnToDatabase(final Integer productId, final int quantity) {
+		if (quantity <= 0)
+			return;
+		this.requiresNewTemplate.executeWithoutResult(status -> {
+			this.productRepository.incrementQuantity(productId, quantity);
+			this.catalogCacheInvalidator.evictProduct(productId);
+		});
+		log.info("*** returned {} pooled units of product {} to the database *", quantity, productId);
+	}
+	
+	private static void afterCompletion(final int expectedStatus, final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			if (expectedStatus == TransactionSynchronization.STATUS_COMMITTED)
+				action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(final int status) {
+				if (status == expectedStatus)
+					action.run();
+			}
+		});
+	}
+	
+	
+	
+}
+
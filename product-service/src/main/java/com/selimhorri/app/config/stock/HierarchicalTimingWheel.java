@@ -0,0 +1,141 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: level 0 has one slot per tick, and each slot of
+ * level {@code n} spans a full rotation of level {@code n - 1}. Scheduling and
+ * cancelling are O(1); advancing costs one slot per tick plus re-placing the
+ * entries of a higher-level slot when its span begins, so the cost does not
+ * depend on how many timers are pending.
+ * <p>
+ * Deadlines are rounded up to whole ticks, so an entry never fires early. Entries
+ * beyond the top level's range wait in its last slot and are re-placed as they
+ * come closer.
+ */
+public class HierarchicalTimingWheel<K> {
+	
+	private final long tickMillis;
+	private final int wheelSize;
+	private final long[] slotTicks;
+	private final List<Set<K>> buckets;
+	private final Map<K, Entry> entries = new HashMap<>();
+	private long currentTick;
+	
+	public HierarchicalTimingWheel(final Duration tick, final int wheelSize, final int levels, final long startMillis) {
+		if (tick.toMillis() <= 0 || wheelSize < 2 || levels < 1)
+			throw new IllegalArgumentException("Timing wheel needs a positive tick, at least 2 slots and 1 level");
+		this.tickMillis = tick.toMillis();
+		this.wheelSize = wheelSize;
+		this.slotTicks = new long[levels];
+		long span = 1;
+		for (int level = 0; level < levels; level++) {
+			this.slotTicks[level] = span;
+			span = Math.multiplyExact(span, wheelSize);
+		}
+		this.buckets = new ArrayList<>(levels * wheelSize);
+		for (int i = 0; i < levels * wheelSize; i++)
+			this.buckets.add(new HashSet<>());
+		this.currentTick = Math.floorDiv(startMillis, this.tickMillis);
+	}
+	
+	/**
+	 * Schedules {@code key} to fire at {@code deadlineMillis}, replacing any
+	 * deadline it already had. A deadline in the past fires on the next tick.
+	 */
+	public synchronized void schedule(final K key, final long deadlineMillis) {
+		this.cancel(key);
+		final var entry = new Entry(deadlineMillis, 
+				Math.floorDiv(deadlineMillis + this.tickMillis - 1, this.tickMillis));
+		this.entries.put(key, entry);
+		this.place(key, entry, this.currentTick + 1);
+	}
+	
+	public synchronized boolean cancel(final K key) {
+		final Entry entry = this.entries.remove(key);
+		if (entry == null)
+			return false;
+		this.buckets.get(entry.bucket).remove(key);
+		return true;
+	}
+	
+	public synchronized int size() {
+		return this.entries.size();
+	}
+	
+	/**
+	 * Moves the wheel forward to {@code nowMillis} and removes every entry that
+	 * came due on the way.
+	 * 
+	 * @return the expired keys in firing order, each with its scheduled deadline
+	 */
+	public synchronized Map<K, Long> advanceTo(final long nowMillis) {
+		final long targetTick = Math.floorDiv(nowMillis, this.tickMillis);
+		final Map<K, Long> expired = new LinkedHashMap<>();
+		while (this.currentTick < targetTick) {
+			if (this.entries.isEmpty()) {
+				this.currentTick = targetTick;
+				break;
+			}
+			this.currentTick++;
+			for (int level = this.slotTicks.length - 1; level > 0; level--) {
+				if (this.currentTick % this.slotTicks[level] == 0)
+					this.cascade(level);
+			}
+			final Set<K> due = this.buckets.get((int) (this.currentTick % this.wheelSize));
+			for (final K key : due)
+				expired.put(key, this.entries.remove(key).deadlineMillis);
+			due.clear();
+		}
+		return expired;
+	}
+	
+	private void cascade(final int level) {
+		final int slot = (int) ((this.currentTick / this.slotTicks[level]) % this.wheelSize);
+		final Set<K> bucket = this.buckets.get(level * this.wheelSize + slot);
+		if (bucket.isEmpty())
+			return;
+		final List<K> keys = new ArrayList<>(bucket);
+		bucket.clear();
+		keys.forEach(key -> this.place(key, this.entries.get(key), this.currentTick));
+	}
+	
+	/**
+	 * Level {@code n} holds entries due between one slot and one rotation of it
+	 * away; the slot is the entry's due tick divided by the level's slot span.
+	 */
+	private void place(final K key, final Entry entry, final long earliestTick) {
+		final long dueTick = Math.max(entry.deadlineTick, earliestTick);
+		final long delta = dueTick - this.currentTick;
+		int level = 0;
+		while (level < this.slotTicks.length - 1 && delta >= this.slotTicks[level + 1])
+			level++;
+		final long slotTick = Math.min(dueTick, this.currentTick + this.slotTicks[level] * this.wheelSize - 1);
+		entry.bucket = level * this.wheelSize + (int) ((slotTick / this.slotTicks[level]) % this.wheelSize);
+		this.buckets.get(entry.bucket).add(key);
+	}
+	
+	private static final class Entry {
+		
+		private final long deadlineMillis;
+		private final long deadlineTick;
+		private int bucket;
+		
+		private Entry(final long deadlineMillis, final long deadlineTick) {
+			this.deadlineMillis = deadlineMillis;
+			this.deadlineTick = deadlineTick;
+		}
+		
+	}
+	
+	
+	
+}
+
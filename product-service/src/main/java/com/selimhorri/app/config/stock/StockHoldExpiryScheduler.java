@@ -0,0 +1,177 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one timer per active stock hold in a {@link HierarchicalTimingWheel} and
+ * releases holds as their timers fire, instead of scanning the reservations
+ * table for expired rows. The wheel lives in memory only; on startup it is
+ * rebuilt from the reserved rows that carry an {@code expires_at}.
+ * <p>
+ * The release itself is guarded by {@code expires_at <= now} in the database,
+ * so a timer that fires for a hold extended in the meantime is harmless; the
+ * hold is simply rescheduled to its stored deadline.
+ */
+@Component
+@Slf4j
+public class StockHoldExpiryScheduler {
+	
+	private final StockService stockService;
+	private final StockReservationRepository stockReservationRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final HierarchicalTimingWheel<Integer> wheel;
+	private final ScheduledExecutorService ticker;
+	private final Duration tick;
+	private final Duration retryDelay;
+	private final Timer expiryLag;
+	private final Counter expired;
+	
+	public StockHoldExpiryScheduler(
+			final StockService stockService, 
+			final StockReservationRepository stockReservationRepository, 
+			final EntityManager entityManager, 
+			final PlatformTransactionManager transactionManager, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.stock.holds.tick:1s}") final Duration tick, 
+			@Value("${app.stock.holds.wheel-size:64}") final int wheelSize, 
+			@Value("${app.stock.holds.levels:4}") final int levels, 
+			@Value("${app.stock.holds.retry-delay:30s}") final Duration retryDelay) {
+		this.stockService = stockService;
+		this.stockReservationRepository = stockReservationRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.wheel = new HierarchicalTimingWheel<>(tick, wheelSize, levels, System.currentTimeMillis());
+		this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "stock-hold-expiry");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.tick = tick;
+		this.retryDelay = retryDelay;
+		Gauge.builder("stock.holds.active", this.wheel, HierarchicalTimingWheel::size)
+				.description("Stock holds waiting for their expiry timer")
+				.register(meterRegistry);
+		this.expiryLag = Timer.builder("stock.holds.expiry.lag")
+				.description("Delay between a hold's deadline and the release of its stock")
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+		this.expired = Counter.builder("stock.holds.expired")
+				.description("Stock holds released because they expired")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * Arms the timer of a hold once the surrounding transaction commits.
+	 */
+	public void schedule(final Integer reservationId, final Instant expiresAt) {
+		afterCommit(() -> this.wheel.schedule(reservationId, expiresAt.toEpochMilli()));
+	}
+	
+	public void cancel(final Integer reservationId) {
+		afterCommit(() -> this.wheel.cancel(reservationId));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		final Integer rebuilt = this.transactionTemplate.execute(status -> this.rebuild());
+		log.info("*** rebuilt {} stock hold timers *", rebuilt);
+		this.ticker.scheduleWithFixedDelay(this::advance, this.tick.toMillis(), this.tick.toMillis(), 
+				TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	public void stop() {
+		this.ticker.shutdownNow();
+	}
+	
+	private int rebuild() {
+		int count = 0;
+		try (final Stream<StockReservation> holds = this.stockReservationRepository.streamActiveHolds()) {
+			final Iterator<StockReservation> iterator = holds.iterator();
+			while (iterator.hasNext()) {
+				final StockReservation hold = iterator.next();
+				this.wheel.schedule(hold.getReservationId(), hold.getExpiresAt().toEpochMilli());
+				if (++count % Integer.parseInt(AppConstant.HOLD_REBUILD_FETCH_SIZE) == 0)
+					this.entityManager.clear();
+			}
+		}
+		return count;
+	}
+	
+	private void advance() {
+		try {
+			final long now = System.currentTimeMillis();
+			this.wheel.advanceTo(now).forEach((reservationId, deadline) -> this.expire(reservationId, deadline, now));
+		}
+		catch (RuntimeException e) {
+			log.error("*** stock hold expiry tick failed *", e);
+		}
+	}
+	
+	private void expire(final Integer reservationId, final long deadlineMillis, final long now) {
+		try {
+			if (this.stockService.expire(reservationId, Instant.ofEpochMilli(now))) {
+				this.expired.increment();
+				this.expiryLag.record(Math.max(0, System.currentTimeMillis() - deadlineMillis), TimeUnit.MILLISECONDS);
+				return;
+			}
+			this.stockReservationRepository.findById(reservationId)
+					.filter(hold -> hold.getStatus() == ReservationStatus.RESERVED && hold.getExpiresAt() != null)
+					.ifPresent(hold -> this.wheel.schedule(reservationId, hold.getExpiresAt().toEpochMilli()));
+		}
+		catch (RuntimeException e) {
+			log.warn("*** could not expire stock hold {}, retrying in {}: {} *", reservationId, this.retryDelay, 
+					e.getMessage());
+			this.wheel.schedule(reservationId, now + this.retryDelay.toMillis());
+		}
+	}
+	
+	private static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+	
+	
+	
+}
+
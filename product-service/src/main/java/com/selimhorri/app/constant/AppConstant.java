@@ -11,6 +11,33 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 1000;
+	public static final String HOLD_REBUILD_FETCH_SIZE = "1000";
+	public static final String SEARCH_REBUILD_FETCH_SIZE = "1000";
+	public static final int DEFAULT_SUGGESTION_LIMIT = 10;
+	public static final int MAX_SUGGESTION_LIMIT = 50;
+	public static final int CATEGORY_FETCH_BATCH_SIZE = 50;
+	public static final String OUTBOX_TABLE = "product_outbox";
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Events {
+		
+		public static final String PRODUCT = "Product";
+		public static final String PRODUCT_CREATED = "ProductCreated";
+		public static final String PRODUCT_UPDATED = "ProductUpdated";
+		public static final String PRODUCT_DELETED = "ProductDeleted";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheNames {
+		
+		public static final String PRODUCTS = "products";
+		public static final String CATEGORIES = "categories";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,46 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import com.selimhorri.app.domain.id.CategoryClosureId;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per ancestor/descendant pair of the category tree, including each
+ * category paired with itself at depth 0, so subtree and ancestor-chain
+ * lookups are single indexed queries instead of a walk over parent links.
+ */
+@Entity
+@Table(name = "category_closure")
+@IdClass(CategoryClosureId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class CategoryClosure implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "ancestor_id", nullable = false, updatable = false)
+	private Integer ancestorId;
+	
+	@Id
+	@Column(name = "descendant_id", nullable = false, updatable = false)
+	private Integer descendantId;
+	
+	@Column(name = "depth", nullable = false)
+	private Integer depth;
+	
+}
+
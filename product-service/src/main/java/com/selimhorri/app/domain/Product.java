@@ -46,7 +46,8 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@Column(name = "price_unit", columnDefinition = "decimal")
 	private Double priceUnit;
 	
-	@Column(name = "quantity")
+	// stock only moves through the conditional updates in ProductRepository and the importer
+	@Column(name = "quantity", updatable = false)
 	private Integer quantity;
 	
 	@ManyToOne(fetch = FetchType.EAGER)
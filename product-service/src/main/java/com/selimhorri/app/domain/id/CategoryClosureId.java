@@ -0,0 +1,25 @@
+package com.selimhorri.app.domain.id;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CategoryClosureId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull
+	private Integer ancestorId;
+	
+	@NotNull
+	private Integer descendantId;
+	
+}
+
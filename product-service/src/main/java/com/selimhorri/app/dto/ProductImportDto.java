@@ -0,0 +1,56 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.config.importer.ImportFormat;
+import com.selimhorri.app.config.importer.ImportMode;
+import com.selimhorri.app.config.importer.ImportStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an import job. {@code errors} keeps the first few failed rows;
+ * {@code failed} counts all of them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductImportDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private String jobId;
+	private ImportFormat format;
+	private ImportMode mode;
+	private ImportStatus status;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant submittedAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	@JsonInclude(Include.NON_NULL)
+	private Instant startedAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	@JsonInclude(Include.NON_NULL)
+	private Instant finishedAt;
+	
+	private long rowsRead;
+	private long created;
+	private long updated;
+	private long failed;
+	private List<ProductImportErrorDto> errors;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String message;
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of products with the number of matching products per category id,
+ * subcategories included.
+ */
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ProductListingResponse extends DtoCollectionResponse<ProductDto> {
+	
+	private Map<Integer, Integer> categoryFacets;
+	
+	public static ProductListingResponse of(final List<ProductDto> page, final int limit, 
+			final Map<Integer, Integer> categoryFacets) {
+		final DtoCollectionResponse<ProductDto> collection = DtoCollectionResponse.of(page, limit, 
+				p -> String.valueOf(p.getProductId()));
+		final var response = new ProductListingResponse();
+		response.setCollection(collection.getCollection());
+		response.setNextCursor(collection.getNextCursor());
+		response.setCategoryFacets(categoryFacets);
+		return response;
+	}
+	
+}
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class CategoryHierarchyException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public CategoryHierarchyException() {
+		super();
+	}
+	
+	public CategoryHierarchyException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public CategoryHierarchyException(String message) {
+		super(message);
+	}
+	
+	public CategoryHierarchyException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
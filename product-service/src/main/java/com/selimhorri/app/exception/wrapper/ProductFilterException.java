@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class ProductFilterException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ProductFilterException() {
+		super();
+	}
+	
+	public ProductFilterException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public ProductFilterException(String message) {
+		super(message);
+	}
+	
+	public ProductFilterException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class ProductImportException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ProductImportException() {
+		super();
+	}
+	
+	public ProductImportException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public ProductImportException(String message) {
+		super(message);
+	}
+	
+	public ProductImportException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
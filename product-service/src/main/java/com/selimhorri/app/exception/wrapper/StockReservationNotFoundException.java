@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class StockReservationNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public StockReservationNotFoundException() {
+		super();
+	}
+	
+	public StockReservationNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public StockReservationNotFoundException(String message) {
+		super(message);
+	}
+	
+	public StockReservationNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class StockReservationStateException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public StockReservationStateException() {
+		super();
+	}
+	
+	public StockReservationStateException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public StockReservationStateException(String message) {
+		super(message);
+	}
+	
+	public StockReservationStateException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -15,7 +15,7 @@ public interface ProductMappingHelper {
 				.sku(product.getSku())
 				.priceUnit(product.getPriceUnit())
 				.quantity(product.getQuantity())
-				.categoryDto(
+				.categoryDto((product.getCategory() == null) ? null : 
 						CategoryDto.builder()
 							.categoryId(product.getCategory().getCategoryId())
 							.categoryTitle(product.getCategory().getCategoryTitle())
@@ -0,0 +1,19 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockReservationMappingHelper {
+	
+	public static StockReservationDto map(final StockReservation stockReservation) {
+		return StockReservationDto.builder()
+				.reservationId(stockReservation.getReservationId())
+				.productId(stockReservation.getProductId())
+				.quantity(stockReservation.getQuantity())
+				.status(stockReservation.getStatus())
+				.expiresAt(stockReservation.getExpiresAt())
+				.build();
+	}
+	
+}
+
@@ -0,0 +1,46 @@
+package com.selimhorri.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CategoryClosure;
+import com.selimhorri.app.domain.id.CategoryClosureId;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosureId> {
+	
+	@Query("SELECT c.ancestorId FROM CategoryClosure c WHERE c.descendantId = :categoryId AND c.depth = 1")
+	Optional<Integer> findParentId(@Param("categoryId") final Integer categoryId);
+	
+	@Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId")
+	List<Integer> findSubtreeIds(@Param("categoryId") final Integer categoryId);
+	
+	/**
+	 * Links every category of the subtree rooted at {@code categoryId} below
+	 * {@code parentId} and all of its ancestors.
+	 */
+	@Modifying
+	@Query(nativeQuery = true, value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+			+ "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+			+ "FROM category_closure a CROSS JOIN category_closure d "
+			+ "WHERE a.descendant_id = :parentId AND d.ancestor_id = :categoryId")
+	int attach(@Param("categoryId") final Integer categoryId, @Param("parentId") final Integer parentId);
+	
+	/**
+	 * Unlinks a subtree from everything above its root, keeping the paths inside
+	 * it. The subtree ids are passed in because MySQL cannot delete from a table
+	 * it also reads in a subquery.
+	 */
+	@Modifying
+	@Query("DELETE FROM CategoryClosure c WHERE c.descendantId IN :subtreeIds AND c.ancestorId NOT IN :subtreeIds")
+	int detach(@Param("subtreeIds") final Collection<Integer> subtreeIds);
+	
+	
+	
+}
+
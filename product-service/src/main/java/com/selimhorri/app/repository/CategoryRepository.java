@@ -1,11 +1,30 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.selimhorri.app.domain.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	List<Category> findByCategoryIdGreaterThanOrderByCategoryIdAsc(final Integer categoryId, final Pageable pageable);
+	
+	/**
+	 * @return {@code [categoryId, parentCategoryId]} pairs, with a null parent for
+	 * root categories
+	 */
+	@Query("SELECT c.categoryId, p.categoryId FROM Category c LEFT JOIN c.parentCategory p")
+	List<Object[]> findAllParentLinks();
+	
+	/**
+	 * @return {@code [categoryId, categoryTitle, imageUrl, parentCategoryId]} rows
+	 */
+	@Query("SELECT c.categoryId, c.categoryTitle, c.imageUrl, p.categoryId FROM Category c LEFT JOIN c.parentCategory p")
+	List<Object[]> findAllNodes();
+	
 	
 	
 }
@@ -1,11 +1,48 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
+	
+	List<Product> findAllByCategoryCategoryId(final Integer categoryId);
+	
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = AppConstant.SEARCH_REBUILD_FETCH_SIZE))
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category")
+	Stream<Product> streamAll();
+	
+	@Query("SELECT p.quantity FROM Product p WHERE p.productId = :productId")
+	Optional<Integer> findQuantity(@Param("productId") final Integer productId);
+	
+	/**
+	 * Takes {@code quantity} units in one statement; the row lock is held only for
+	 * the update itself and nothing is taken when fewer units are left.
+	 * 
+	 * @return 1 when the units were taken, 0 otherwise
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :quantity WHERE p.productId = :productId AND p.quantity >= :quantity")
+	int decrementQuantity(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.quantity = p.quantity + :quantity WHERE p.productId = :productId")
+	int incrementQuantity(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
 	
 	
 }
@@ -0,0 +1,54 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Integer> {
+	
+	/**
+	 * Moves a reservation out of {@code from} only if it is still there, so two
+	 * concurrent commits or releases of one reservation cannot both succeed.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.status = :to WHERE r.reservationId = :reservationId AND r.status = :from")
+	int transition(
+			@Param("reservationId") final Integer reservationId, 
+			@Param("from") final ReservationStatus from, 
+			@Param("to") final ReservationStatus to);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.expiresAt = :expiresAt WHERE r.reservationId = :reservationId "
+			+ "AND r.status = com.selimhorri.app.domain.ReservationStatus.RESERVED AND r.expiresAt IS NOT NULL")
+	int extend(@Param("reservationId") final Integer reservationId, @Param("expiresAt") final Instant expiresAt);
+	
+	/**
+	 * Releases a hold only if it is still reserved and its deadline has passed,
+	 * so a hold extended after its timer fired is left alone.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.status = com.selimhorri.app.domain.ReservationStatus.RELEASED "
+			+ "WHERE r.reservationId = :reservationId "
+			+ "AND r.status = com.selimhorri.app.domain.ReservationStatus.RESERVED AND r.expiresAt <= :now")
+	int expire(@Param("reservationId") final Integer reservationId, @Param("now") final Instant now);
+	
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = AppConstant.HOLD_REBUILD_FETCH_SIZE))
+	@Query("SELECT r FROM StockReservation r WHERE r.status = com.selimhorri.app.domain.ReservationStatus.RESERVED "
+			+ "AND r.expiresAt IS NOT NULL")
+	Stream<StockReservation> streamActiveHolds();
+	
+	
+	
+}
+
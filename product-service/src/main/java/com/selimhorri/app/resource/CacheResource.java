@@ -0,0 +1,35 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/caches")
+@Slf4j
+@RequiredArgsConstructor
+public class CacheResource {
+	
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	
+	@DeleteMapping("/{cacheName}")
+	public ResponseEntity<Boolean> evict(
+			@PathVariable("cacheName") final String cacheName, 
+			@RequestParam(value = "key", required = false) final Integer key) {
+		log.info("*** Boolean, resource; evict cache entry on peer request *");
+		this.catalogCacheInvalidator.evictLocal(cacheName, key);
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
+
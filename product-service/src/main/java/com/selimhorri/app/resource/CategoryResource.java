@@ -12,11 +12,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PaginationHelper;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.CategoryTreeService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +32,16 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final CategoryTreeService categoryTreeService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** CategoryDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.categoryService.findAll(after, pageLimit), 
+				pageLimit, c -> String.valueOf(c.getCategoryId())));
 	}
 	
 	@GetMapping("/{categoryId}")
@@ -44,6 +53,40 @@ public class CategoryResource {
 		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
 	}
 	
+	@GetMapping("/{categoryId}/ancestors")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAncestors(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, resource; fetch category ancestors *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService
+				.findAncestors(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/descendants")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findDescendants(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, resource; fetch category descendants *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService
+				.findDescendants(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/products")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findProducts(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, resource; fetch products in category subtree *");
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.categoryTreeService
+				.findProducts(Integer.parseInt(categoryId), after, pageLimit), 
+				pageLimit, p -> String.valueOf(p.getProductId())));
+	}
+	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(
 			@RequestBody 
@@ -0,0 +1,62 @@
+package com.selimhorri.app.resource;
+
+import java.io.InputStream;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.config.importer.ImportFormat;
+import com.selimhorri.app.config.importer.ImportMode;
+import com.selimhorri.app.dto.ProductImportDto;
+import com.selimhorri.app.service.ProductImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/products/import")
+@Slf4j
+@RequiredArgsConstructor
+public class ProductImportResource {
+	
+	private final ProductImportService productImportService;
+	
+	/**
+	 * Accepts a CSV or NDJSON body and answers once it is stored; poll the
+	 * returned job for progress. {@code mode=update} only changes existing
+	 * SKUs, for price and stock files.
+	 */
+	@PostMapping
+	public ResponseEntity<ProductImportDto> submit(
+			@RequestParam(value = "format", required = false) final String format,
+			@RequestParam(value = "mode", required = false) final String mode,
+			@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) final String contentType,
+			final InputStream body) {
+		log.info("*** ProductImportDto, resource; submit product import *");
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.body(this.productImportService.submit(body, ImportFormat.of(format, contentType), ImportMode.of(mode)));
+	}
+	
+	@GetMapping("/{jobId}")
+	public ResponseEntity<ProductImportDto> findById(
+			@PathVariable("jobId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String jobId) {
+		log.info("*** ProductImportDto, resource; fetch product import by id *");
+		return ResponseEntity.ok(this.productImportService.findById(jobId));
+	}
+	
+	
+	
+}
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,10 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.config.search.ProductFacetIndex;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.ProductFilterException;
+import com.selimhorri.app.helper.PaginationHelper;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,11 +35,47 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit,
+			@RequestParam(value = "categoryId", required = false) final Integer categoryId,
+			@RequestParam(value = "minPrice", required = false) final Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) final Double maxPrice,
+			@RequestParam(value = "inStock", required = false) final Boolean inStock,
+			@RequestParam(value = "sort", required = false) final String sort) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		final int pageLimit = PaginationHelper.limit(limit);
+		if (minPrice != null && maxPrice != null && minPrice > maxPrice)
+			throw new ProductFilterException(String.format("minPrice %s must not exceed maxPrice %s", minPrice, maxPrice));
+		final var criteria = new ProductFacetIndex.Criteria(categoryId, minPrice, maxPrice, inStock, 
+				"price".equalsIgnoreCase(sort));
+		if (!criteria.isEmpty())
+			return ResponseEntity.ok(this.productSearchService.filter(criteria, after, pageLimit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.productService.findAll(after, pageLimit), 
+				pageLimit, p -> String.valueOf(p.getProductId())));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam(value = "q", required = false) final String query,
+			@RequestParam(value = "prefix", required = false) final String prefix,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, resource; search products *");
+		final int pageLimit = PaginationHelper.limit(limit);
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.productSearchService.search(query, prefix, after, pageLimit), 
+				pageLimit, p -> String.valueOf(p.getProductId())));
+	}
+	
+	@GetMapping("/search/suggestions")
+	public ResponseEntity<DtoCollectionResponse<String>> suggest(
+			@RequestParam(value = "prefix") final String prefix,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** String List, resource; suggest product search terms *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productSearchService.suggest(prefix, limit)));
 	}
 	
 	@GetMapping("/{productId}")
@@ -44,6 +87,15 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final Set<Integer> productIds) {
+		log.info("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(
 			@RequestBody 
@@ -0,0 +1,78 @@
+package com.selimhorri.app.resource;
+
+import java.time.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.service.StockHoldService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/stock/holds")
+@Slf4j
+@RequiredArgsConstructor
+public class StockHoldResource {
+	
+	private final StockHoldService stockHoldService;
+	
+	@PostMapping
+	public ResponseEntity<StockReservationDto> hold(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto, 
+			@RequestParam(value = "ttlSeconds", required = false) final Long ttlSeconds) {
+		log.info("*** StockReservationDto, resource; hold stock *");
+		return ResponseEntity.ok(this.stockHoldService.hold(stockReservationDto.getProductId(), 
+				stockReservationDto.getQuantity(), toDuration(ttlSeconds)));
+	}
+	
+	@PutMapping("/{reservationId}/extend")
+	public ResponseEntity<StockReservationDto> extend(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId, 
+			@RequestParam(value = "ttlSeconds", required = false) final Long ttlSeconds) {
+		log.info("*** StockReservationDto, resource; extend stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.extend(Integer.parseInt(reservationId), toDuration(ttlSeconds)));
+	}
+	
+	@PutMapping("/{reservationId}/commit")
+	public ResponseEntity<StockReservationDto> commit(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto, resource; commit stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.commit(Integer.parseInt(reservationId)));
+	}
+	
+	@PutMapping("/{reservationId}/release")
+	public ResponseEntity<StockReservationDto> release(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto, resource; release stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.release(Integer.parseInt(reservationId)));
+	}
+	
+	private static Duration toDuration(final Long ttlSeconds) {
+		return (ttlSeconds != null) ? Duration.ofSeconds(ttlSeconds) : null;
+	}
+	
+	
+	
+}
+
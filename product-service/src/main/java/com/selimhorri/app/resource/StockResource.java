@@ -0,0 +1,70 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.service.StockService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/stock/reservations")
+@Slf4j
+@RequiredArgsConstructor
+public class StockResource {
+	
+	private final StockService stockService;
+	
+	@GetMapping("/{reservationId}")
+	public ResponseEntity<StockReservationDto> findById(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto, resource; fetch reservation by id *");
+		return ResponseEntity.ok(this.stockService.findById(Integer.parseInt(reservationId)));
+	}
+	
+	@PostMapping
+	public ResponseEntity<StockReservationDto> reserve(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, resource; reserve stock *");
+		return ResponseEntity.ok(this.stockService.reserve(stockReservationDto.getProductId(), 
+				stockReservationDto.getQuantity()));
+	}
+	
+	@PutMapping("/{reservationId}/commit")
+	public ResponseEntity<StockReservationDto> commit(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto, resource; commit reservation *");
+		return ResponseEntity.ok(this.stockService.commit(Integer.parseInt(reservationId)));
+	}
+	
+	@PutMapping("/{reservationId}/release")
+	public ResponseEntity<StockReservationDto> release(
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String reservationId) {
+		log.info("*** StockReservationDto, resource; release reservation *");
+		return ResponseEntity.ok(this.stockService.release(Integer.parseInt(reservationId)));
+	}
+	
+	
+	
+}
+
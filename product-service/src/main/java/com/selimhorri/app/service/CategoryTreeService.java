@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+public interface CategoryTreeService {
+	
+	List<CategoryDto> findAncestors(final Integer categoryId);
+	List<CategoryDto> findDescendants(final Integer categoryId);
+	List<ProductDto> findProducts(final Integer categoryId, final Integer after, final int limit);
+	
+}
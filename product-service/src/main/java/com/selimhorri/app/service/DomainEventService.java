@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.DomainEventDto;
+
+public interface DomainEventService {
+	
+	List<DomainEventDto> findPublished(final Long after, final int limit);
+	long findLastSequence();
+	
+}
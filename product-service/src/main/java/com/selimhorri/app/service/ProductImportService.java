@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.io.InputStream;
+
+import com.selimhorri.app.config.importer.ImportFormat;
+import com.selimhorri.app.config.importer.ImportMode;
+import com.selimhorri.app.dto.ProductImportDto;
+
+public interface ProductImportService {
+	
+	ProductImportDto submit(final InputStream body, final ImportFormat format, final ImportMode mode);
+	ProductImportDto findById(final String jobId);
+	
+}
+
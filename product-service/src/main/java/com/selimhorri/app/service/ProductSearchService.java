@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.config.search.ProductFacetIndex;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.ProductListingResponse;
+
+public interface ProductSearchService {
+	
+	List<ProductDto> search(final String query, final String prefix, final Integer after, final int limit);
+	List<String> suggest(final String prefix, final Integer limit);
+	ProductListingResponse filter(final ProductFacetIndex.Criteria criteria, final Integer after, final int limit);
+	
+}
@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.ProductDto;
@@ -7,7 +8,9 @@ import com.selimhorri.app.dto.ProductDto;
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	List<ProductDto> findAll(final Integer after, final int limit);
 	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.time.Duration;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockHoldService {
+	
+	StockReservationDto hold(final Integer productId, final int quantity, final Duration ttl);
+	StockReservationDto extend(final Integer reservationId, final Duration ttl);
+	StockReservationDto commit(final Integer reservationId);
+	StockReservationDto release(final Integer reservationId);
+	
+}
+
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockService {
+	
+	StockReservationDto findById(final Integer reservationId);
+	StockReservationDto reserve(final Integer productId, final int quantity);
+	StockReservationDto reserve(final Integer productId, final int quantity, final Instant expiresAt);
+	StockReservationDto commit(final Integer reservationId);
+	StockReservationDto release(final Integer reservationId);
+	boolean expire(final Integer reservationId, final Instant now);
+	
+}
+
@@ -1,15 +1,25 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.category.CategoryTreeCache;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.CategoryClosure;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.exception.wrapper.CategoryHierarchyException;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.repository.CategoryClosureRepository;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.service.CategoryService;
 
@@ -23,6 +33,10 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final CategoryClosureRepository categoryClosureRepository;
+	private final CategoryTreeCache categoryTreeCache;
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	private final ProductSearchIndexer productSearchIndexer;
 	
 	@Override
 	public List<CategoryDto> findAll() {
@@ -35,6 +49,17 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 	
 	@Override
+	public List<CategoryDto> findAll(final Integer after, final int limit) {
+		log.info("*** CategoryDto List, service; fetch page of categories *");
+		return this.categoryRepository.findByCategoryIdGreaterThanOrderByCategoryIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(CategoryMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Cacheable(cacheNames = AppConstant.CacheNames.CATEGORIES, key = "#categoryId")
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
@@ -45,20 +70,48 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto saved = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.categoryClosureRepository.save(new CategoryClosure(saved.getCategoryId(), saved.getCategoryId(), 0));
+		final Integer parentId = parentIdOf(categoryDto);
+		if (parentId != null)
+			this.categoryClosureRepository.attach(saved.getCategoryId(), parentId);
+		this.categoryTreeCache.refresh();
+		this.productSearchIndexer.categoryChanged(saved.getCategoryId());
+		return saved;
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		this.catalogCacheInvalidator.evictCategory(categoryDto.getCategoryId());
+		this.productSearchIndexer.categoryChanged(categoryDto.getCategoryId());
+		final Integer parentId = parentIdOf(categoryDto);
+		final boolean moved = !Objects.equals(parentId, 
+				this.categoryClosureRepository.findParentId(categoryDto.getCategoryId()).orElse(null));
+		final List<Integer> subtreeIds = (moved) 
+				? this.categoryClosureRepository.findSubtreeIds(categoryDto.getCategoryId()) 
+				: List.of();
+		if (parentId != null && subtreeIds.contains(parentId))
+			throw new CategoryHierarchyException(String
+					.format("Category with id: %d cannot be moved below itself", categoryDto.getCategoryId()));
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		if (moved) {
+			this.categoryClosureRepository.detach(subtreeIds);
+			if (parentId != null)
+				this.categoryClosureRepository.attach(categoryDto.getCategoryId(), parentId);
+		}
+		this.categoryTreeCache.refresh();
+		return updated;
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
+		this.catalogCacheInvalidator.evictCategory(categoryId);
+		this.productSearchIndexer.categoryChanged(categoryId);
+		this.categoryTreeCache.refresh();
 		return CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(this.findById(categoryId))));
 	}
@@ -66,9 +119,18 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
+		this.catalogCacheInvalidator.evictCategory(categoryId);
+		this.productSearchIndexer.categoryChanged(categoryId);
+		this.categoryTreeCache.refresh();
 		this.categoryRepository.deleteById(categoryId);
 	}
 	
+	private static Integer parentIdOf(final CategoryDto categoryDto) {
+		return (categoryDto.getParentCategoryDto() != null) 
+				? categoryDto.getParentCategoryDto().getCategoryId() 
+				: null;
+	}
+	
 	
 	
 }
@@ -0,0 +1,58 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.category.CategoryTree;
+import com.selimhorri.app.config.category.CategoryTreeCache;
+import com.selimhorri.app.config.search.ProductFacetIndex;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.service.CategoryTreeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+	
+	private final CategoryTreeCache categoryTreeCache;
+	private final ProductSearchIndexer productSearchIndexer;
+	
+	@Override
+	public List<CategoryDto> findAncestors(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category ancestors *");
+		return this.treeContaining(categoryId).ancestorsOf(categoryId);
+	}
+	
+	@Override
+	public List<CategoryDto> findDescendants(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category descendants *");
+		return this.treeContaining(categoryId).descendantsOf(categoryId);
+	}
+	
+	@Override
+	public List<ProductDto> findProducts(final Integer categoryId, final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; fetch products in category subtree *");
+		this.treeContaining(categoryId);
+		return this.productSearchIndexer.facetIndex()
+				.list(new ProductFacetIndex.Criteria(categoryId, null, null, null, false), after, limit)
+				.getProducts();
+	}
+	
+	private CategoryTree treeContaining(final Integer categoryId) {
+		final CategoryTree tree = this.categoryTreeCache.tree();
+		if (tree.find(categoryId).isEmpty())
+			throw new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId));
+		return tree;
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,43 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.InputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.importer.ImportFormat;
+import com.selimhorri.app.config.importer.ImportMode;
+import com.selimhorri.app.config.importer.ProductImporter;
+import com.selimhorri.app.dto.ProductImportDto;
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+import com.selimhorri.app.service.ProductImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Not transactional: {@link ProductImporter} commits every batch of an import
+ * on its own, on the import thread.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+	
+	private final ProductImporter productImporter;
+	
+	@Override
+	public ProductImportDto submit(final InputStream body, final ImportFormat format, final ImportMode mode) {
+		log.info("*** ProductImportDto, service; submit product import *");
+		return this.productImporter.submit(body, format, mode);
+	}
+	
+	@Override
+	public ProductImportDto findById(final String jobId) {
+		log.info("*** ProductImportDto, service; fetch product import by id *");
+		return this.productImporter.find(jobId)
+				.orElseThrow(() -> new ProductImportException(String.format("Import job with id: %s not found", jobId)));
+	}
+	
+	
+	
+}
@@ -0,0 +1,49 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.search.ProductFacetIndex;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.ProductListingResponse;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductSearchIndexer productSearchIndexer;
+	
+	@Override
+	public List<ProductDto> search(final String query, final String prefix, final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; search products *");
+		return this.productSearchIndexer.index().search(query, prefix, after, limit);
+	}
+	
+	@Override
+	public List<String> suggest(final String prefix, final Integer limit) {
+		log.info("*** String List, service; suggest product search terms *");
+		final int suggestionLimit = (limit == null || limit <= 0) 
+				? AppConstant.DEFAULT_SUGGESTION_LIMIT 
+				: Math.min(limit, AppConstant.MAX_SUGGESTION_LIMIT);
+		return this.productSearchIndexer.index().suggest(prefix, suggestionLimit);
+	}
+	
+	@Override
+	public ProductListingResponse filter(final ProductFacetIndex.Criteria criteria, final Integer after, final int limit) {
+		log.info("*** ProductListingResponse, service; filter products with facets *");
+		final ProductFacetIndex.Listing listing = this.productSearchIndexer.facetIndex().list(criteria, after, limit);
+		return ProductListingResponse.of(listing.getProducts(), limit, listing.getCategoryFacets());
+	}
+	
+	
+	
+}
+
@@ -1,12 +1,21 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
@@ -23,6 +32,9 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	private final ProductSearchIndexer productSearchIndexer;
+	private final OutboxWriter outboxWriter;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -35,6 +47,17 @@ public class ProductServiceImpl implements ProductService {
 	}
 	
 	@Override
+	public List<ProductDto> findAll(final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; fetch page of products *");
+		return this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Cacheable(cacheNames = AppConstant.CacheNames.PRODUCTS, key = "#productId")
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
 		return this.productRepository.findById(productId)
@@ -42,32 +65,68 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productRepository.findAllById(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.productSearchIndexer.productChanged(saved.getProductId());
+		this.outboxWriter.append(AppConstant.Events.PRODUCT, saved.getProductId(), 
+				AppConstant.Events.PRODUCT_CREATED, saved);
+		return saved;
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		return this.update(productDto.getProductId(), productDto);
 	}
 	
+	/**
+	 * Applies the catalogue fields of {@code productDto}; its quantity is ignored,
+	 * stock is changed through {@link com.selimhorri.app.service.StockService} only.
+	 */
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(this.findById(productId))));
+		final Product product = this.productRepository.findById(productId)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+		this.catalogCacheInvalidator.evictProduct(productId);
+		this.productSearchIndexer.productChanged(productId);
+		product.setProductTitle(productDto.getProductTitle());
+		product.setImageUrl(productDto.getImageUrl());
+		product.setSku(productDto.getSku());
+		product.setPriceUnit(productDto.getPriceUnit());
+		product.setCategory((productDto.getCategoryDto() == null) ? null : Category.builder()
+				.categoryId(productDto.getCategoryDto().getCategoryId())
+				.categoryTitle(productDto.getCategoryDto().getCategoryTitle())
+				.imageUrl(productDto.getCategoryDto().getImageUrl())
+				.build());
+		final ProductDto updated = ProductMappingHelper.map(this.productRepository.save(product));
+		this.outboxWriter.append(AppConstant.Events.PRODUCT, productId, 
+				AppConstant.Events.PRODUCT_UPDATED, updated);
+		return updated;
 	}
 	
 	@Override
 	public void deleteById(final Integer productId) {
 		log.info("*** Void, service; delete product by id *");
+		this.catalogCacheInvalidator.evictProduct(productId);
+		this.productSearchIndexer.productChanged(productId);
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.outboxWriter.append(AppConstant.Events.PRODUCT, productId, 
+				AppConstant.Events.PRODUCT_DELETED, ProductDto.builder().productId(productId).build());
 	}
 	
 	
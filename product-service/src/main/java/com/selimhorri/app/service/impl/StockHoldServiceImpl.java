@@ -0,0 +1,96 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.stock.StockHoldExpiryScheduler;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.StockReservationStateException;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockHoldService;
+import com.selimhorri.app.service.StockService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds are stock reservations with a deadline. The deadline is stored on the
+ * reservation row and armed in {@link StockHoldExpiryScheduler}, which releases
+ * the stock if the hold is neither committed nor released in time.
+ */
+@Service
+@Transactional
+@Slf4j
+public class StockHoldServiceImpl implements StockHoldService {
+	
+	private final StockService stockService;
+	private final StockReservationRepository stockReservationRepository;
+	private final StockHoldExpiryScheduler stockHoldExpiryScheduler;
+	private final Duration defaultTtl;
+	private final Duration maxTtl;
+	
+	public StockHoldServiceImpl(
+			final StockService stockService, 
+			final StockReservationRepository stockReservationRepository, 
+			final StockHoldExpiryScheduler stockHoldExpiryScheduler, 
+			@Value("${app.stock.holds.default-ttl:15m}") final Duration defaultTtl, 
+			@Value("${app.stock.holds.max-ttl:2h}") final Duration maxTtl) {
+		this.stockService = stockService;
+		this.stockReservationRepository = stockReservationRepository;
+		this.stockHoldExpiryScheduler = stockHoldExpiryScheduler;
+		this.defaultTtl = defaultTtl;
+		this.maxTtl = maxTtl;
+	}
+	
+	@Override
+	public StockReservationDto hold(final Integer productId, final int quantity, final Duration ttl) {
+		log.info("*** StockReservationDto, service; hold stock *");
+		final Instant expiresAt = Instant.now().plus(this.resolve(ttl));
+		final StockReservationDto hold = this.stockService.reserve(productId, quantity, expiresAt);
+		this.stockHoldExpiryScheduler.schedule(hold.getReservationId(), expiresAt);
+		return hold;
+	}
+	
+	@Override
+	public StockReservationDto extend(final Integer reservationId, final Duration ttl) {
+		log.info("*** StockReservationDto, service; extend stock hold *");
+		final Instant expiresAt = Instant.now().plus(this.resolve(ttl));
+		if (this.stockReservationRepository.extend(reservationId, expiresAt) == 0) {
+			final StockReservationDto current = this.stockService.findById(reservationId);
+			throw new StockReservationStateException(String.format("Reservation with id: %d is not an active hold (%s)", 
+					reservationId, current.getStatus().getStatus()));
+		}
+		this.stockHoldExpiryScheduler.schedule(reservationId, expiresAt);
+		return this.stockService.findById(reservationId);
+	}
+	
+	@Override
+	public StockReservationDto commit(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; commit stock hold *");
+		final StockReservationDto hold = this.stockService.commit(reservationId);
+		this.stockHoldExpiryScheduler.cancel(reservationId);
+		return hold;
+	}
+	
+	@Override
+	public StockReservationDto release(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; release stock hold *");
+		final StockReservationDto hold = this.stockService.release(reservationId);
+		this.stockHoldExpiryScheduler.cancel(reservationId);
+		return hold;
+	}
+	
+	private Duration resolve(final Duration ttl) {
+		if (ttl == null || ttl.isZero() || ttl.isNegative())
+			return this.defaultTtl;
+		return (ttl.compareTo(this.maxTtl) > 0) ? this.maxTtl : ttl;
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,145 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.config.stock.FlashSaleStockAllocator;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.StockReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.StockReservationStateException;
+import com.selimhorri.app.helper.StockReservationMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stock moves only through conditional updates: a reservation takes its units
+ * with {@code quantity = quantity - n WHERE quantity >= n}, and commit/release
+ * move the reservation out of RESERVED with a guarded status update. Neither
+ * path reads the row first, so concurrent buyers cannot oversell and a
+ * reservation cannot be released twice. Flash-sale products take their units
+ * from {@link FlashSaleStockAllocator} instead of the products row.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class StockServiceImpl implements StockService {
+	
+	private final ProductRepository productRepository;
+	private final StockReservationRepository stockReservationRepository;
+	private final FlashSaleStockAllocator flashSaleStockAllocator;
+	private final CatalogCacheInvalidator catalogCacheInvalidator;
+	private final ProductSearchIndexer productSearchIndexer;
+	
+	@Override
+	public StockReservationDto findById(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; fetch reservation by id *");
+		return this.stockReservationRepository.findById(reservationId)
+				.map(StockReservationMappingHelper::map)
+				.orElseThrow(() -> new StockReservationNotFoundException(String
+						.format("Reservation with id: %d not found", reservationId)));
+	}
+	
+	@Override
+	public StockReservationDto reserve(final Integer productId, final int quantity) {
+		return this.reserve(productId, quantity, null);
+	}
+	
+	@Override
+	public StockReservationDto reserve(final Integer productId, final int quantity, final Instant expiresAt) {
+		log.info("*** StockReservationDto, service; reserve stock *");
+		if (this.flashSaleStockAllocator.isManaged(productId)) {
+			if (!this.flashSaleStockAllocator.tryAcquire(productId, quantity))
+				throw this.insufficientStock(productId, quantity);
+		}
+		else if (this.productRepository.decrementQuantity(productId, quantity) == 0) {
+			if (!this.productRepository.existsById(productId))
+				throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+			throw this.insufficientStock(productId, quantity);
+		}
+		else {
+			this.catalogCacheInvalidator.evictProduct(productId);
+			this.productSearchIndexer.stockChanged(productId);
+		}
+		return StockReservationMappingHelper.map(this.stockReservationRepository.save(StockReservation.builder()
+				.productId(productId)
+				.quantity(quantity)
+				.status(ReservationStatus.RESERVED)
+				.expiresAt(expiresAt)
+				.build()));
+	}
+	
+	@Override
+	public StockReservationDto commit(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; commit reservation *");
+		this.transition(reservationId, ReservationStatus.COMMITTED);
+		return this.findById(reservationId);
+	}
+	
+	@Override
+	public StockReservationDto release(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; release reservation *");
+		if (this.transition(reservationId, ReservationStatus.RELEASED)) {
+			final StockReservationDto reservation = this.findById(reservationId);
+			this.returnUnits(reservation);
+			return reservation;
+		}
+		return this.findById(reservationId);
+	}
+	
+	@Override
+	public boolean expire(final Integer reservationId, final Instant now) {
+		log.info("*** Boolean, service; expire reservation hold *");
+		if (this.stockReservationRepository.expire(reservationId, now) == 0)
+			return false;
+		this.returnUnits(this.findById(reservationId));
+		return true;
+	}
+	
+	private void returnUnits(final StockReservationDto reservation) {
+		if (this.flashSaleStockAllocator.isManaged(reservation.getProductId())) {
+			this.flashSaleStockAllocator.release(reservation.getProductId(), reservation.getQuantity());
+		}
+		else {
+			this.productRepository.incrementQuantity(reservation.getProductId(), reservation.getQuantity());
+			this.catalogCacheInvalidator.evictProduct(reservation.getProductId());
+			this.productSearchIndexer.stockChanged(reservation.getProductId());
+		}
+	}
+	
+	/**
+	 * @return true when this call moved the reservation out of RESERVED, false
+	 * when an earlier call already moved it to {@code target}
+	 */
+	private boolean transition(final Integer reservationId, final ReservationStatus target) {
+		if (this.stockReservationRepository.transition(reservationId, ReservationStatus.RESERVED, target) == 1)
+			return true;
+		final StockReservationDto current = this.findById(reservationId);
+		if (current.getStatus() != target)
+			throw new StockReservationStateException(String.format("Reservation with id: %d is already %s", 
+					reservationId, current.getStatus().getStatus()));
+		return false;
+	}
+	
+	private InsufficientStockException insufficientStock(final Integer productId, final int quantity) {
+		return new InsufficientStockException(String
+				.format("Product with id: %d has fewer than %d units in stock", productId, quantity));
+	}
+	
+	
+	
+}
+
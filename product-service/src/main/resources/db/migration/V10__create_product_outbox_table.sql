@@ -0,0 +1,14 @@
+
+CREATE TABLE product_outbox (
+	event_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	aggregate_type VARCHAR(255) NOT NULL,
+	aggregate_id VARCHAR(255) NOT NULL,
+	event_type VARCHAR(255) NOT NULL,
+	payload TEXT NOT NULL,
+	occurred_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP NULL,
+	publish_seq BIGINT UNIQUE
+);
+
+CREATE INDEX idx_product_outbox_pending ON product_outbox (published_at, event_id);
+
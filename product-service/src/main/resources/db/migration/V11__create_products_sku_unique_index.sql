@@ -0,0 +1,3 @@
+
+CREATE UNIQUE INDEX uk_products_sku ON products (sku);
+
@@ -0,0 +1,13 @@
+
+CREATE TABLE stock_reservations (
+	reservation_id INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	status VARCHAR(255) NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+ALTER TABLE stock_reservations
+  ADD CONSTRAINT fk9_assign FOREIGN KEY (product_id) REFERENCES products (product_id);
+
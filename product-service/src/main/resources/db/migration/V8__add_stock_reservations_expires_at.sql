@@ -0,0 +1,7 @@
+
+ALTER TABLE stock_reservations
+  ADD COLUMN expires_at TIMESTAMP;
+
+CREATE INDEX idx_stock_reservations_status_expires_at
+  ON stock_reservations (status, expires_at);
+
@@ -0,0 +1,16 @@
+
+CREATE TABLE category_closure (
+	ancestor_id INT(11) NOT NULL,
+	descendant_id INT(11) NOT NULL,
+	depth INT(11) NOT NULL,
+	PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_category_closure_descendant ON category_closure (descendant_id, depth);
+
+ALTER TABLE category_closure
+  ADD CONSTRAINT fk10_assign FOREIGN KEY (ancestor_id) REFERENCES categories (category_id) ON DELETE CASCADE;
+
+ALTER TABLE category_closure
+  ADD CONSTRAINT fk11_assign FOREIGN KEY (descendant_id) REFERENCES categories (category_id) ON DELETE CASCADE;
+
@@ -0,0 +1,79 @@
+package com.selimhorri.app.config.category;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.domain.CategoryClosure;
+import com.selimhorri.app.dto.CategoryDto;
+
+class CategoryTreeTest {
+
+    private CategoryTree tree;
+
+    @BeforeEach
+    void setUp() {
+        // Computer (1) > Laptop (2) > Gaming Laptop (4); Computer (1) > Desktop (3); Game (5)
+        List<Object[]> nodes = List.of(
+                new Object[] { 1, "Computer", null, null },
+                new Object[] { 2, "Laptop", null, 1 },
+                new Object[] { 3, "Desktop", null, 1 },
+                new Object[] { 4, "Gaming Laptop", null, 2 },
+                new Object[] { 5, "Game", null, null });
+        List<CategoryClosure> paths = List.of(
+                new CategoryClosure(1, 1, 0),
+                new CategoryClosure(2, 2, 0),
+                new CategoryClosure(3, 3, 0),
+                new CategoryClosure(4, 4, 0),
+                new CategoryClosure(5, 5, 0),
+                new CategoryClosure(1, 2, 1),
+                new CategoryClosure(1, 3, 1),
+                new CategoryClosure(2, 4, 1),
+                new CategoryClosure(1, 4, 2));
+        this.tree = CategoryTree.of(1L, nodes, paths);
+    }
+
+    @Test
+    void ancestorsOf_shouldReturnChainFromRoot() {
+        // when
+        List<CategoryDto> ancestors = this.tree.ancestorsOf(4);
+
+        // then
+        assertThat(ids(ancestors)).containsExactly(1, 2);
+        assertThat(this.tree.ancestorsOf(1)).isEmpty();
+    }
+
+    @Test
+    void descendantsOf_shouldReturnSubtreeLevelByLevel() {
+        // when
+        List<CategoryDto> descendants = this.tree.descendantsOf(1);
+
+        // then
+        assertThat(ids(descendants)).containsExactly(2, 3, 4);
+        assertThat(this.tree.descendantsOf(5)).isEmpty();
+    }
+
+    @Test
+    void find_shouldCarryParentWithoutLoadingItsAncestors() {
+        // when
+        CategoryDto gamingLaptop = this.tree.find(4).orElseThrow();
+
+        // then
+        assertThat(gamingLaptop.getCategoryTitle()).isEqualTo("Gaming Laptop");
+        assertThat(gamingLaptop.getParentCategoryDto().getCategoryId()).isEqualTo(2);
+        assertThat(gamingLaptop.getParentCategoryDto().getParentCategoryDto()).isNull();
+        assertThat(this.tree.find(5).orElseThrow().getParentCategoryDto()).isNull();
+        assertThat(this.tree.find(42)).isEmpty();
+    }
+
+    private static List<Integer> ids(List<CategoryDto> categories) {
+        return categories.stream()
+                .map(CategoryDto::getCategoryId)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.selimhorri.app.config.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.selimhorri.app.config.importer.ProductImportReader.Entry;
+import com.selimhorri.app.exception.wrapper.ProductImportException;
+
+class ProductImportReaderTest {
+
+    private final ObjectReader rowReader = new ObjectMapper().reader();
+
+    @Test
+    void csv_shouldMapColumnsByHeaderName() throws IOException {
+        // given
+        String csv = "Quantity,sku,product_title,priceUnit,extra\r\n"
+                + "5,SKU-1,\"Desk, oak\",12.50,x\r\n"
+                + "\n"
+                + "7,SKU-2,,,\n";
+
+        // when
+        List<Entry> entries = read(ImportFormat.CSV, csv);
+
+        // then
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).getLine()).isEqualTo(2);
+        assertThat(entries.get(0).getRow()).isEqualTo(ProductImportRow.builder()
+                .sku("SKU-1").productTitle("Desk, oak").priceUnit(12.5).quantity(5).build());
+        assertThat(entries.get(1).getLine()).isEqualTo(4);
+        assertThat(entries.get(1).getRow()).isEqualTo(ProductImportRow.builder()
+                .sku("SKU-2").quantity(7).build());
+    }
+
+    @Test
+    void csv_shouldKeepQuotedLineBreaksAndEscapedQuotes() throws IOException {
+        // given
+        String csv = "sku,productTitle\n"
+                + "SKU-1,\"12\"\" screen\nwith stand\"\n"
+                + "SKU-2,lamp\n";
+
+        // when
+        List<Entry> entries = read(ImportFormat.CSV, csv);
+
+        // then
+        assertThat(entries).extracting(entry -> entry.getRow().getProductTitle())
+                .containsExactly("12\" screen\nwith stand", "lamp");
+        assertThat(entries).extracting(Entry::getLine).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void csv_shouldReportBadValuesAndGoOn() throws IOException {
+        // given
+        String csv = "sku,quantity\n"
+                + "SKU-1,many\n"
+                + "SKU-2,3\n";
+
+        // when
+        List<Entry> entries = read(ImportFormat.CSV, csv);
+
+        // then
+        assertThat(entries.get(0).isFailed()).isTrue();
+        assertThat(entries.get(0).getRow().getSku()).isEqualTo("SKU-1");
+        assertThat(entries.get(0).getError()).contains("quantity");
+        assertThat(entries.get(1).getRow().getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void csv_shouldRequireSkuColumn() {
+        assertThatThrownBy(() -> read(ImportFormat.CSV, "title,quantity\nlamp,1\n"))
+                .isInstanceOf(ProductImportException.class);
+    }
+
+    @Test
+    void csv_shouldStopOnOversizedRecord() {
+        // given
+        String csv = "sku,productTitle\nSKU-1,\"" + "x".repeat(ProductImportReader.MAX_RECORD_LENGTH + 1);
+
+        // when & then
+        assertThatThrownBy(() -> read(ImportFormat.CSV, csv))
+                .isInstanceOf(ProductImportException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void ndjson_shouldReadOneRecordPerLineAndReportMalformedOnes() throws IOException {
+        // given
+        String ndjson = "{\"sku\":\"SKU-1\",\"priceUnit\":9.99}\n"
+                + "{\"sku\":\"SKU-2\",\n"
+                + "\n"
+                + "{\"sku\":\"SKU-3\",\"quantity\":0,\"categoryId\":2}";
+
+        // when
+        List<Entry> entries = read(ImportFormat.NDJSON, ndjson);
+
+        // then
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).getRow().getPriceUnit()).isEqualTo(9.99);
+        assertThat(entries.get(1).isFailed()).isTrue();
+        assertThat(entries.get(1).getLine()).isEqualTo(2);
+        assertThat(entries.get(2).getLine()).isEqualTo(4);
+        assertThat(entries.get(2).getRow()).isEqualTo(ProductImportRow.builder()
+                .sku("SKU-3").quantity(0).categoryId(2).build());
+    }
+
+    @Test
+    void validate_shouldRejectMissingSkuAndOutOfRangeValues() {
+        assertThat(ProductImporter.validate(ProductImportRow.builder().quantity(1).build())).contains("sku");
+        assertThat(ProductImporter.validate(ProductImportRow.builder().sku("S").quantity(-1).build())).contains("quantity");
+        assertThat(ProductImporter.validate(ProductImportRow.builder().sku("S").priceUnit(100_000.0).build())).contains("priceUnit");
+        assertThat(ProductImporter.validate(ProductImportRow.builder().sku("S").priceUnit(0.0).quantity(0).build())).isNull();
+    }
+
+    private List<Entry> read(ImportFormat format, String input) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (ProductImportReader reader = ProductImportReader.of(format, new StringReader(input), this.rowReader)) {
+            Entry entry;
+            while ((entry = reader.next()) != null)
+                entries.add(entry);
+        }
+        return entries;
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.selimhorri.app.config.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.category.CategoryTreeCache;
+import com.selimhorri.app.config.importer.ProductImportReader.Entry;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.config.stock.FlashSaleStockAllocator;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportWriterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ProductSearchIndexer productSearchIndexer;
+
+    @Mock
+    private CatalogCacheInvalidator catalogCacheInvalidator;
+
+    @Mock
+    private FlashSaleStockAllocator flashSaleStockAllocator;
+
+    private final List<Map<String, Object>> storedProducts = new ArrayList<>();
+    private final Map<Integer, Integer> heldUnits = new HashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private ProductImportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        // answers the two selects from the rows above; batch updates are only recorded
+        this.jdbcTemplate = mock(JdbcTemplate.class, withSettings().defaultAnswer(invocation -> {
+            if (!invocation.getMethod().getName().equals("query"))
+                return Answers.RETURNS_DEFAULTS.answer(invocation);
+            final String sql = invocation.getArgument(0);
+            final RowCallbackHandler handler = invocation.getArgument(1);
+            if (sql.startsWith("SELECT product_id, sku"))
+                for (final Map<String, Object> row : this.storedProducts)
+                    handler.processRow(resultSet(row));
+            else if (sql.startsWith("SELECT product_id, SUM(quantity)"))
+                for (final Map.Entry<Integer, Integer> held : this.heldUnits.entrySet())
+                    handler.processRow(resultSet(Map.of("1", held.getKey(), "2", held.getValue())));
+            return null;
+        }));
+        this.writer = new ProductImportWriter(this.jdbcTemplate, this.transactionManager, this.categoryTreeCache,
+                this.outboxWriter, this.productSearchIndexer, this.catalogCacheInvalidator,
+                this.flashSaleStockAllocator);
+    }
+
+    @Test
+    void write_shouldKeepStoredProductWithoutCategoryUncategorised() {
+        // given
+        this.storedProducts.add(stored(7, "SKU-1", 3));
+
+        // when
+        ProductImportWriter.Result result = this.writer.write(List.of(Entry.of(2, ProductImportRow.builder()
+                .sku("SKU-1").productTitle("lamp").build())), ImportMode.UPSERT);
+
+        // then
+        assertThat(result.getUpdated()).isEqualTo(1);
+        Object[] update = this.updateArgs();
+        assertThat(update[0]).isEqualTo("lamp");
+        assertThat(update[3]).isEqualTo(3);
+        assertThat(update[4]).isNull();
+    }
+
+    @Test
+    void write_shouldDeductUnitsOnHoldFromImportedQuantity() {
+        // given
+        this.storedProducts.add(stored(7, "SKU-1", 3));
+        this.heldUnits.put(7, 2);
+
+        // when
+        ProductImportWriter.Result result = this.writer.write(List.of(Entry.of(2, ProductImportRow.builder()
+                .sku("SKU-1").quantity(10).build())), ImportMode.UPDATE);
+
+        // then
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(this.updateArgs()[3]).isEqualTo(8);
+    }
+
+    @Test
+    void write_shouldRejectQuantityBelowUnitsOnHold() {
+        // given
+        this.storedProducts.add(stored(7, "SKU-1", 3));
+        this.heldUnits.put(7, 2);
+
+        // when
+        ProductImportWriter.Result result = this.writer.write(List.of(Entry.of(2, ProductImportRow.builder()
+                .sku("SKU-1").quantity(1).build())), ImportMode.UPDATE);
+
+        // then
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getRejected()).extracting(Entry::getError)
+                .containsExactly("quantity 1 is below the 2 units on hold");
+        verify(this.jdbcTemplate, never()).batchUpdate(any(String.class), anyList(), any(int[].class));
+    }
+
+    @Test
+    void write_shouldRejectStockOfFlashSaleProduct() {
+        // given
+        this.storedProducts.add(stored(7, "SKU-1", 3));
+        when(this.flashSaleStockAllocator.isManaged(7)).thenReturn(true);
+
+        // when
+        ProductImportWriter.Result result = this.writer.write(List.of(Entry.of(2, ProductImportRow.builder()
+                .sku("SKU-1").quantity(10).build())), ImportMode.UPDATE);
+
+        // then
+        assertThat(result.getRejected()).extracting(Entry::getError)
+                .containsExactly("stock of a flash-sale product cannot be imported");
+        verify(this.jdbcTemplate, never()).batchUpdate(any(String.class), anyList(), any(int[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] updateArgs() {
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(this.jdbcTemplate).batchUpdate(startsWith("UPDATE products"), args.capture(), any(int[].class));
+        assertThat(args.getValue()).hasSize(1);
+        return args.getValue().get(0);
+    }
+
+    private static Map<String, Object> stored(final int productId, final String sku, final int quantity) {
+        final Map<String, Object> row = new HashMap<>();
+        row.put("product_id", productId);
+        row.put("sku", sku);
+        row.put("product_title", "desk");
+        row.put("image_url", "desk.png");
+        row.put("price_unit", 12.5);
+        row.put("quantity", quantity);
+        row.put("category_id", null);
+        return row;
+    }
+
+    /**
+     * A result set positioned on one row, keyed by column label or by index,
+     * whose {@code wasNull} reports on the last column read.
+     */
+    private static ResultSet resultSet(final Map<String, Object> row) {
+        final boolean[] lastNull = new boolean[1];
+        return mock(ResultSet.class, invocation -> {
+            final String method = invocation.getMethod().getName();
+            if (method.equals("wasNull"))
+                return lastNull[0];
+            if (invocation.getArguments().length == 0)
+                return Answers.RETURNS_DEFAULTS.answer(invocation);
+            final Object value = row.get(String.valueOf(invocation.getArguments()[0]));
+            lastNull[0] = value == null;
+            switch (method) {
+                case "getInt":
+                    return (value == null) ? 0 : ((Number) value).intValue();
+                case "getDouble":
+                    return (value == null) ? 0.0 : ((Number) value).doubleValue();
+                case "getString":
+                    return value;
+                default:
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.selimhorri.app.config.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+class ProductFacetIndexTest {
+
+    private static final int ELECTRONICS = 1;
+    private static final int COMPUTERS = 2;
+    private static final int PHONES = 3;
+    private static final int BOOKS = 4;
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        parents.put(ELECTRONICS, null);
+        parents.put(COMPUTERS, ELECTRONICS);
+        parents.put(PHONES, ELECTRONICS);
+        parents.put(BOOKS, null);
+
+        this.index = new ProductFacetIndex();
+        this.index.replaceCategories(parents);
+        this.index.put(product(1, COMPUTERS, 999.0, 5));
+        this.index.put(product(2, COMPUTERS, 1499.0, 0));
+        this.index.put(product(3, PHONES, 599.0, 12));
+        this.index.put(product(4, BOOKS, 25.0, 40));
+        this.index.put(product(5, PHONES, null, 3));
+    }
+
+    @Test
+    void list_shouldIncludeSubcategories() {
+        // when
+        ProductFacetIndex.Listing listing = this.index.list(criteria(ELECTRONICS, null, null, null, false), null, 10);
+
+        // then
+        assertThat(ids(listing)).containsExactly(1, 2, 3, 5);
+    }
+
+    @Test
+    void list_shouldCombinePriceAndStockFilters() {
+        // when
+        ProductFacetIndex.Listing listing = this.index.list(criteria(null, 500.0, 1500.0, true, false), null, 10);
+
+        // then
+        assertThat(ids(listing)).containsExactly(1, 3);
+    }
+
+    @Test
+    void list_shouldRollFacetCountsUpToParents() {
+        // when
+        ProductFacetIndex.Listing listing = this.index.list(criteria(PHONES, null, null, true, false), null, 10);
+
+        // then
+        assertThat(ids(listing)).containsExactly(3, 5);
+        assertThat(listing.getCategoryFacets())
+                .containsEntry(ELECTRONICS, 3)
+                .containsEntry(COMPUTERS, 1)
+                .containsEntry(PHONES, 2)
+                .containsEntry(BOOKS, 1);
+    }
+
+    @Test
+    void list_shouldSortByPriceAndPageAfterProduct() {
+        // when
+        ProductFacetIndex.Listing firstPage = this.index.list(criteria(null, null, null, null, true), null, 3);
+        ProductFacetIndex.Listing secondPage = this.index.list(criteria(null, null, null, null, true), 1, 3);
+
+        // then
+        assertThat(ids(firstPage)).containsExactly(4, 3, 1);
+        assertThat(ids(secondPage)).containsExactly(2, 5);
+    }
+
+    @Test
+    void list_shouldSortByPriceWithinPriceRange() {
+        // when
+        ProductFacetIndex.Listing firstPage = this.index.list(criteria(null, 500.0, 1499.0, true, true), null, 1);
+        ProductFacetIndex.Listing secondPage = this.index.list(criteria(null, 500.0, 1499.0, true, true), 3, 1);
+        ProductFacetIndex.Listing lastPage = this.index.list(criteria(null, 500.0, 1499.0, true, true), 1, 1);
+
+        // then
+        assertThat(ids(firstPage)).containsExactly(3);
+        assertThat(ids(secondPage)).containsExactly(1);
+        assertThat(ids(lastPage)).isEmpty();
+    }
+
+    @Test
+    void list_shouldReturnNothingWhenMinPriceExceedsMaxPrice() {
+        // when
+        ProductFacetIndex.Listing listing = this.index.list(criteria(null, 1000.0, 10.0, null, true), null, 10);
+
+        // then
+        assertThat(listing.getProducts()).isEmpty();
+        assertThat(listing.getCategoryFacets()).isEmpty();
+    }
+
+    @Test
+    void put_shouldMoveUpdatedProductBetweenIndexes() {
+        // given
+        this.index.put(product(2, BOOKS, 10.0, 7));
+
+        // when
+        ProductFacetIndex.Listing books = this.index.list(criteria(BOOKS, null, null, true, true), null, 10);
+        ProductFacetIndex.Listing computers = this.index.list(criteria(COMPUTERS, null, null, null, false), null, 10);
+
+        // then
+        assertThat(ids(books)).containsExactly(2, 4);
+        assertThat(ids(computers)).containsExactly(1);
+    }
+
+    @Test
+    void remove_shouldDropProductFromListingsAndFacets() {
+        // given
+        this.index.remove(4);
+
+        // when
+        ProductFacetIndex.Listing listing = this.index.list(criteria(null, null, 100.0, null, false), null, 10);
+
+        // then
+        assertThat(ids(listing)).isEmpty();
+        assertThat(listing.getCategoryFacets()).doesNotContainKey(BOOKS);
+    }
+
+    private static ProductFacetIndex.Criteria criteria(Integer categoryId, Double minPrice, Double maxPrice,
+            Boolean inStock, boolean sortByPrice) {
+        return new ProductFacetIndex.Criteria(categoryId, minPrice, maxPrice, inStock, sortByPrice);
+    }
+
+    private static ProductDto product(int id, int categoryId, Double price, int quantity) {
+        return ProductDto.builder()
+                .productId(id)
+                .priceUnit(price)
+                .quantity(quantity)
+                .categoryDto(CategoryDto.builder()
+                        .categoryId(categoryId)
+                        .build())
+                .build();
+    }
+
+    private static List<Integer> ids(ProductFacetIndex.Listing listing) {
+        return listing.getProducts().stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+}
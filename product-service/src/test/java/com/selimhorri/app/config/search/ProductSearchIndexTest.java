@@ -0,0 +1,133 @@
+package com.selimhorri.app.config.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new ProductSearchIndex();
+        this.index.put(product(1, "Asus Zenbook Laptop", "AS-ZB-14", "Computers"));
+        this.index.put(product(2, "Lenovo ThinkPad Laptop", "LN-TP-X1", "Computers"));
+        this.index.put(product(3, "Sony Headphones", "SN-WH-1000", "\u00c9lectronique"));
+    }
+
+    @Test
+    void search_shouldMatchAllTermsAcrossFields() {
+        // when
+        List<ProductDto> laptops = this.index.search("laptop computers", null, null, 10);
+        List<ProductDto> lenovo = this.index.search("LAPTOP lenovo", null, null, 10);
+
+        // then
+        assertThat(ids(laptops)).containsExactly(1, 2);
+        assertThat(ids(lenovo)).containsExactly(2);
+    }
+
+    @Test
+    void search_shouldMatchSkuPartsAndCompactSku() {
+        // when / then
+        assertThat(ids(this.index.search("tp", null, null, 10))).containsExactly(2);
+        assertThat(ids(this.index.search("lntpx1", null, null, 10))).containsExactly(2);
+    }
+
+    @Test
+    void search_shouldFoldAccents() {
+        // when
+        List<ProductDto> result = this.index.search("electronique", null, null, 10);
+
+        // then
+        assertThat(ids(result)).containsExactly(3);
+    }
+
+    @Test
+    void search_shouldTolerateOneTypoInLongerTerms() {
+        // when / then
+        assertThat(ids(this.index.search("laptpo", null, null, 10))).containsExactly(1, 2);
+        assertThat(ids(this.index.search("thinkpd", null, null, 10))).containsExactly(2);
+        assertThat(ids(this.index.search("headfones", null, null, 10))).isEmpty();
+        assertThat(ids(this.index.search("sny", null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void search_shouldExpandLastPrefixWord() {
+        // when
+        List<ProductDto> result = this.index.search(null, "laptop thin", null, 10);
+
+        // then
+        assertThat(ids(result)).containsExactly(2);
+    }
+
+    @Test
+    void search_shouldPageByProductId() {
+        // when
+        List<ProductDto> firstPage = this.index.search("laptop", null, null, 1);
+        List<ProductDto> secondPage = this.index.search("laptop", null, 1, 1);
+
+        // then
+        assertThat(ids(firstPage)).containsExactly(1);
+        assertThat(ids(secondPage)).containsExactly(2);
+    }
+
+    @Test
+    void put_shouldReplaceTokensOfUpdatedProduct() {
+        // given
+        this.index.put(product(1, "Asus Vivobook Laptop", "AS-VB-15", "Computers"));
+
+        // when / then
+        assertThat(ids(this.index.search("zenbook", null, null, 10))).isEmpty();
+        assertThat(ids(this.index.search("vivobook", null, null, 10))).containsExactly(1);
+        assertThat(this.index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_shouldDropProductAndUnusedSuggestions() {
+        // given
+        this.index.remove(3);
+
+        // when / then
+        assertThat(this.index.search("sony", null, null, 10)).isEmpty();
+        assertThat(this.index.suggest("hea", 10)).isEmpty();
+        assertThat(this.index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void suggest_shouldRankMoreCommonWordsFirst() {
+        // given
+        this.index.put(product(4, "Lenovo Legion", "LN-LG-5", "Gaming"));
+
+        // when
+        List<String> suggestions = this.index.suggest("le", 10);
+
+        // then
+        assertThat(suggestions).containsExactly("lenovo", "legion");
+    }
+
+    private static ProductDto product(int id, String title, String sku, String categoryTitle) {
+        return ProductDto.builder()
+                .productId(id)
+                .productTitle(title)
+                .sku(sku)
+                .categoryDto(CategoryDto.builder()
+                        .categoryTitle(categoryTitle)
+                        .build())
+                .build();
+    }
+
+    private static List<Integer> ids(List<ProductDto> products) {
+        return products.stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.selimhorri.app.config.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private HierarchicalTimingWheel<Integer> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 10ms ticks, 8 slots, 3 levels: 80ms, 640ms and 5.12s rotations
+        this.wheel = new HierarchicalTimingWheel<>(Duration.ofMillis(10), 8, 3, START);
+    }
+
+    @Test
+    void advanceTo_shouldFireEntriesOnlyOnceDue() {
+        // given
+        this.wheel.schedule(1, START + 25);
+        this.wheel.schedule(2, START + 700);
+
+        // when
+        Map<Integer, Long> beforeDeadline = this.wheel.advanceTo(START + 20);
+        Map<Integer, Long> atFirstDeadline = this.wheel.advanceTo(START + 30);
+        Map<Integer, Long> atSecondDeadline = this.wheel.advanceTo(START + 700);
+
+        // then
+        assertThat(beforeDeadline).isEmpty();
+        assertThat(atFirstDeadline).containsOnlyKeys(1).containsEntry(1, START + 25);
+        assertThat(atSecondDeadline).containsOnlyKeys(2);
+        assertThat(this.wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_shouldReplaceEarlierDeadlineOfSameKey() {
+        // given
+        this.wheel.schedule(1, START + 50);
+
+        // when
+        this.wheel.schedule(1, START + 2_000);
+
+        // then
+        assertThat(this.wheel.advanceTo(START + 1_990)).isEmpty();
+        assertThat(this.wheel.advanceTo(START + 2_000)).containsOnlyKeys(1);
+    }
+
+    @Test
+    void cancel_shouldRemoveEntry() {
+        // given
+        this.wheel.schedule(1, START + 50);
+
+        // when
+        boolean cancelled = this.wheel.cancel(1);
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(this.wheel.size()).isZero();
+        assertThat(this.wheel.advanceTo(START + 100)).isEmpty();
+    }
+
+    @Test
+    void schedule_withPastDeadline_shouldFireOnNextTick() {
+        // given
+        this.wheel.schedule(1, START - 500);
+
+        // when
+        Map<Integer, Long> fired = this.wheel.advanceTo(START + 10);
+
+        // then
+        assertThat(fired).containsOnlyKeys(1);
+    }
+
+    @Test
+    void advanceTo_shouldNeverFireEarlyOrLoseEntriesAcrossAllLevels() {
+        // given
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 5_000; key++) {
+            // up to 4x the top rotation, so some entries wait beyond the wheel's range
+            long deadline = START + random.nextInt(20_000);
+            deadlines.put(key, deadline);
+            this.wheel.schedule(key, deadline);
+        }
+
+        // when
+        long now = START;
+        while (now < START + 25_000) {
+            now += random.nextInt(50);
+            for (Map.Entry<Integer, Long> fired : this.wheel.advanceTo(now).entrySet()) {
+                long deadline = deadlines.remove(fired.getKey());
+
+                // then
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(now - deadline).isLessThan(50 + 10);
+            }
+        }
+
+        // then
+        assertThat(deadlines).isEmpty();
+        assertThat(this.wheel.size()).isZero();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.selimhorri.app.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.selimhorri.app.config.stock.FlashSaleStockAllocator;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.StockService;
+
+/**
+ * Many buyers of one product reserving single units until stock runs out;
+ * exactly the units in stock are reserved, never more.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class StockContentionIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int STOCK = 2_000;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private FlashSaleStockAllocator flashSaleStockAllocator;
+
+    @Test
+    void reserve_withConditionalUpdate_shouldNeverOversell() throws Exception {
+        // given
+        Integer productId = this.createProduct("STOCK-CONTENTION-DB");
+
+        // when
+        int reserved = this.reserveUntilSoldOut(productId);
+
+        // then
+        assertThat(reserved).isEqualTo(STOCK);
+        assertThat(this.productRepository.findQuantity(productId)).contains(0);
+    }
+
+    @Test
+    void reserve_withFlashSalePool_shouldNeverOversell() throws Exception {
+        // given
+        Integer productId = this.createProduct("STOCK-CONTENTION-POOL");
+        this.flashSaleStockAllocator.manage(productId);
+
+        // when
+        int reserved;
+        try {
+            reserved = this.reserveUntilSoldOut(productId);
+        }
+        finally {
+            this.flashSaleStockAllocator.unmanage(productId);
+        }
+
+        // then
+        assertThat(reserved).isEqualTo(STOCK);
+        assertThat(this.productRepository.findQuantity(productId)).contains(0);
+    }
+
+    private Integer createProduct(final String sku) {
+        return this.productRepository.save(Product.builder()
+                .productTitle(sku)
+                .sku(sku)
+                .priceUnit(1.0)
+                .quantity(STOCK)
+                .build())
+                .getProductId();
+    }
+
+    private int reserveUntilSoldOut(final Integer productId) throws Exception {
+        final AtomicInteger reserved = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> buyers = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                buyers.add(executor.submit(() -> {
+                    start.await();
+                    while (true) {
+                        try {
+                            this.stockService.reserve(productId, 1);
+                            reserved.incrementAndGet();
+                        }
+                        catch (InsufficientStockException e) {
+                            return null;
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (final Future<?> buyer : buyers)
+                buyer.get(2, TimeUnit.MINUTES);
+            return reserved.get();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -2,11 +2,14 @@ package com.selimhorri.app.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
+import com.selimhorri.app.config.cache.CatalogCacheInvalidator;
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.config.search.ProductSearchIndexer;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.ProductDto;
@@ -28,6 +36,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogCacheInvalidator catalogCacheInvalidator;
+
+    @Mock
+    private ProductSearchIndexer productSearchIndexer;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -85,6 +102,20 @@ class ProductServiceTest {
         assertThat(products.get(0).getProductTitle()).isEqualTo("Test Product");
     }
 
+    @Test
+    void findAll_withCursor_shouldReturnPageAfterCursor() {
+        // given
+        when(this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(this.product));
+
+        // when
+        List<ProductDto> products = this.productService.findAll(null, 10);
+
+        // then
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0).getProductId()).isEqualTo(1);
+    }
+
     @Test
     void findById_shouldReturnProduct() {
         // given
@@ -99,6 +130,19 @@ class ProductServiceTest {
         assertThat(foundProduct.getSku()).isEqualTo("TST-001");
     }
 
+    @Test
+    void findAllByIds_shouldReturnRequestedProducts() {
+        // given
+        when(this.productRepository.findAllById(Set.of(1, 2))).thenReturn(Collections.singletonList(this.product));
+
+        // when
+        List<ProductDto> products = this.productService.findAllByIds(Set.of(1, 2));
+
+        // then
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0).getProductId()).isEqualTo(1);
+    }
+
     @Test
     void save_shouldCreateProduct() {
         // given
@@ -110,22 +154,15 @@ class ProductServiceTest {
         // then
         assertThat(savedProduct).isNotNull();
         assertThat(savedProduct.getProductTitle()).isEqualTo("Test Product");
+        verify(this.outboxWriter).append(eq(AppConstant.Events.PRODUCT), eq(1),
+                eq(AppConstant.Events.PRODUCT_CREATED), eq(savedProduct));
     }
 
     @Test
     void update_shouldUpdateProduct() {
         // given
-        Product updatedProduct = Product.builder()
-                .productId(1)
-                .productTitle("Updated Product")
-                .imageUrl("http://example.com/updated-image.jpg")
-                .sku("TST-001")
-                .priceUnit(39.99)
-                .quantity(80)
-                .category(this.category)
-                .build();
-
-        when(this.productRepository.save(any(Product.class))).thenReturn(updatedProduct);
+        when(this.productRepository.findById(1)).thenReturn(Optional.of(this.product));
+        when(this.productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ProductDto updatedInfo = ProductDto.builder()
                 .productId(1)
@@ -144,6 +181,26 @@ class ProductServiceTest {
         assertThat(updatedProductDto).isNotNull();
         assertThat(updatedProductDto.getProductTitle()).isEqualTo("Updated Product");
         assertThat(updatedProductDto.getPriceUnit()).isEqualTo(39.99);
+        verify(this.outboxWriter).append(eq(AppConstant.Events.PRODUCT), eq(1),
+                eq(AppConstant.Events.PRODUCT_UPDATED), eq(updatedProductDto));
+    }
+
+    @Test
+    void update_shouldKeepStoredQuantity() {
+        // given
+        when(this.productRepository.findById(1)).thenReturn(Optional.of(this.product));
+        when(this.productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ProductDto updatedProductDto = this.productService.update(1, ProductDto.builder()
+                .productTitle("Updated Product")
+                .quantity(5)
+                .categoryDto(this.categoryDto)
+                .build());
+
+        // then
+        assertThat(updatedProductDto.getProductTitle()).isEqualTo("Updated Product");
+        assertThat(updatedProductDto.getQuantity()).isEqualTo(100);
     }
 
     @Test
@@ -157,5 +214,8 @@ class ProductServiceTest {
         // then
         // No exception thrown means success
         // The test validates that the method executes without throwing an exception
+        verify(this.catalogCacheInvalidator).evictProduct(1);
+        verify(this.outboxWriter).append(eq(AppConstant.Events.PRODUCT), eq(1),
+                eq(AppConstant.Events.PRODUCT_DELETED), any(ProductDto.class));
     }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.springframework.web.client.RestTemplate;
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.business.auth.util.UserDetailsCache;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
@@ -28,6 +29,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
 	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
+	private final UserDetailsCache userDetailsCache;
 	private final JwtService jwtService;
 	private final RestTemplate restTemplate;
 
@@ -48,8 +50,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 				System.out.println(credentialDto.getUsername());
 				System.out.println("++++++++++++++");
 
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername()), credentialDto.getUserDto().getUserId().toString()));
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
+		this.userDetailsCache.put(userDetails);
+
+		return new AuthenticationResponse(this.jwtService.generateToken(userDetails, 
+				credentialDto.getUserDto().getUserId().toString()));
 	}
 
 }
@@ -1,17 +1,20 @@
 package com.selimhorri.app.business.auth.util;
 
+import java.util.function.Supplier;
+
 import javax.servlet.http.HttpServletRequest;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.selimhorri.app.business.auth.enums.ResourceType;
-import com.selimhorri.app.business.order.model.CartDto;
-import com.selimhorri.app.business.order.model.OrderDto;
-import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.constant.AppConstant;
@@ -20,10 +23,19 @@ import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 @Component
 public class AuthUtil {
 
+    private static final long OWNERS_MAX_SIZE = 50_000;
+
     private final RestTemplate restTemplate;
+    private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    // ownership is fixed once a resource exists, so entries only leave on size pressure
+    private final Cache<String, String> owners = Caffeine.newBuilder()
+            .maximumSize(OWNERS_MAX_SIZE)
+            .build();
 
-    public AuthUtil(RestTemplate restTemplate) {
+    public AuthUtil(RestTemplate restTemplate, CircuitBreakerFactory<?, ?> circuitBreakerFactory) {
         this.restTemplate = restTemplate;
+        this.circuitBreakerFactory = circuitBreakerFactory;
     }
 
     public void canActivate(HttpServletRequest request, String userId, UserDetails userDetails) {
@@ -37,43 +49,53 @@ public class AuthUtil {
     }
 
     public String getOwner(String id, ResourceType resourceType) {
-        String apiUrl = "";
-        try {
-            switch (resourceType) {
-                case CREDENTIALS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials/" + id;
-                    CredentialDto credentialDto = restTemplate.getForObject(apiUrl, CredentialDto.class);
-                    return credentialDto.getUserDto().getUserId().toString();
-                case ADDRESSES:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/address/" + id;
-                    AddressDto addressDto = restTemplate.getForObject(apiUrl, AddressDto.class);
-                    return addressDto.getUserDto().getUserId().toString();
-                case CARTS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/" + id;
-                    CartDto cartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return cartDto.getUserDto().getUserId().toString();
-                case ORDERS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders/" + id;
-                    OrderDto orderDto = restTemplate.getForObject(apiUrl, OrderDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/"
-                            + orderDto.getCartDto().getCartId();
-                    CartDto orderCartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return orderCartDto.getUserDto().getUserId().toString();
-                case PAYMENTS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/payments/" + id;
-                    PaymentDto paymentDto = restTemplate.getForObject(apiUrl, PaymentDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders/" + paymentDto.getOrderDto().getOrderId();
-                    OrderDto paymentOrderDto = restTemplate.getForObject(apiUrl, OrderDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/"
-                            + paymentOrderDto.getCartDto().getCartId();
-                    CartDto paymentCartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return paymentCartDto.getUserDto().getUserId().toString();
-                default:
-                    return null;
-            }
-        } catch (Exception e) {
-            return null;
+        final String key = resourceType + ":" + id;
+        final String cached = this.owners.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String owner = this.fetchOwner(id, resourceType);
+        if (owner != null) {
+            this.owners.put(key, owner);
         }
+        return owner;
+    }
+
+    // never returns null: an owner that cannot be resolved must not skip the check in canActivate
+    private String fetchOwner(String id, ResourceType resourceType) {
+        switch (resourceType) {
+            case CREDENTIALS:
+                return this.guarded(AppConstant.Backends.USER_SERVICE, () -> restTemplate.getForObject(
+                        AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials/" + id,
+                        CredentialDto.class).getUserDto().getUserId().toString());
+            case ADDRESSES:
+                return this.guarded(AppConstant.Backends.USER_SERVICE, () -> restTemplate.getForObject(
+                        AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/address/" + id,
+                        AddressDto.class).getUserDto().getUserId().toString());
+            case CARTS:
+                return this.guarded(AppConstant.Backends.ORDER_SERVICE, () -> restTemplate.getForObject(
+                        AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/owners/carts/" + id,
+                        Integer.class).toString());
+            case ORDERS:
+                return this.guarded(AppConstant.Backends.ORDER_SERVICE, () -> restTemplate.getForObject(
+                        AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/owners/orders/" + id,
+                        Integer.class).toString());
+            case PAYMENTS:
+                return this.guarded(AppConstant.Backends.PAYMENT_SERVICE, () -> restTemplate.getForObject(
+                        AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/owners/payments/" + id,
+                        Integer.class).toString());
+            default:
+                throw new UnauthorizedException("Owner of " + resourceType + " " + id + " cannot be resolved");
+        }
+    }
+
+    // a resource the owner service rejects is denied; an unreachable or open-breaker owner service answers 503
+    private String guarded(String backend, Supplier<String> lookup) {
+        return this.circuitBreakerFactory.create(backend).run(lookup, throwable -> {
+            if (throwable instanceof HttpClientErrorException)
+                throw new UnauthorizedException("Owner of the resource cannot be resolved", throwable);
+            throw new NoFallbackAvailableException("Owner lookup on " + backend + " is unavailable", throwable);
+        });
     }
 
     private boolean getIsAdmin(UserDetails userDetails) {
@@ -0,0 +1,73 @@
+package com.selimhorri.app.business.auth.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived, size-bounded cache of user details keyed by username, so that
+ * authenticated requests skip the round trip to USER-SERVICE. Entries are
+ * dropped as soon as the owning credential or user is changed through this
+ * gateway; changes made elsewhere are picked up once the TTL elapses.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+	
+	private final Cache<String, UserDetails> cache;
+	
+	public UserDetailsCache(
+			@Value("${app.security.user-details-cache.ttl:60s}") final Duration ttl, 
+			@Value("${app.security.user-details-cache.max-size:10000}") final long maxSize) {
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.build();
+	}
+	
+	public UserDetails get(final String username, final Function<String, UserDetails> loader) {
+		return this.cache.get(username, loader);
+	}
+	
+	public void put(final UserDetails userDetails) {
+		this.cache.put(userDetails.getUsername(), userDetails);
+	}
+	
+	public void invalidate(final String username) {
+		if (username != null)
+			this.cache.invalidate(username);
+	}
+	
+	public void invalidateCredential(final Integer credentialId) {
+		this.invalidateWhere(credential -> Objects.equals(credential.getCredentialId(), credentialId));
+	}
+	
+	public void invalidateUser(final Integer userId) {
+		this.invalidateWhere(credential -> credential.getUserDto() != null 
+				&& Objects.equals(credential.getUserDto().getUserId(), userId));
+	}
+	
+	private void invalidateWhere(final Predicate<CredentialDto> predicate) {
+		final boolean removed = this.cache.asMap().values()
+				.removeIf(userDetails -> userDetails instanceof UserDetailsImpl 
+						&& predicate.test(((UserDetailsImpl) userDetails).getCredential()));
+		if (removed)
+			log.debug("Invalidated cached user details");
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,47 @@
+package com.selimhorri.app.business.checkout.controller;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.enums.ResourceType;
+import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.checkout.model.request.CheckoutRequest;
+import com.selimhorri.app.business.checkout.model.response.CheckoutResponse;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+import com.selimhorri.app.exception.wrapper.UnauthorizedException;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+
+	@Autowired
+	private AuthUtil authUtil;
+	private final CheckoutService checkoutService;
+
+	@PostMapping
+	public ResponseEntity<CheckoutResponse> checkout(
+			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final CheckoutRequest checkoutRequest,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		final String userId = checkoutRequest.getUserId().toString();
+		authUtil.canActivate(request, userId, userDetails);
+		if (checkoutRequest.getCartId() != null 
+				&& !userId.equals(authUtil.getOwner(checkoutRequest.getCartId().toString(), ResourceType.CARTS)))
+			throw new UnauthorizedException("Cart does not belong to the checking out user");
+		return ResponseEntity.ok(this.checkoutService.checkout(checkoutRequest));
+	}
+
+}
+
@@ -0,0 +1,39 @@
+package com.selimhorri.app.business.checkout.model.request;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import com.selimhorri.app.business.checkout.model.CheckoutItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "*User id must not be null!**")
+	private Integer userId;
+	
+	/** Existing cart to check out; a new cart is created for the user when absent. */
+	private Integer cartId;
+	
+	private String orderDesc;
+	private Double orderFee;
+	
+	@NotEmpty(message = "*Checkout must contain at least one item!**")
+	@Valid
+	private List<CheckoutItem> items;
+	
+}
+
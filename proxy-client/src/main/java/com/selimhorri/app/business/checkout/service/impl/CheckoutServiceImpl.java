@@ -0,0 +1,152 @@
+package com.selimhorri.app.business.checkout.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.checkout.model.CheckoutItem;
+import com.selimhorri.app.business.checkout.model.request.CheckoutRequest;
+import com.selimhorri.app.business.checkout.model.response.CheckoutResponse;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemId;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.PaymentStatus;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Places a whole basket in one call. The cart and the order are created first
+ * since every later write needs their ids; the order items and the payment only
+ * depend on the order, so they are written concurrently.
+ * <p>
+ * If any write fails, whatever was already created is deleted again (items and
+ * payment concurrently, then the order, then a cart created by this checkout)
+ * and the original failure is rethrown.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutServiceImpl implements CheckoutService {
+	
+	private final CartClientService cartClientService;
+	private final OrderClientService orderClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final ExecutorService checkoutExecutorService;
+	
+	@Override
+	public CheckoutResponse checkout(final CheckoutRequest checkoutRequest) {
+		log.info("*** CheckoutResponse, service; checkout *");
+		
+		CartDto cartDto = null;
+		OrderDto orderDto = null;
+		final var cartCreated = checkoutRequest.getCartId() == null;
+		final List<CompletableFuture<OrderItemDto>> itemFutures = new ArrayList<>();
+		CompletableFuture<PaymentDto> paymentFuture = null;
+		
+		try {
+			cartDto = (cartCreated) ? 
+					this.cartClientService.save(CartDto.builder()
+							.userId(checkoutRequest.getUserId())
+							.build()).getBody()
+					: CartDto.builder()
+							.cartId(checkoutRequest.getCartId())
+							.userId(checkoutRequest.getUserId())
+							.build();
+			
+			orderDto = this.orderClientService.save(OrderDto.builder()
+					.orderDate(LocalDateTime.now())
+					.orderDesc(checkoutRequest.getOrderDesc())
+					.orderFee(checkoutRequest.getOrderFee())
+					.cartDto(CartDto.builder()
+							.cartId(cartDto.getCartId())
+							.build())
+					.build()).getBody();
+			
+			final var orderId = orderDto.getOrderId();
+			for (final CheckoutItem item : checkoutRequest.getItems())
+				itemFutures.add(CompletableFuture.supplyAsync(() -> this.orderItemClientService.save(OrderItemDto.builder()
+						.productId(item.getProductId())
+						.orderId(orderId)
+						.orderedQuantity(item.getOrderedQuantity())
+						.build()).getBody(), this.checkoutExecutorService));
+			paymentFuture = CompletableFuture.supplyAsync(() -> this.paymentClientService.save(PaymentDto.builder()
+					.isPayed(false)
+					.paymentStatus(PaymentStatus.NOT_STARTED)
+					.orderDto(com.selimhorri.app.business.payment.model.OrderDto.builder()
+							.orderId(orderId)
+							.build())
+					.build()).getBody(), this.checkoutExecutorService);
+			
+			final List<CompletableFuture<?>> pending = new ArrayList<>(itemFutures);
+			pending.add(paymentFuture);
+			CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+			
+			return CheckoutResponse.builder()
+					.cartDto(cartDto)
+					.orderDto(orderDto)
+					.orderItemDtos(itemFutures.stream()
+							.map(CompletableFuture::join)
+							.collect(Collectors.toUnmodifiableList()))
+					.paymentDto(paymentFuture.join())
+					.build();
+		}
+		catch (RuntimeException e) {
+			this.compensate((cartCreated) ? cartDto : null, orderDto, itemFutures, paymentFuture);
+			throw (e instanceof CompletionException && e.getCause() instanceof RuntimeException) ? 
+					(RuntimeException) e.getCause() : e;
+		}
+	}
+	
+	private void compensate(final CartDto createdCart, final OrderDto orderDto, 
+			final List<CompletableFuture<OrderItemDto>> itemFutures, final CompletableFuture<PaymentDto> paymentFuture) {
+		
+		final List<CompletableFuture<Void>> undos = new ArrayList<>();
+		itemFutures.forEach(future -> undos.add(future.handle((orderItemDto, e) -> orderItemDto)
+				.thenAcceptAsync(orderItemDto -> {
+					if (orderItemDto != null)
+						this.undo("order item", () -> this.orderItemClientService.deleteById(
+								new OrderItemId(orderItemDto.getProductId(), orderItemDto.getOrderId())));
+				}, this.checkoutExecutorService)));
+		if (paymentFuture != null)
+			undos.add(paymentFuture.handle((paymentDto, e) -> paymentDto)
+					.thenAcceptAsync(paymentDto -> {
+						if (paymentDto != null && paymentDto.getPaymentId() != null)
+							this.undo("payment", () -> this.paymentClientService.deleteById(
+									paymentDto.getPaymentId().toString()));
+					}, this.checkoutExecutorService));
+		CompletableFuture.allOf(undos.toArray(CompletableFuture[]::new)).join();
+		
+		if (orderDto != null && orderDto.getOrderId() != null)
+			this.undo("order", () -> this.orderClientService.deleteById(orderDto.getOrderId().toString()));
+		if (createdCart != null && createdCart.getCartId() != null)
+			this.undo("cart", () -> this.cartClientService.deleteById(createdCart.getCartId().toString()));
+	}
+	
+	private void undo(final String resource, final Runnable deletion) {
+		try {
+			deletion.run();
+		}
+		catch (RuntimeException e) {
+			log.warn("*** checkout compensation could not delete {}: {} *", resource, e.getMessage());
+		}
+	}
+	
+	
+	
+}
+
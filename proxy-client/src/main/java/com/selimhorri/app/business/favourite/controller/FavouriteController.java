@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import java.util.Map;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +15,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.favourite.model.FavouriteCheckDto;
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
@@ -33,8 +37,27 @@ public class FavouriteController {
 	private final FavouriteClientService favouriteClientService;
 
 	@GetMapping
-	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
+	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.favouriteClientService.findAll(after, limit).getBody());
+	}
+
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAllByUserId(
+			@PathVariable("userId") final String userId,
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		authUtil.canActivate(request, userId, userDetails);
+		return ResponseEntity.ok(this.favouriteClientService.findAllByUserId(userId, after, limit).getBody());
+	}
+
+	@PostMapping("/check")
+	public ResponseEntity<Map<Integer, Boolean>> check(@RequestBody final FavouriteCheckDto favouriteCheckDto,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		authUtil.canActivate(request, String.valueOf(favouriteCheckDto.getUserId()), userDetails);
+		return ResponseEntity.ok(this.favouriteClientService.check(favouriteCheckDto).getBody());
 	}
 
 	@GetMapping("/{userId}/{productId}")
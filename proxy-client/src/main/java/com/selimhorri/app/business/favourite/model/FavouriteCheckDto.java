@@ -0,0 +1,32 @@
+package com.selimhorri.app.business.favourite.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class FavouriteCheckDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer userId;
+	private List<Integer> productIds;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.favourite.service;
 
+import java.util.Map;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -11,7 +13,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.selimhorri.app.business.favourite.model.FavouriteCheckDto;
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
@@ -20,7 +24,21 @@ import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteSe
 public interface FavouriteClientService {
 	
 	@GetMapping
-	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll();
+	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
+	@GetMapping("/user/{userId}")
+	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAllByUserId(
+			@PathVariable("userId") final String userId, 
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
+	@PostMapping("/check")
+	ResponseEntity<Map<Integer, Boolean>> check(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final FavouriteCheckDto favouriteCheckDto);
 	
 	@GetMapping("/{userId}/{productId}")
 	public ResponseEntity<FavouriteDto> findById(
@@ -13,11 +13,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.auth.util.UserDetailsCache;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
@@ -32,10 +34,13 @@ public class CredentialController {
 	@Autowired
 	private AuthUtil authUtil;
 	private final CredentialClientService credentialClientService;
+	private final UserDetailsCache userDetailsCache;
 
 	@GetMapping
-	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.credentialClientService.findAll().getBody());
+	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.credentialClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{credentialId}")
@@ -57,7 +62,9 @@ public class CredentialController {
 		// ✅ Comentado para permitir creación de credenciales sin autenticación
 		// authUtil.canActivate(request,
 		// credentialDto.getUserDto().getUserId().toString(), userDetails);
-		return ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+		final CredentialDto saved = this.credentialClientService.save(credentialDto).getBody();
+		this.userDetailsCache.invalidate(credentialDto.getUsername());
+		return ResponseEntity.ok(saved);
 	}
 
 	@DeleteMapping("/{credentialId}")
@@ -66,7 +73,9 @@ public class CredentialController {
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(credentialId, ResourceType.CREDENTIALS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		this.userDetailsCache.invalidateCredential(Integer.valueOf(credentialId));
+		return ResponseEntity.ok(deleted);
 	}
 
 }
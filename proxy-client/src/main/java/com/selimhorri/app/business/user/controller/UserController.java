@@ -13,9 +13,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.util.AuthUtil;
+import com.selimhorri.app.business.auth.util.UserDetailsCache;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
@@ -30,10 +32,13 @@ public class UserController {
 	@Autowired
 	private AuthUtil authUtil;
 	private final UserClientService userClientService;
+	private final UserDetailsCache userDetailsCache;
 
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.userClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{userId}")
@@ -58,14 +63,18 @@ public class UserController {
 			@RequestBody final UserDto userDto, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.userClientService.update(userId,userDto).getBody());
+		final UserDto updated = this.userClientService.update(userId,userDto).getBody();
+		this.userDetailsCache.invalidateUser(Integer.valueOf(userId));
+		return ResponseEntity.ok(updated);
 	}
 
 	@DeleteMapping("/{userId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+		final Boolean deleted = this.userClientService.deleteById(userId).getBody();
+		this.userDetailsCache.invalidateUser(Integer.valueOf(userId));
+		return ResponseEntity.ok(deleted);
 	}
 
 }
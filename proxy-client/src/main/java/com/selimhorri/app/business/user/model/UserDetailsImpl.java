@@ -15,6 +15,10 @@ public class UserDetailsImpl implements UserDetails {
 	private static final long serialVersionUID = 1L;
 	private final CredentialDto credential;
 	
+	public CredentialDto getCredential() {
+		return this.credential;
+	}
+	
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		return List.of(new SimpleGrantedAuthority(this.credential.getRoleBasedAuthority().name()));
@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+	
+	@Value("${app.checkout.pool-size:32}")
+	private int checkoutPoolSize;
+	
+	@Value("${app.checkout.queue-capacity:512}")
+	private int checkoutQueueCapacity;
+	
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService checkoutExecutorServiceBean() {
+		final var threadCount = new AtomicInteger();
+		return new ThreadPoolExecutor(
+				this.checkoutPoolSize,
+				this.checkoutPoolSize,
+				60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(this.checkoutQueueCapacity),
+				runnable -> {
+					final var thread = new Thread(runnable, "checkout-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	
+	
+}
+
@@ -15,8 +15,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.auth.util.UserDetailsCache;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
 	private final UserDetailsService userDetailsService;
+	private final UserDetailsCache userDetailsCache;
 	private final JwtService jwtService;
 
 	@Override
@@ -102,13 +105,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		final String authorizationHeader = request.getHeader("Authorization");
 
 		String username = null;
-		String jwt = null;
+		Claims claims = null;
 
-		// Extraer token del header Authorization
+		// Extraer token del header Authorization y verificarlo una sola vez
 		if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-			jwt = authorizationHeader.substring(7);
 			try {
-				username = jwtService.extractUsername(jwt);
+				claims = jwtService.parseClaims(authorizationHeader.substring(7));
+				username = claims.getSubject();
 			} catch (Exception e) {
 				log.error("Error extracting username from JWT: {}", e.getMessage());
 			}
@@ -117,11 +120,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		// Si hay username y no hay autenticación en el contexto
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 			try {
-				final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+				final UserDetails userDetails = this.userDetailsCache.get(username,
+						this.userDetailsService::loadUserByUsername);
 
 				// Validar token
-				if (this.jwtService.validateToken(jwt, userDetails)) {
-					final String userId = jwtService.extractUserId(jwt);
+				if (this.jwtService.validateToken(claims, userDetails)) {
+					final String userId = claims.get("userId", String.class);
 
 					// Crear autenticación
 					final UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.resilience;
+
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+/**
+ * Feign calls run through Spring Cloud's circuit breaker factory; this points
+ * its defaults at the {@code resilience4j.*.configs.default} blocks so every
+ * client method gets the configured breaker and time limit instead of the
+ * library's one-second default.
+ */
+@Configuration
+public class ResilienceConfig {
+	
+	@Bean
+	public Customizer<Resilience4JCircuitBreakerFactory> defaultCircuitBreakerCustomizer(
+			final CircuitBreakerRegistry circuitBreakerRegistry, 
+			final TimeLimiterRegistry timeLimiterRegistry) {
+		return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+				.circuitBreakerConfig(circuitBreakerRegistry.getDefaultConfig())
+				.timeLimiterConfig(timeLimiterRegistry.getDefaultConfig())
+				.build());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,71 @@
+package com.selimhorri.app.config.template;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled, keep-alive HTTP client behind the load-balanced RestTemplate, so calls
+ * to other services reuse open connections instead of paying a TCP handshake
+ * each time. Pool usage is published as {@code httpcomponents.httpclient.pool.*}.
+ */
+@Configuration
+public class HttpClientConfig {
+	
+	@Value("${app.client.max-connections:200}")
+	private int maxConnections;
+	
+	@Value("${app.client.max-connections-per-route:50}")
+	private int maxConnectionsPerRoute;
+	
+	@Value("${app.client.idle-timeout:30s}")
+	private Duration idleTimeout;
+	
+	@Value("${app.client.time-to-live:5m}")
+	private Duration timeToLive;
+	
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager httpClientConnectionManagerBean(final MeterRegistry meterRegistry) {
+		final var connectionManager = new PoolingHttpClientConnectionManager(
+				this.timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(this.maxConnections);
+		connectionManager.setDefaultMaxPerRoute(this.maxConnectionsPerRoute);
+		connectionManager.setValidateAfterInactivity((int) Duration.ofSeconds(2).toMillis());
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "restTemplate")
+				.bindTo(meterRegistry);
+		return connectionManager;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClientBean(final PoolingHttpClientConnectionManager connectionManager) {
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+				.evictExpiredConnections()
+				.evictIdleConnections(this.idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
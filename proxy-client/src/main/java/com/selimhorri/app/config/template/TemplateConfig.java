@@ -1,17 +1,34 @@
 package com.selimhorri.app.config.template;
 
+import java.time.Duration;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class TemplateConfig {
 	
+	@Value("${app.client.connect-timeout:1s}")
+	private Duration connectTimeout;
+	
+	@Value("${app.client.read-timeout:4s}")
+	private Duration readTimeout;
+	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder, 
+			final CloseableHttpClient httpClient) {
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+				.setConnectTimeout(this.connectTimeout)
+				.setReadTimeout(this.readTimeout)
+				.build();
 	}
 	
 	
@@ -34,6 +34,15 @@ public abstract class AppConstant {
 		
 	}
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Backends {
+		
+		public static final String USER_SERVICE = "userService";
+		public static final String ORDER_SERVICE = "orderService";
+		public static final String PAYMENT_SERVICE = "paymentService";
+		
+	}
+	
 	
 	
 }
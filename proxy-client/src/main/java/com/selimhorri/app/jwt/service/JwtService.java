@@ -13,8 +13,10 @@ public interface JwtService {
 	String extractUserId(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
+	Claims parseClaims(final String token);
 	String generateToken(final UserDetails userDetails, final String userId);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Boolean validateToken(final Claims claims, final UserDetails userDetails);
 	
 }
 
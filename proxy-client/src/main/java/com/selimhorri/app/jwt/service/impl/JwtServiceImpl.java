@@ -38,6 +38,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractClaims(token, claimsResolver);
 	}
 	
+	@Override
+	public Claims parseClaims(final String token) {
+		log.debug("**Claims, jwt service parse and verify given token once!*");
+		return this.jwtUtil.parseClaims(token);
+	}
+	
 	@Override
 	public String generateToken(final UserDetails userDetails, final String userId) {
 		log.info("**String, jwt service generate token from given userDetails!*");
@@ -49,6 +55,12 @@ public class JwtServiceImpl implements JwtService {
 		log.info("**Boolean, jwt service validate token from given token and userDetails!*");
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
+	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		log.debug("**Boolean, jwt service validate parsed claims against userDetails!*");
+		return this.jwtUtil.validateToken(claims, userDetails);
+	}
 
 	@Override
 	public String extractUserId(String token) {
@@ -1,5 +1,10 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -8,6 +13,9 @@ import java.util.function.Function;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -18,6 +26,33 @@ import io.jsonwebtoken.SignatureAlgorithm;
 public class JwtUtilImpl implements JwtUtil {
 
 	private static final String SECRET_KEY = "secret";
+	private static final long VERIFIED_TOKENS_MAX_SIZE = 10_000;
+	private static final Duration VERIFIED_TOKENS_MAX_AGE = Duration.ofMinutes(10);
+
+	/**
+	 * Claims of recently verified tokens, keyed by the SHA-256 of the token and
+	 * never kept past the token's own expiry, so repeat callers skip the HMAC
+	 * check and the JSON decode. Cached claims are shared and must be treated as
+	 * read-only.
+	 */
+	private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+			.maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+			.expireAfter(new Expiry<String, Claims>() {
+				@Override
+				public long expireAfterCreate(final String key, final Claims claims, final long currentTime) {
+					final long untilExpiry = claims.getExpiration().getTime() - System.currentTimeMillis();
+					return Math.max(0, Math.min(Duration.ofMillis(untilExpiry).toNanos(), VERIFIED_TOKENS_MAX_AGE.toNanos()));
+				}
+				@Override
+				public long expireAfterUpdate(final String key, final Claims claims, final long currentTime, final long currentDuration) {
+					return this.expireAfterCreate(key, claims, currentTime);
+				}
+				@Override
+				public long expireAfterRead(final String key, final Claims claims, final long currentTime, final long currentDuration) {
+					return currentDuration;
+				}
+			})
+			.build();
 
 	@Override
 	public String extractUsername(final String token) {
@@ -31,16 +66,38 @@ public class JwtUtilImpl implements JwtUtil {
 
 	@Override
 	public <T> T extractClaims(final String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = this.extractAllClaims(token);
+		final Claims claims = this.parseClaims(token);
 		return claimsResolver.apply(claims);
 	}
 
+	@Override
+	public Claims parseClaims(final String token) {
+		final String key = hash(token);
+		final Claims cached = this.verifiedTokens.getIfPresent(key);
+		if (cached != null && !isExpired(cached))
+			return cached;
+		final Claims claims = this.extractAllClaims(token);
+		if (claims.getExpiration() != null)
+			this.verifiedTokens.put(key, claims);
+		return claims;
+	}
+
 	private Claims extractAllClaims(final String token) {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private static Boolean isExpired(final Claims claims) {
+		return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+	}
+
+	private static String hash(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	@Override
@@ -62,8 +119,12 @@ public class JwtUtilImpl implements JwtUtil {
 
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		return this.validateToken(this.parseClaims(token), userDetails);
+	}
+
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		return (claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims));
 	}
 
 	public String extractUserId(final String token) {
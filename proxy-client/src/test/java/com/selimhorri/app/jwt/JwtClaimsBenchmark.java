@@ -0,0 +1,97 @@
+package com.selimhorri.app.jwt;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Per-request JWT cost in JwtRequestFilter: the former four signature
+ * verifications against one verification, and one cache lookup for a token
+ * that was seen before. Run with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtClaimsBenchmark {
+	
+	private static final String SECRET_KEY = "secret";
+	
+	private JwtUtilImpl jwtUtil;
+	private UserDetails userDetails;
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		this.jwtUtil = new JwtUtilImpl();
+		this.userDetails = new User("selimhorri", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		this.token = this.jwtUtil.generateToken(this.userDetails, "1");
+		this.jwtUtil.parseClaims(this.token);
+	}
+	
+	@Benchmark
+	public void reparsePerAccess(final Blackhole blackhole) {
+		final String username = parse(this.token).getSubject();
+		final boolean valid = parse(this.token).getSubject().equals(this.userDetails.getUsername()) 
+				&& !parse(this.token).getExpiration().before(new Date());
+		blackhole.consume(username);
+		blackhole.consume(valid);
+		blackhole.consume(parse(this.token).get("userId", String.class));
+	}
+	
+	@Benchmark
+	public void parseOnce(final Blackhole blackhole) {
+		final Claims claims = parse(this.token);
+		blackhole.consume(claims.getSubject());
+		blackhole.consume(claims.getSubject().equals(this.userDetails.getUsername()) 
+				&& !claims.getExpiration().before(new Date()));
+		blackhole.consume(claims.get("userId", String.class));
+	}
+	
+	@Benchmark
+	public void parseOnceCached(final Blackhole blackhole) {
+		final Claims claims = this.jwtUtil.parseClaims(this.token);
+		blackhole.consume(claims.getSubject());
+		blackhole.consume(this.jwtUtil.validateToken(claims, this.userDetails));
+		blackhole.consume(claims.get("userId", String.class));
+	}
+	
+	private static Claims parse(final String token) {
+		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtClaimsBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+	
+	
+	
+}
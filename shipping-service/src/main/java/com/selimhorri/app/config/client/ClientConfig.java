@@ -1,17 +1,50 @@
 package com.selimhorri.app.config.client;
 
+import java.time.Duration;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
 @Configuration
 public class ClientConfig {
 	
+	@Value("${app.client.connect-timeout:1s}")
+	private Duration connectTimeout;
+	
+	@Value("${app.client.read-timeout:2s}")
+	private Duration readTimeout;
+	
+	@Value("${app.enrichment.timeout:3s}")
+	private Duration enrichmentTimeout;
+	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder, 
+			final CloseableHttpClient httpClient) {
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+				.setConnectTimeout(this.connectTimeout)
+				.setReadTimeout(this.readTimeout)
+				.build();
+	}
+	
+	@Bean(destroyMethod = "shutdown")
+	public EnrichmentExecutor enrichmentExecutorBean(
+			final CircuitBreakerRegistry circuitBreakerRegistry, 
+			final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry, 
+			final TimeLimiterRegistry timeLimiterRegistry) {
+		return new EnrichmentExecutor(this.enrichmentTimeout, 
+				circuitBreakerRegistry, threadPoolBulkheadRegistry, timeLimiterRegistry);
 	}
 	
 	
@@ -0,0 +1,170 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs remote enrichment lookups concurrently and joins them under one deadline;
+ * lookups that fail or miss it leave the id-only DTO in place.
+ * <p>
+ * Every lookup is named after the service it calls and runs behind that
+ * service's circuit breaker, time limiter and thread-pool bulkhead, so one slow
+ * downstream can neither hold request threads nor starve lookups to the others.
+ * A lookup the bulkhead turns away never reached the downstream, so the breaker
+ * ignores {@link BulkheadFullException} rather than counting it as a failure.
+ */
+@Slf4j
+public class EnrichmentExecutor {
+	
+	private final Duration timeout;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final ThreadPoolBulkheadRegistry bulkheadRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final ScheduledExecutorService scheduler;
+	
+	public EnrichmentExecutor(final Duration timeout) {
+		this(timeout, CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+						.ignoreExceptions(BulkheadFullException.class)
+						.build()), 
+				ThreadPoolBulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+	}
+	
+	public EnrichmentExecutor(
+			final Duration timeout, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, 
+			final ThreadPoolBulkheadRegistry bulkheadRegistry, 
+			final TimeLimiterRegistry timeLimiterRegistry) {
+		this.timeout = timeout;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheadRegistry = bulkheadRegistry;
+		this.timeLimiterRegistry = timeLimiterRegistry;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "enrichment-timeouts");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	public <T> CompletableFuture<T> submit(final String backend, final Supplier<T> lookup) {
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(backend);
+		final ThreadPoolBulkhead bulkhead = this.bulkheadRegistry.bulkhead(backend);
+		final TimeLimiter timeLimiter = this.timeLimiterRegistry.timeLimiter(backend);
+		try {
+			return CircuitBreaker.decorateCompletionStage(circuitBreaker, 
+					() -> timeLimiter.executeCompletionStage(this.scheduler, 
+							() -> bulkhead.executeSupplier(lookup)))
+					.get()
+					.toCompletableFuture();
+		}
+		catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	public <K, V> Map<K, CompletableFuture<V>> submitAll(final String backend, final Collection<K> keys, 
+			final Function<K, V> lookup) {
+		final Map<K, CompletableFuture<V>> futures = new HashMap<>();
+		keys.forEach(key -> futures.computeIfAbsent(key, k -> this.submit(backend, () -> lookup.apply(k))));
+		return futures;
+	}
+	
+	/**
+	 * Looks keys up {@code batchSize} at a time, one remote call per batch;
+	 * each key's future completes with its entry in the batch result, or
+	 * {@code null} when the downstream did not return it.
+	 */
+	public <K, V> Map<K, CompletableFuture<V>> submitBatches(final String backend, final Collection<K> keys, 
+			final int batchSize, final Function<List<K>, Map<K, V>> lookup) {
+		final List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+		final Map<K, CompletableFuture<V>> futures = new HashMap<>();
+		for (int from = 0; from < distinct.size(); from += batchSize) {
+			final List<K> batch = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+			final CompletableFuture<Map<K, V>> found = this.submit(backend, () -> lookup.apply(batch));
+			batch.forEach(key -> futures.put(key, found.thenApply(result -> result.get(key))));
+		}
+		return futures;
+	}
+	
+	public void await(final Collection<? extends CompletableFuture<?>> futures) {
+		try {
+			CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+					.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			log.warn("*** enrichment lookups did not complete within {} *", this.timeout);
+		}
+		catch (ExecutionException e) {
+			// failures are reported per lookup by resultOrDefault
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	public void await(final CompletableFuture<?>... futures) {
+		this.await(List.of(futures));
+	}
+	
+	public <T> T resultOrDefault(final CompletableFuture<T> future, final T fallback) {
+		if (future == null)
+			return fallback;
+		if (!future.isDone()) {
+			future.cancel(true);
+			return fallback;
+		}
+		try {
+			final T result = future.join();
+			return (result != null) ? result : fallback;
+		}
+		catch (RuntimeException e) {
+			log.warn("*** enrichment lookup failed: {} *", e.getMessage());
+			return fallback;
+		}
+	}
+	
+	public <T> T call(final String backend, final Supplier<T> lookup, final T fallback) {
+		final var future = this.submit(backend, lookup);
+		this.await(future);
+		return this.resultOrDefault(future, fallback);
+	}
+	
+	public void shutdown() {
+		this.scheduler.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,29 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 1000;
+	public static final String EXPORT_FETCH_SIZE = "500";
+	public static final int EXPORT_FLUSH_INTERVAL = 500;
+	public static final int JDBC_BATCH_SIZE = 50;
+	public static final int MAX_BATCH_ROWS = 10_000;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Events {
+		
+		public static final String PRODUCT_DELETED = "ProductDeleted";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Backends {
+		
+		public static final String USER_SERVICE = "userService";
+		public static final String PRODUCT_SERVICE = "productService";
+		public static final String ORDER_SERVICE = "orderService";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,40 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.dto.OrderItemDto;
+
+public interface PaginationHelper {
+	
+	public static int limit(final Integer limit) {
+		if (limit == null || limit <= 0)
+			return AppConstant.DEFAULT_PAGE_LIMIT;
+		return Math.min(limit, AppConstant.MAX_PAGE_LIMIT);
+	}
+	
+	public static String toCursor(final OrderItemDto orderItemDto) {
+		return orderItemDto.getOrderId() + ":" + orderItemDto.getProductId();
+	}
+	
+	public static OrderItemId toOrderItemId(final String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return null;
+		final String[] parts = cursor.strip().split(":");
+		if (parts.length != 2)
+			throw new IllegalArgumentException(String.format("Invalid cursor: %s", cursor));
+		return new OrderItemId(Integer.parseInt(parts[1]), Integer.parseInt(parts[0]));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,34 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT oi FROM OrderItem oi ORDER BY oi.orderId ASC, oi.productId ASC")
+	Stream<OrderItem> streamAll();
+	
+	@Query("SELECT oi FROM OrderItem oi "
+			+ "WHERE oi.orderId > :orderId OR (oi.orderId = :orderId AND oi.productId > :productId) "
+			+ "ORDER BY oi.orderId ASC, oi.productId ASC")
+	List<OrderItem> findPageAfter(
+			@Param("orderId") final Integer orderId, 
+			@Param("productId") final Integer productId, 
+			final Pageable pageable);
+	
 	
 	
 }
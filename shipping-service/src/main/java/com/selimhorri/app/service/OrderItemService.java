@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import com.selimhorri.app.domain.id.OrderItemId;
@@ -8,9 +9,12 @@ import com.selimhorri.app.dto.OrderItemDto;
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	List<OrderItemDto> findAll(final OrderItemId after, final int limit);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
+	List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
+	long exportAll(final OutputStream outputStream);
 	
 }
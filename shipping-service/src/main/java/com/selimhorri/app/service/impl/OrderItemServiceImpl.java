@@ -1,18 +1,37 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.config.client.EnrichmentExecutor;
+import com.selimhorri.app.config.replica.ProductReplica;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
-import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
@@ -27,40 +46,79 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 
+	private static final int ORDER_LOOKUP_BATCH_SIZE = 100;
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> ORDER_COLLECTION = 
+			new ParameterizedTypeReference<>() {};
+
 	private final OrderItemRepository orderItemRepository;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
 	private final RestTemplate restTemplate;
+	private final EnrichmentExecutor enrichmentExecutor;
+	private final ProductReplica productReplica;
 
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
-				.stream()
+		return this.enrich(this.orderItemRepository.findAll());
+	}
+
+	@Override
+	public List<OrderItemDto> findAll(final OrderItemId after, final int limit) {
+		log.info("*** OrderItemDto List, service; fetch page of orderItems *");
+		return this.enrich(this.orderItemRepository.findPageAfter(
+				(after != null) ? after.getOrderId() : 0, 
+				(after != null) ? after.getProductId() : 0, 
+				PageRequest.of(0, limit)));
+	}
+
+	private List<OrderItemDto> enrich(final List<OrderItem> orderItems) {
+		final var orderItemDtos = orderItems.stream()
 				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toList());
+		
+		final var productDtos = this.productReplica.findAllByIds(orderItemDtos.stream()
+				.map(o -> o.getProductDto().getProductId())
+				.collect(Collectors.toSet()));
+		final var orderDtos = this.enrichmentExecutor.submitBatches(AppConstant.Backends.ORDER_SERVICE, 
+				orderItemDtos.stream()
+						.map(o -> o.getOrderDto().getOrderId())
+						.collect(Collectors.toSet()),
+				ORDER_LOOKUP_BATCH_SIZE, this::requestOrders);
+		this.enrichmentExecutor.await(orderDtos.values());
+		
+		return orderItemDtos.stream()
 				.map(o -> {
-					o.setProductDto(
-							this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL
-									+ "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(
-							AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(),
-							OrderDto.class));
+					o.setProductDto(productDtos.getOrDefault(o.getProductDto().getProductId(), o.getProductDto()));
+					o.setOrderDto(this.enrichmentExecutor.resultOrDefault(
+							orderDtos.get(o.getOrderDto().getOrderId()), o.getOrderDto()));
 					return o;
 				})
 				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	private Map<Integer, OrderDto> requestOrders(final List<Integer> orderIds) {
+		final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/lookup", 
+				HttpMethod.POST, new HttpEntity<>(orderIds), ORDER_COLLECTION).getBody();
+		if (response == null || response.getCollection() == null)
+			return Map.of();
+		return response.getCollection().stream()
+				.collect(Collectors.toMap(OrderDto::getOrderId, Function.identity()));
+	}
+
 	@Override
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
-					o.setProductDto(
-							this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL
-									+ "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(
-							AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(),
-							OrderDto.class));
+					o.setProductDto(this.productReplica.findById(o.getProductDto().getProductId())
+							.orElse(o.getProductDto()));
+					o.setOrderDto(this.enrichmentExecutor.call(AppConstant.Backends.ORDER_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL
+									+ "/" + o.getOrderDto().getOrderId(), OrderDto.class), 
+							o.getOrderDto()));
 					return o;
 				})
 				.orElseThrow(() -> new OrderItemNotFoundException(
@@ -74,6 +132,22 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 
+	@Override
+	public List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save order items in batch *");
+		final List<OrderItemDto> saved = new ArrayList<>(orderItemDtos.size());
+		for (final OrderItemDto orderItemDto : orderItemDtos) {
+			final OrderItem orderItem = OrderItemMappingHelper.map(orderItemDto);
+			this.entityManager.persist(orderItem);
+			saved.add(OrderItemMappingHelper.map(orderItem));
+			if (saved.size() % AppConstant.JDBC_BATCH_SIZE == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		return saved;
+	}
+	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
@@ -81,6 +155,36 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 
+	@Override
+	public long exportAll(final OutputStream outputStream) {
+		log.info("*** OrderItemDto Stream, service; export all order items *");
+		final var writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAll();
+				final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// one record per line: no separator before a value, a newline after each
+			generator.setRootValueSeparator(null);
+			final Iterator<OrderItem> iterator = orderItems.iterator();
+			while (iterator.hasNext()) {
+				writer.writeValue(generator, OrderItemMappingHelper.map(iterator.next()));
+				generator.writeRaw('\n');
+				if (++count % AppConstant.EXPORT_FLUSH_INTERVAL == 0) {
+					generator.flush();
+					this.entityManager.clear();
+				}
+			}
+			generator.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		log.info("*** OrderItemDto Stream, service; exported {} order items *", count);
+		return count;
+	}
+
 	@Override
 	public void deleteById(final OrderItemId orderItemId) {
 		log.info("*** Void, service; delete orderItem by id *");
@@ -4,25 +4,44 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.config.client.EnrichmentExecutor;
+import com.selimhorri.app.config.replica.ProductReplica;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.impl.OrderItemServiceImpl;
 
@@ -32,9 +51,22 @@ class OrderItemServiceTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private EntityManager entityManager;
+
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private EnrichmentExecutor enrichmentExecutor =
+            new EnrichmentExecutor(Duration.ofSeconds(5));
+
+    @Mock
+    private ProductReplica productReplica;
+
     @InjectMocks
     private OrderItemServiceImpl orderItemService;
 
@@ -79,8 +111,10 @@ class OrderItemServiceTest {
     void findAll_shouldReturnOrderItemList() {
         // given
         when(this.orderItemRepository.findAll()).thenReturn(Collections.singletonList(this.orderItem));
-        when(this.restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(this.productDto);
-        when(this.restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(this.orderDto);
+        when(this.productReplica.findAllByIds(any())).thenReturn(Map.of(1, this.productDto));
+        when(this.restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(this.orderDto))));
 
         // when
         List<OrderItemDto> orderItems = this.orderItemService.findAll();
@@ -89,13 +123,16 @@ class OrderItemServiceTest {
         assertThat(orderItems).isNotNull();
         assertThat(orderItems.size()).isEqualTo(1);
         assertThat(orderItems.get(0).getOrderedQuantity()).isEqualTo(5);
+        assertThat(orderItems.get(0).getProductDto().getProductTitle()).isEqualTo("Test Product");
+        verify(this.restTemplate).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
     }
 
     @Test
     void findById_shouldReturnOrderItem() {
         // given
         when(this.orderItemRepository.findById(this.orderItemId)).thenReturn(Optional.of(this.orderItem));
-        when(this.restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(this.productDto);
+        when(this.productReplica.findById(1)).thenReturn(Optional.of(this.productDto));
         when(this.restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(this.orderDto);
 
         // when
@@ -154,4 +191,25 @@ class OrderItemServiceTest {
         // No exception thrown means success
         // The test validates that the method executes without throwing an exception
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAll_shouldWriteOneJsonRecordPerLine() throws Exception {
+        // given
+        OrderItem second = OrderItem.builder()
+                .productId(2)
+                .orderId(101)
+                .orderedQuantity(1)
+                .build();
+        when(this.orderItemRepository.streamAll()).thenReturn(Stream.of(this.orderItem, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long count = this.orderItemService.exportAll(output);
+
+        // then
+        String expected = this.objectMapper.writeValueAsString(OrderItemMappingHelper.map(this.orderItem)) + "\n"
+                + this.objectMapper.writeValueAsString(OrderItemMappingHelper.map(second)) + "\n";
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -35,6 +35,23 @@ public interface UserMappingHelper {
 				.build();
 	}
 
+	/**
+	 * Profile fields only, without credential or addresses; this is what leaves
+	 * the service in domain events.
+	 */
+	public static UserDto mapProfile(final UserDto userDto) {
+		if (userDto == null)
+			return null;
+		return UserDto.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.build();
+	}
+
 	public static User mapOnlyUser(final UserDto userDto) {
 		if (userDto == null)
 			return null;
@@ -1,8 +1,12 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.User;
 
@@ -10,4 +14,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	
 	Optional<User> findByCredentialUsername(final String username);
 	
+	@Query("SELECT u FROM User u JOIN u.credential c WHERE u.userId > :after ORDER BY u.userId ASC")
+	List<User> findPageWithCredential(@Param("after") final Integer after, final Pageable pageable);
+	
 }
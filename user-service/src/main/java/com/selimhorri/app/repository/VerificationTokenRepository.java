@@ -1,5 +1,8 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +12,9 @@ import com.selimhorri.app.domain.VerificationToken;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Integer> {
 
+	List<VerificationToken> findByVerificationTokenIdGreaterThanOrderByVerificationTokenIdAsc(
+			final Integer verificationTokenId, final Pageable pageable);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM VerificationToken vt WHERE vt.id = :id")
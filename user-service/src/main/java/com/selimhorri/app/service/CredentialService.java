@@ -7,6 +7,7 @@ import com.selimhorri.app.dto.CredentialDto;
 public interface CredentialService {
 	
 	List<CredentialDto> findAll();
+	List<CredentialDto> findAll(final Integer after, final int limit);
 	CredentialDto findById(final Integer credentialId);
 	CredentialDto save(final CredentialDto credentialDto);
 	CredentialDto update(final CredentialDto credentialDto);
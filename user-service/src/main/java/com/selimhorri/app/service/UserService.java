@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.UserDto;
@@ -7,7 +8,9 @@ import com.selimhorri.app.dto.UserDto;
 public interface UserService {
 	
 	List<UserDto> findAll();
+	List<UserDto> findAll(final Integer after, final int limit);
 	UserDto findById(final Integer userId);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
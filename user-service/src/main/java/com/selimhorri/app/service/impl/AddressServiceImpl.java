@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.Address;
@@ -35,6 +36,16 @@ public class AddressServiceImpl implements AddressService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public List<AddressDto> findAll(final Integer after, final int limit) {
+		log.info("*** AddressDto List, service; fetch page of addresses *");
+		return this.addressRepository.findByAddressIdGreaterThanOrderByAddressIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+				.map(AddressMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -42,6 +43,16 @@ public class CredentialServiceImpl implements CredentialService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public List<CredentialDto> findAll(final Integer after, final int limit) {
+		log.info("*** CredentialDto List, service; fetch page of credentials *");
+		return this.credentialRepository.findByCredentialIdGreaterThanOrderByCredentialIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+				.map(CredentialMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public CredentialDto findById(final Integer credentialId) {
 		log.info("*** CredentialDto, service; fetch credential by ids *");
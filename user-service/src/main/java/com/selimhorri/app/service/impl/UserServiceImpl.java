@@ -1,13 +1,17 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
@@ -27,6 +31,7 @@ public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 	private final CredentialRepository credentialRepository;
+	private final OutboxWriter outboxWriter;
 
 	@Override
 	public List<UserDto> findAll() {
@@ -39,6 +44,15 @@ public class UserServiceImpl implements UserService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public List<UserDto> findAll(final Integer after, final int limit) {
+		log.info("*** UserDto List, service; fetch page of users with credentials *");
+		return this.userRepository.findPageWithCredential((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id with credentials *");
@@ -50,6 +64,17 @@ public class UserServiceImpl implements UserService {
 								String.format("User with id: %d not found or has no credentials", userId)));
 	}
 
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids with credentials *");
+		return this.userRepository.findAllById(userIds)
+				.stream()
+				.filter(user -> user.getCredential() != null)
+				.map(UserMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public UserDto findByUsername(final String username) {
 		log.info("*** UserDto, service; fetch user with username *");
@@ -62,7 +87,10 @@ public class UserServiceImpl implements UserService {
 	public UserDto save(final UserDto userDto) {
 		log.info("*** UserDto, service; save user *");
 		userDto.setUserId(null); // para evitar sobrescribir
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.mapOnlyUser(userDto)));
+		final UserDto saved = UserMappingHelper.map(this.userRepository.save(UserMappingHelper.mapOnlyUser(userDto)));
+		this.outboxWriter.append(AppConstant.Events.USER, saved.getUserId(), 
+				AppConstant.Events.USER_CREATED, UserMappingHelper.mapProfile(saved));
+		return saved;
 	}
 
 	@Override
@@ -80,7 +108,10 @@ public class UserServiceImpl implements UserService {
 		existingUser.setEmail(userDto.getEmail());
 		existingUser.setPhone(userDto.getPhone());
 
-		return UserMappingHelper.map(this.userRepository.save(existingUser));
+		final UserDto updated = UserMappingHelper.map(this.userRepository.save(existingUser));
+		this.outboxWriter.append(AppConstant.Events.USER, updated.getUserId(), 
+				AppConstant.Events.USER_UPDATED, UserMappingHelper.mapProfile(updated));
+		return updated;
 	}
 
 	@Override
@@ -98,7 +129,10 @@ public class UserServiceImpl implements UserService {
 		existingUser.setEmail(userDto.getEmail());
 		existingUser.setPhone(userDto.getPhone());
 
-		return UserMappingHelper.map(this.userRepository.save(existingUser));
+		final UserDto updated = UserMappingHelper.map(this.userRepository.save(existingUser));
+		this.outboxWriter.append(AppConstant.Events.USER, updated.getUserId(), 
+				AppConstant.Events.USER_UPDATED, UserMappingHelper.mapProfile(updated));
+		return updated;
 	}
 
 	@Override
@@ -119,6 +153,8 @@ public class UserServiceImpl implements UserService {
 		userRepository.save(user);
 
 		credentialRepository.deleteByCredentialId(credentialsId);
+		this.outboxWriter.append(AppConstant.Events.USER, userId, 
+				AppConstant.Events.USER_DELETED, UserDto.builder().userId(userId).build());
 	}
 
 }
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.Credential;
@@ -39,6 +40,16 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public List<VerificationTokenDto> findAll(final Integer after, final int limit) {
+		log.info("*** VerificationTokenDto List, service; fetch page of verificationTokens *");
+		return this.verificationTokenRepository.findByVerificationTokenIdGreaterThanOrderByVerificationTokenIdAsc(
+				(after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+				.map(VerificationTokenMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
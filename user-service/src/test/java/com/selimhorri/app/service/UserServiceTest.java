@@ -2,11 +2,15 @@ package com.selimhorri.app.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +19,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.selimhorri.app.config.outbox.OutboxWriter;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
@@ -33,6 +39,9 @@ class UserServiceTest {
     @Mock
     private CredentialRepository credentialRepository;
 
+    @Mock
+    private OutboxWriter outboxWriter;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -109,6 +118,24 @@ class UserServiceTest {
         assertThat(foundUser.getUserId()).isEqualTo(1);
     }
 
+    @Test
+    void findAllByIds_shouldSkipUsersWithoutCredentials() {
+        // given
+        User userWithoutCredential = User.builder()
+                .userId(2)
+                .firstName("Jane")
+                .lastName("Doe")
+                .build();
+        when(this.userRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(this.user, userWithoutCredential));
+
+        // when
+        List<UserDto> users = this.userService.findAllByIds(Set.of(1, 2));
+
+        // then
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).getUserId()).isEqualTo(1);
+    }
+
     @Test
     void save_shouldCreateUser() {
         // given
@@ -120,6 +147,8 @@ class UserServiceTest {
         // then
         assertThat(savedUser).isNotNull();
         assertThat(savedUser.getFirstName()).isEqualTo("John");
+        verify(this.outboxWriter).append(eq(AppConstant.Events.USER), eq(1), eq(AppConstant.Events.USER_CREATED),
+                argThat(payload -> ((UserDto) payload).getCredentialDto() == null));
     }
 
     @Test